@@ -86,6 +86,7 @@ dependencies {
     testAnnotationProcessor("org.projectlombok:lombok:1.18.38")
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    testImplementation("com.googlecode.json-simple:json-simple:1.1.1")
 }
 
 tasks.test {
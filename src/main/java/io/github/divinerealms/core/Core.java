@@ -24,7 +24,10 @@ public class Core extends JavaPlugin {
   public void onDisable() {
     if (coreManager != null) {
       coreManager.setDisabling(true);
+      coreManager.getChatPipeline().shutdown();
+      coreManager.getDiscordRelay().shutdown();
       coreManager.saveAll();
+      coreManager.getChatFormatCache().shutdown();
       coreManager.unregisterCommands();
       coreManager.getListenerManager().unregisterAll();
       coreManager.getLogger().info("&cSuccessfully disabled.");
@@ -1,6 +1,8 @@
 package io.github.divinerealms.core.commands;
 
 import io.github.divinerealms.core.main.CoreManager;
+import io.github.divinerealms.core.managers.ChatFormatCache;
+import io.github.divinerealms.core.managers.DiscordRelay;
 import io.github.divinerealms.core.utilities.Logger;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -56,7 +58,7 @@ public class CoreCommand implements CommandExecutor, TabCompleter {
           return true;
 
         case "configs":
-          coreManager.getConfigManager().reloadAllConfigs();
+          coreManager.reloadConfigs();
           logger.send(sender, ADMIN_RELOAD, "configs");
           return true;
 
@@ -72,6 +74,7 @@ public class CoreCommand implements CommandExecutor, TabCompleter {
 
         case "channels":
           coreManager.getChannelManager().reloadAll();
+          coreManager.getChatFormatCache().reload();
           logger.send(sender, ADMIN_RELOAD, "channels");
           return true;
 
@@ -91,6 +94,20 @@ public class CoreCommand implements CommandExecutor, TabCompleter {
       }
     }
 
+    if (sub.equalsIgnoreCase("cache")) {
+      ChatFormatCache cache = coreManager.getChatFormatCache();
+      logger.send(sender, ADMIN_CACHE_STATS, String.valueOf(cache.size()), String.valueOf(cache.getHits()),
+          String.valueOf(cache.getMisses()), String.format("%.1f", cache.getHitRate() * 100));
+      return true;
+    }
+
+    if (sub.equalsIgnoreCase("relay")) {
+      DiscordRelay relay = coreManager.getDiscordRelay();
+      logger.send(sender, ADMIN_RELAY_STATS, String.valueOf(relay.getQueueDepth()), String.valueOf(relay.getSent()),
+          String.valueOf(relay.getDropped()), String.valueOf(relay.getDeduplicated()), String.valueOf(relay.getFailed()));
+      return true;
+    }
+
     logger.send(sender, UNKNOWN_COMMAND);
     return true;
   }
@@ -105,6 +122,8 @@ public class CoreCommand implements CommandExecutor, TabCompleter {
 
     if (args.length == 1) {
       completions.add("reload");
+      completions.add("cache");
+      completions.add("relay");
     }
     if (args.length == 2) {
       completions.addAll(Arrays.asList("menus", "configs", "commands", "books", "channels", "all"));
@@ -1,10 +1,11 @@
 package io.github.divinerealms.core.commands;
 
+import io.github.divinerealms.core.configs.PlayerData;
 import io.github.divinerealms.core.main.CoreManager;
+import io.github.divinerealms.core.managers.PlayerDataManager;
 import io.github.divinerealms.core.managers.PlaytimeManager;
+import io.github.divinerealms.core.utilities.Leaderboard;
 import io.github.divinerealms.core.utilities.Logger;
-import org.bukkit.Bukkit;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.Statistic;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -21,11 +22,13 @@ public class PlaytimeCommand implements CommandExecutor, TabCompleter {
   private final CoreManager coreManager;
   private final Logger logger;
   private final PlaytimeManager playtimeManager;
+  private final PlayerDataManager dataManager;
 
   public PlaytimeCommand(CoreManager coreManager) {
     this.coreManager = coreManager;
     this.logger = coreManager.getLogger();
     this.playtimeManager = coreManager.getPlaytimeManager();
+    this.dataManager = coreManager.getDataManager();
   }
 
   @Override
@@ -84,28 +87,20 @@ public class PlaytimeCommand implements CommandExecutor, TabCompleter {
       return true;
     }
 
-    //noinspection deprecation
-    OfflinePlayer target = Bukkit.getOfflinePlayer(args[0]);
-    if (!target.hasPlayedBefore()) {
+    PlayerData target = dataManager.find(args[0]);
+    if (target == null) {
       logger.send(sender, PLAYER_NOT_FOUND, args[0]);
       return true;
     }
 
-    long ticks;
-    if (target.isOnline()) {
-      ticks = ((Player) target).getStatistic(Statistic.PLAY_ONE_TICK);
-    } else {
-      ticks = playtimeManager.getPlaytime(target.getUniqueId());
-    }
-
-    String formatted = playtimeManager.formatPlaytime(ticks);
-    logger.send(sender, PLAYTIME_OTHER, target.getName(), formatted);
+    String formatted = playtimeManager.formatPlaytime(playtimeManager.getPlaytime(target.getUuid()));
+    logger.send(sender, PLAYTIME_OTHER, target.getPlayerName(), formatted);
     return true;
   }
 
   private void showTop(CommandSender sender, int page, int limit) {
-    List<Map.Entry<UUID, Long>> topList = playtimeManager.getTopPlaytimes(0);
-    int totalPages = (int) Math.ceil((double) topList.size() / limit);
+    Leaderboard<UUID> leaderboard = playtimeManager.getLeaderboard();
+    int totalPages = (int) Math.ceil((double) leaderboard.size() / limit);
     if (totalPages == 0) {
       totalPages = 1;
     }
@@ -115,7 +110,8 @@ public class PlaytimeCommand implements CommandExecutor, TabCompleter {
     }
 
     int startIndex = (page - 1) * limit;
-    int endIndex = Math.min(startIndex + limit, topList.size());
+    List<Map.Entry<UUID, Long>> topList = leaderboard.page(startIndex, limit);
+    int endIndex = startIndex + topList.size();
 
     UUID senderUUID = (sender instanceof Player)
                       ? ((Player) sender).getUniqueId()
@@ -125,14 +121,10 @@ public class PlaytimeCommand implements CommandExecutor, TabCompleter {
         String.valueOf(limit), String.valueOf(page), String.valueOf(totalPages)));
 
     int rank = startIndex + 1;
-    for (int i = startIndex; i < endIndex; i++) {
-      Map.Entry<UUID, Long> entry = topList.get(i);
-      OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(entry.getKey());
-      String name = (offlinePlayer != null && offlinePlayer.getName() != null)
-                    ? offlinePlayer.getName()
-                    : entry.getKey().toString();
+    for (Map.Entry<UUID, Long> entry : topList) {
       String message = PLAYTIME_TOP_ENTRY.replace(
-          String.valueOf(rank), name, playtimeManager.formatPlaytime(entry.getValue()));
+          String.valueOf(rank), playtimeManager.getName(entry.getKey()),
+          playtimeManager.formatPlaytime(entry.getValue()));
       if (senderUUID != null && senderUUID.equals(entry.getKey())) {
         message = message + "&a <--";
       }
@@ -142,15 +134,9 @@ public class PlaytimeCommand implements CommandExecutor, TabCompleter {
     }
 
     if (senderUUID != null) {
-      int senderRank = 1;
-      for (Map.Entry<UUID, Long> entry : topList) {
-        if (senderUUID.equals(entry.getKey())) {
-          break;
-        }
-        senderRank++;
-      }
-      if (senderRank < startIndex + 1 || senderRank > endIndex) {
-        long ticks = playtimeManager.getPlaytime(senderUUID);
+      int senderRank = leaderboard.rank(senderUUID);
+      if (senderRank > 0 && (senderRank < startIndex + 1 || senderRank > endIndex)) {
+        long ticks = leaderboard.getScore(senderUUID);
         logger.send(sender, "&7 . . .");
         logger.send(sender, PLAYTIME_TOP_ENTRY.replace(
             String.valueOf(senderRank), sender.getName(), playtimeManager.formatPlaytime(ticks)));
@@ -1,7 +1,11 @@
 package io.github.divinerealms.core.commands;
 
 import io.github.divinerealms.core.main.CoreManager;
+import io.github.divinerealms.core.managers.IpReputationService;
+import io.github.divinerealms.core.managers.ProxyCheckManager;
+import io.github.divinerealms.core.utilities.IpReputation;
 import io.github.divinerealms.core.utilities.Logger;
+import io.github.divinerealms.core.utilities.RateLimiter;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -9,71 +13,35 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
-
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+
 import java.util.*;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 
 import static io.github.divinerealms.core.configs.Lang.*;
-import static io.github.divinerealms.core.utilities.Constants.PROXY_CHECK_API_URL;
-import static io.github.divinerealms.core.utilities.Constants.PROXY_CHECK_COOLDOWN_MS;
 import static io.github.divinerealms.core.utilities.Permissions.PERM_ADMIN_PROXY_CHECK;
 
 public class ProxyCheckCommand implements CommandExecutor, TabCompleter {
+  private static final UUID CONSOLE_ID = new UUID(0L, 0L);
+
   private final CoreManager coreManager;
   private final Plugin plugin;
   private final Logger logger;
-
-  private final Map<String, Long> lastUse = new HashMap<>();
+  private final IpReputationService service;
+  private final RateLimiter cooldowns;
 
   public ProxyCheckCommand(CoreManager coreManager) {
     this.coreManager = coreManager;
     this.plugin = coreManager.getPlugin();
     this.logger = coreManager.getLogger();
-  }
-
-  private static String safeJsonGet(JSONObject obj, String key, String def) {
-    if (obj == null) {
-      return def;
-    }
-
-    Object val = obj.get(key);
-    return val != null
-           ? val.toString()
-           : def;
+    this.service = coreManager.getProxyCheckManager().getService();
+    this.cooldowns = coreManager.getProxyCheckManager().getCooldowns();
   }
 
   private static boolean isValidIPv4(String ip) {
     return ip.matches("^((25[0-5]|2[0-4]\\d|1\\d\\d|[1-9]?\\d)\\.){3}(25[0-5]|2[0-4]\\d|1\\d\\d|[1-9]?\\d)$");
   }
 
-  private static JSONObject getJsonObject(String targetIP) throws IOException, ParseException, NullPointerException {
-    URL url = new URL(PROXY_CHECK_API_URL + targetIP + "?vpn=1&asn=1");
-    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-    connection.setRequestMethod("GET");
-    connection.setConnectTimeout(5000);
-    connection.setReadTimeout(5000);
-
-    try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-      StringBuilder response = new StringBuilder();
-      String line;
-      while ((line = reader.readLine()) != null) {
-        response.append(line);
-      }
-
-      reader.close();
-      JSONParser parser = new JSONParser();
-      return (JSONObject) parser.parse(response.toString());
-    }
-  }
-
   @Override
   public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
     if (!sender.hasPermission(PERM_ADMIN_PROXY_CHECK)) {
@@ -86,77 +54,71 @@ public class ProxyCheckCommand implements CommandExecutor, TabCompleter {
       return true;
     }
 
-    String cooldownKey = (sender instanceof Player)
-                         ? ((Player) sender).getUniqueId().toString()
-                         : "CONSOLE";
-
-    long now = System.currentTimeMillis();
-    long last = lastUse.getOrDefault(cooldownKey, 0L);
-    if (now - last < PROXY_CHECK_COOLDOWN_MS) {
-      double seconds = (double) (PROXY_CHECK_COOLDOWN_MS - (now - last)) / 1000;
-      logger.send(sender, PROXY_CHECK_COOLDOWN, String.format("%.0f", seconds));
-      return true;
-    }
-
-    lastUse.put(cooldownKey, now);
-
     String input = args[0], targetIP, displayName;
     Player target = Bukkit.getPlayerExact(input);
     if (target != null) {
-      targetIP = target.getAddress().getAddress().getHostAddress();
+      targetIP = ProxyCheckManager.getAddress(target);
       displayName = target.getDisplayName();
     } else {
       displayName = input;
-      if (isValidIPv4(input)) {
-        targetIP = input;
-      } else {
-        logger.send(sender, PLAYER_NOT_FOUND, input);
-        return true;
-      }
+      targetIP = isValidIPv4(input)
+                 ? input
+                 : null;
+    }
+
+    if (targetIP == null) {
+      logger.send(sender, PLAYER_NOT_FOUND, input);
+      return true;
+    }
+
+    IpReputation cached = service.getCached(targetIP);
+    if (cached != null) {
+      sendStatus(sender, displayName, cached);
+      return true;
+    }
+
+    UUID cooldownKey = (sender instanceof Player)
+                       ? ((Player) sender).getUniqueId()
+                       : CONSOLE_ID;
+
+    long waitMillis = cooldowns.tryAcquire(cooldownKey);
+    if (waitMillis > 0) {
+      logger.send(sender, PROXY_CHECK_COOLDOWN, String.format("%.0f", Math.ceil(waitMillis / 1000.0)));
+      return true;
     }
 
     logger.send(sender, PROXY_CHECK_CHECKING, targetIP);
 
-    Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-      try {
-        JSONObject root = getJsonObject(targetIP);
-
-        String status = safeJsonGet(root, "status", "unknown");
-        JSONObject ipData = (JSONObject) root.get(targetIP);
-
-        if (ipData == null) {
-          Bukkit.getScheduler().runTask(plugin,
-              () -> logger.send(sender, PROXY_CHECK_NO_DATA, targetIP));
-          return;
-        }
-
-        String proxy = safeJsonGet(ipData, "proxy", "no");
-        String asn = safeJsonGet(ipData, "asn", "N/A");
-        String range = safeJsonGet(ipData, "range", "N/A");
-        String provider = safeJsonGet(ipData, "provider", "N/A");
-        String country = safeJsonGet(ipData, "country", "N/A");
-        String region = safeJsonGet(ipData, "region", "N/A");
-        String regionCode = safeJsonGet(ipData, "region_code", "N/A");
-        String city = safeJsonGet(ipData, "city", "N/A");
-        String type = safeJsonGet(ipData, "type", "N/A");
-
-        String finalMsg = PROXY_CHECK_STATUS.replace(displayName, targetIP, status,
-            (proxy.equalsIgnoreCase("yes"))
-            ? "&cYes"
-            : "&aNo",
-            asn, range, provider, country, region, regionCode, city, type);
-
-        Bukkit.getScheduler().runTask(plugin, () -> logger.send(sender, finalMsg));
-      } catch (IOException | ParseException | NullPointerException exception) {
-        Bukkit.getScheduler().runTask(plugin,
-            () -> logger.send(sender, PROXY_CHECK_ERROR, exception.getMessage()));
-        plugin.getLogger().log(Level.SEVERE, "Error checking proxy", exception);
+    service.lookup(targetIP).whenComplete((reputation, exception) -> Bukkit.getScheduler().runTask(plugin, () -> {
+      if (exception != null) {
+        Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+                          ? exception.getCause()
+                          : exception;
+        logger.send(sender, PROXY_CHECK_ERROR, String.valueOf(cause.getMessage()));
+        plugin.getLogger().log(Level.SEVERE, "Error checking proxy", cause);
+        return;
+      }
+
+      if (reputation == null) {
+        logger.send(sender, PROXY_CHECK_NO_DATA, targetIP);
+        return;
       }
-    });
+
+      sendStatus(sender, displayName, reputation);
+    }));
 
     return true;
   }
 
+  private void sendStatus(CommandSender sender, String displayName, IpReputation reputation) {
+    logger.send(sender, PROXY_CHECK_STATUS, displayName, reputation.getIp(), reputation.getStatus(),
+        reputation.isProxy()
+        ? "&cYes"
+        : "&aNo",
+        reputation.getAsn(), reputation.getRange(), reputation.getProvider(), reputation.getCountry(),
+        reputation.getRegion(), reputation.getRegionCode(), reputation.getCity(), reputation.getType());
+  }
+
   @Override
   public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
     if (!sender.hasPermission(PERM_ADMIN_PROXY_CHECK)) {
@@ -3,20 +3,23 @@ package io.github.divinerealms.core.commands;
 import io.github.divinerealms.core.main.CoreManager;
 import io.github.divinerealms.core.managers.ResultManager;
 import io.github.divinerealms.core.utilities.Logger;
+import io.github.divinerealms.core.utilities.Match;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 
 import static io.github.divinerealms.core.configs.Lang.*;
 import static io.github.divinerealms.core.utilities.Permissions.PERM_RESULT_MAIN;
 
 public class ResultCommand implements CommandExecutor, TabCompleter {
+  private static final Set<String> SUBCOMMANDS = new LinkedHashSet<>(Arrays.asList(
+      "list", "start", "stop", "teams", "prefix", "time", "add", "remove", "rm", "setwarp",
+      "sw", "extratime", "extend", "et", "stophalf", "sh", "pause", "status"
+  ));
+
   private final CoreManager coreManager;
   private final ResultManager resultManager;
   private final Logger logger;
@@ -39,35 +42,66 @@ public class ResultCommand implements CommandExecutor, TabCompleter {
       return true;
     }
 
-    String sub = args[0].toLowerCase();
+    String id = ResultManager.DEFAULT_MATCH;
+    if (isMatchId(args[0], args.length)) {
+      id = args[0];
+      args = Arrays.copyOfRange(args, 1, args.length);
+    }
+
+    Match match = resultManager.getMatch(id);
+    String sub = args.length > 0
+                 ? args[0].toLowerCase()
+                 : "status";
     switch (sub) {
+      case "list":
+        if (resultManager.getMatches().isEmpty()) {
+          logger.send(sender, RESULT_STATUS_NONE);
+          return true;
+        }
+
+        logger.send(sender, RESULT_LIST_HEADER);
+        for (Match listed : resultManager.getMatches()) {
+          logger.send(sender, RESULT_LIST_ENTRY, listed.getId(), listed.getPrefix(),
+              String.valueOf(listed.getHome()), String.valueOf(listed.getHomeScore()),
+              String.valueOf(listed.getAwayScore()), String.valueOf(listed.getAway()),
+              listed.getCurrentHalf() == Match.Half.NOT_STARTED
+              ? RESULT_LIST_WAITING.toString()
+              : resultManager.formatColoredTime(listed, listed.getClock().getSecondsElapsed()));
+        }
+        break;
+
       case "start":
-        if (resultManager.isMatchRunning()) {
+        if (match == null) {
+          logger.send(sender, RESULT_TEAMS_UNKNOWN);
+          return true;
+        }
+
+        if (match.isRunning()) {
           logger.send(sender, RESULT_MATCH_RUNNING);
           return true;
         }
 
-        if (resultManager.getWarp() == null) {
-          resultManager.setWarp(sender, resultManager.getHome().toUpperCase());
+        if (match.getWarp() == null && match.getHome() != null) {
+          resultManager.setWarp(sender, match, match.getHome().toUpperCase());
           logger.send(sender, RESULT_WARP_MISSING);
           return true;
         }
 
-        resultManager.startMatch(sender);
+        resultManager.startMatch(sender, match);
         break;
 
       case "stop":
-        if (!resultManager.isMatchRunning()) {
+        if (match == null || !match.isRunning()) {
           logger.send(sender, RESULT_STATUS_NONE);
           return true;
         }
 
-        resultManager.stopMatch();
+        resultManager.stopMatch(match);
         break;
 
       case "teams":
         if (args.length == 3) {
-          resultManager.setTeams(sender, args[1], args[2]);
+          resultManager.setTeams(sender, resultManager.getOrCreateMatch(id), args[1], args[2]);
         } else {
           logger.send(sender, RESULT_HELP);
         }
@@ -75,7 +109,8 @@ public class ResultCommand implements CommandExecutor, TabCompleter {
 
       case "prefix":
         if (args.length >= 2) {
-          resultManager.setPrefix(sender, String.join(" ", Arrays.copyOfRange(args, 1, args.length)));
+          resultManager.setPrefix(sender, resultManager.getOrCreateMatch(id),
+              String.join(" ", Arrays.copyOfRange(args, 1, args.length)));
         } else {
           logger.send(sender, RESULT_HELP);
         }
@@ -84,7 +119,7 @@ public class ResultCommand implements CommandExecutor, TabCompleter {
       case "setwarp":
       case "sw":
         if (args.length == 2) {
-          resultManager.setWarp(sender, args[1]);
+          resultManager.setWarp(sender, resultManager.getOrCreateMatch(id), args[1]);
         } else {
           logger.send(sender, RESULT_HELP);
         }
@@ -93,7 +128,7 @@ public class ResultCommand implements CommandExecutor, TabCompleter {
       case "time":
         if (args.length == 2) {
           try {
-            resultManager.setTime(sender, resultManager.parseTime(args[1]));
+            resultManager.setTime(sender, resultManager.getOrCreateMatch(id), resultManager.parseTime(args[1]));
           } catch (NumberFormatException exception) {
             logger.send(sender, RESULT_MATCH_INVALID_TIME);
             logger.info("Error: " + exception.getMessage());
@@ -104,14 +139,14 @@ public class ResultCommand implements CommandExecutor, TabCompleter {
         break;
 
       case "add":
-        if (!resultManager.isMatchRunning()) {
+        if (match == null || !match.isRunning()) {
           logger.send(sender, RESULT_STATUS_NONE);
           return true;
         }
         if (args.length == 3 || args.length == 4) {
-          resultManager.addScore(sender, args[1], args[2], args.length == 4
-                                                           ? args[3]
-                                                           : null);
+          resultManager.addScore(sender, match, args[1], args[2], args.length == 4
+                                                                  ? args[3]
+                                                                  : null);
         } else {
           logger.send(sender, RESULT_HELP);
         }
@@ -119,13 +154,13 @@ public class ResultCommand implements CommandExecutor, TabCompleter {
 
       case "remove":
       case "rm":
-        if (!resultManager.isMatchRunning()) {
+        if (match == null || !match.isRunning()) {
           logger.send(sender, RESULT_STATUS_NONE);
           return true;
         }
 
         if (args.length == 2) {
-          resultManager.removeScore(sender, args[1]);
+          resultManager.removeScore(sender, match, args[1]);
         } else {
           logger.send(sender, RESULT_HELP);
         }
@@ -134,13 +169,13 @@ public class ResultCommand implements CommandExecutor, TabCompleter {
       case "extratime":
       case "extend":
       case "et":
-        if (!resultManager.isMatchRunning()) {
+        if (match == null || !match.isRunning()) {
           logger.send(sender, RESULT_STATUS_NONE);
           return true;
         }
 
         if (args.length == 2) {
-          resultManager.addExtraTime(sender, args[1]);
+          resultManager.addExtraTime(sender, match, args[1]);
         } else {
           logger.send(sender, RESULT_HELP);
         }
@@ -149,22 +184,30 @@ public class ResultCommand implements CommandExecutor, TabCompleter {
       case "stophalf":
       case "sh":
       case "pause":
-        if (!resultManager.isMatchRunning()) {
+        if (match == null || !match.isRunning()) {
           logger.send(sender, RESULT_STATUS_NONE);
           return true;
         }
 
-        resultManager.stopHalf(sender);
+        resultManager.stopHalf(sender, match);
         break;
 
       case "status":
       default:
-        logger.send(sender, resultManager.getMatchStatus());
+        logger.send(sender, resultManager.getMatchStatus(match));
         break;
     }
     return true;
   }
 
+  /**
+   * The first argument names a match unless it is a subcommand. A lone unknown word is only taken as an
+   * id if such a match exists, so {@code /result <id>} shows that match and anything else shows the default.
+   */
+  private boolean isMatchId(String arg, int length) {
+    return !SUBCOMMANDS.contains(arg.toLowerCase()) && (length > 1 || resultManager.getMatch(arg) != null);
+  }
+
   @Override
   public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
     if (!sender.hasPermission(PERM_RESULT_MAIN)) {
@@ -172,15 +215,23 @@ public class ResultCommand implements CommandExecutor, TabCompleter {
     }
 
     List<String> completions = new ArrayList<>();
+    String lastWord = args.length > 0
+                      ? args[args.length - 1]
+                      : "";
+    if (args.length > 1 && isMatchId(args[0], args.length)) {
+      args = Arrays.copyOfRange(args, 1, args.length);
+    } else {
+      if (args.length == 1) {
+        resultManager.getMatches().forEach(match -> completions.add(match.getId()));
+      }
+    }
+
     String sub = args.length > 0
                  ? args[0].toLowerCase()
                  : "";
 
     if (args.length == 1) {
-      completions.addAll(Arrays.asList(
-          "start", "stop", "teams", "prefix", "time", "add", "remove", "rm", "setwarp",
-          "sw", "extratime", "extend", "et", "stophalf", "sh", "pause", "status"
-      ));
+      completions.addAll(SUBCOMMANDS);
     } else {
       if (args.length == 2) {
         switch (sub) {
@@ -219,8 +270,7 @@ public class ResultCommand implements CommandExecutor, TabCompleter {
     }
 
     if (!completions.isEmpty()) {
-      String lastWord = args[args.length - 1].toLowerCase();
-      completions.removeIf(s -> !s.toLowerCase().startsWith(lastWord));
+      completions.removeIf(s -> !s.toLowerCase().startsWith(lastWord.toLowerCase()));
       completions.sort(String.CASE_INSENSITIVE_ORDER);
     }
 
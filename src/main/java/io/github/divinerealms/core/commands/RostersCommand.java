@@ -1,7 +1,12 @@
 package io.github.divinerealms.core.commands;
 
+import io.github.divinerealms.core.configs.PlayerData;
 import io.github.divinerealms.core.main.CoreManager;
+import io.github.divinerealms.core.managers.PlayerDataManager;
 import io.github.divinerealms.core.managers.RostersManager;
+import io.github.divinerealms.core.managers.StatsManager;
+import io.github.divinerealms.core.utilities.Leaderboard;
+import io.github.divinerealms.core.utilities.LeagueTable;
 import io.github.divinerealms.core.utilities.Logger;
 import io.github.divinerealms.core.utilities.RosterInfo;
 import org.apache.commons.lang.StringUtils;
@@ -17,17 +22,24 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static io.github.divinerealms.core.configs.Lang.*;
 import static io.github.divinerealms.core.utilities.Permissions.*;
 
 public class RostersCommand implements CommandExecutor, TabCompleter {
+  private static final int TOP_PAGE_SIZE = 10;
+
   private final RostersManager rostersManager;
+  private final StatsManager statsManager;
+  private final PlayerDataManager dataManager;
   private final Logger logger;
 
   public RostersCommand(CoreManager coreManager) {
     this.rostersManager = coreManager.getRostersManager();
+    this.statsManager = coreManager.getStatsManager();
+    this.dataManager = coreManager.getDataManager();
     this.logger = coreManager.getLogger();
   }
 
@@ -188,13 +200,13 @@ public class RostersCommand implements CommandExecutor, TabCompleter {
           return true;
         }
 
-        OfflinePlayer addTarget = Bukkit.getOfflinePlayer(playerName);
-        if (!addTarget.hasPlayedBefore()) {
+        PlayerData addTarget = dataManager.find(playerName);
+        if (addTarget == null) {
           logger.send(sender, PLAYER_NOT_FOUND, playerName);
           return true;
         }
 
-        if (rostersManager.addPlayerToRoster(rosterName, addTarget.getName())) {
+        if (rostersManager.addPlayerToRoster(rosterName, addTarget.getPlayerName())) {
           logger.send(PERM_ROSTERS_NOTIFY,
               ROSTERS_ADD, playerName, rosterName.toUpperCase());
           return true;
@@ -215,13 +227,13 @@ public class RostersCommand implements CommandExecutor, TabCompleter {
 
         playerName = args[1];
         league = args[2];
-        OfflinePlayer removeTarget = Bukkit.getOfflinePlayer(playerName);
-        if (!removeTarget.hasPlayedBefore()) {
+        PlayerData removeTarget = dataManager.find(playerName);
+        if (removeTarget == null) {
           logger.send(sender, PLAYER_NOT_FOUND, playerName);
           return true;
         }
 
-        if (rostersManager.removePlayerFromRoster(removeTarget.getName(), league)) {
+        if (rostersManager.removePlayerFromRoster(removeTarget.getPlayerName(), league)) {
           logger.send(PERM_ROSTERS_NOTIFY, ROSTERS_REMOVE, playerName, league.toUpperCase());
           return true;
         }
@@ -272,19 +284,19 @@ public class RostersCommand implements CommandExecutor, TabCompleter {
 
         playerName = args[1];
         league = args[2];
-        OfflinePlayer managerTarget = Bukkit.getOfflinePlayer(playerName);
-        if (!managerTarget.hasPlayedBefore()) {
+        PlayerData managerTarget = dataManager.find(playerName);
+        if (managerTarget == null) {
           logger.send(sender, PLAYER_NOT_FOUND, playerName);
           return true;
         }
 
-        RosterInfo rosterInfo = rostersManager.getPlayerRoster(managerTarget.getName(), league);
+        RosterInfo rosterInfo = rostersManager.getPlayerRoster(managerTarget.getPlayerName(), league);
         if (rosterInfo == null) {
           logger.send(sender, ROSTERS_PLAYER_NOT_IN_ROSTER, playerName, league);
           return true;
         }
 
-        if (rostersManager.setManager(managerTarget.getName(), league)) {
+        if (rostersManager.setManager(managerTarget.getPlayerName(), league)) {
           logger.send(PERM_ROSTERS_NOTIFY, ROSTERS_MANAGER_SET.replace(
               playerName, rosterInfo.getTag() + " &f" + rosterInfo.getName()));
           return true;
@@ -473,6 +485,78 @@ public class RostersCommand implements CommandExecutor, TabCompleter {
         }
         return true;
 
+      case "flush":
+        if (!sender.hasPermission(PERM_ROSTERS_SET)) {
+          logger.send(sender, NO_PERM, PERM_ROSTERS_SET, label + " " + sub);
+          return true;
+        }
+
+        rostersManager.saveRosters();
+        logger.send(sender, ROSTERS_FLUSHED, String.valueOf(rostersManager.getRosters().size()));
+        return true;
+
+      case "table":
+      case "standings":
+        league = args.length > 1
+                 ? args[1].toLowerCase()
+                 : activeLeague;
+
+        LeagueTable table = statsManager.getTable(league);
+        if (table == null || table.getStandings().isEmpty()) {
+          logger.send(sender, ROSTERS_TABLE_EMPTY, StringUtils.capitalize(league));
+          return true;
+        }
+
+        logger.send(sender, ROSTERS_TABLE_HEADER, StringUtils.capitalize(league));
+        int position = 1;
+        for (LeagueTable.TeamRecord record : table.getStandings()) {
+          RosterInfo tableRoster = rostersManager.getRoster(record.getRoster());
+          logger.send(sender, ROSTERS_TABLE_ENTRY, String.valueOf(position++),
+              tableRoster != null
+              ? tableRoster.getTag()
+              : record.getRoster().toUpperCase(),
+              String.valueOf(record.getPlayed()), String.valueOf(record.getWins()),
+              String.valueOf(record.getDraws()), String.valueOf(record.getLosses()),
+              record.getGoalsFor() + ":" + record.getGoalsAgainst(),
+              (record.getGoalDifference() > 0
+               ? "+"
+               : "") + record.getGoalDifference(),
+              String.valueOf(record.getPoints()), formatForm(record.getForm()));
+        }
+        return true;
+
+      case "top":
+        boolean assists = args.length > 1 && args[1].toLowerCase().startsWith("assist");
+        Leaderboard<String> leaderboard = assists
+                                          ? statsManager.getAssisters()
+                                          : statsManager.getScorers();
+        if (leaderboard.size() == 0) {
+          logger.send(sender, ROSTERS_TOP_EMPTY);
+          return true;
+        }
+
+        int page = 1;
+        if (args.length > 2) {
+          try {
+            page = Math.max(1, Integer.parseInt(args[2]));
+          } catch (NumberFormatException ignored) {
+          }
+        }
+
+        int totalPages = (leaderboard.size() + TOP_PAGE_SIZE - 1) / TOP_PAGE_SIZE;
+        page = Math.min(page, totalPages);
+        logger.send(sender, ROSTERS_TOP_HEADER, assists
+                                                ? ROSTERS_TOP_ASSISTS.toString()
+                                                : ROSTERS_TOP_GOALS.toString(),
+            String.valueOf(page), String.valueOf(totalPages));
+
+        int rank = (page - 1) * TOP_PAGE_SIZE + 1;
+        for (Map.Entry<String, Long> entry : leaderboard.page((page - 1) * TOP_PAGE_SIZE, TOP_PAGE_SIZE)) {
+          logger.send(sender, ROSTERS_TOP_ENTRY, String.valueOf(rank++), statsManager.getName(entry.getKey()),
+              String.valueOf(entry.getValue()));
+        }
+        return true;
+
       case "help":
       case "?":
         logger.send(sender, ROSTERS_HELP, allAvailableLeagues, activeLeague);
@@ -495,12 +579,14 @@ public class RostersCommand implements CommandExecutor, TabCompleter {
     if (args.length == 1) {
       completions.addAll(Arrays.asList("list", "info", "create", "delete", "add",
           "remove", "setmanager", "manager", "name", "tag", "league", "switch",
-          "addleague", "removeleague", "renameleague", "reload", "help"));
+          "addleague", "removeleague", "renameleague", "table", "top", "flush", "reload", "help"));
     } else {
       if (args.length == 2) {
         String sub = args[0].toLowerCase();
         switch (sub) {
           case "list":
+          case "table":
+          case "standings":
           case "switch":
           case "setleague":
           case "removeleague":
@@ -523,6 +609,10 @@ public class RostersCommand implements CommandExecutor, TabCompleter {
           case "setmanager":
             Bukkit.getOnlinePlayers().forEach(player -> completions.add(player.getName()));
             break;
+
+          case "top":
+            completions.addAll(Arrays.asList("goals", "assists"));
+            break;
         }
       } else {
         if (args.length == 3) {
@@ -557,4 +647,16 @@ public class RostersCommand implements CommandExecutor, TabCompleter {
 
     return completions;
   }
-}
+
+  private String formatForm(String form) {
+    StringBuilder formatted = new StringBuilder();
+    for (char result : form.toCharArray()) {
+      formatted.append(result == 'W'
+                       ? "&a"
+                       : (result == 'D'
+                          ? "&e"
+                          : "&c")).append(result);
+    }
+    return formatted.toString();
+  }
+}
\ No newline at end of file
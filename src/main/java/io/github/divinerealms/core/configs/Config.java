@@ -1,7 +1,7 @@
 package io.github.divinerealms.core.configs;
 
+import lombok.AccessLevel;
 import lombok.Getter;
-import org.bukkit.ChatColor;
 import org.bukkit.configuration.file.FileConfiguration;
 
 import java.util.Arrays;
@@ -22,10 +22,32 @@ public enum Config {
       "**%player_name%**: %message%"),
   CHANNELS_ANTI_SPAM_MAX_MESSAGES("channels.anti_spam.max_messages", 5),
   CHANNELS_ANTI_SPAM_COOLDOWN("channels.anti_spam.cooldown", 2500L),
+  CHANNELS_FORMAT_CACHE_ENABLED("channels.format_cache.enabled", true),
+  CHANNELS_FORMAT_CACHE_TTL("channels.format_cache.ttl_seconds", 60),
+  CHANNELS_FORMAT_CACHE_PLACEHOLDERS("channels.format_cache.placeholders", Arrays.asList("%luckperms_prefix%",
+      "%luckperms_suffix%", "%vault_prefix%", "%vault_suffix%", "%essentials_nickname%", "%player_displayname%",
+      "%core_roster_tag%", "%core_roster_tag_formatted%", "%core_all_tags%")),
+  CHANNELS_PIPELINE_MODE("channels.pipeline.mode", "SYNC"),
+  CHANNELS_PIPELINE_WORKERS("channels.pipeline.workers", 2),
+  CHANNELS_PIPELINE_QUEUE_SIZE("channels.pipeline.queue_size", 256),
+  DISCORD_RELAY_ENABLED("discord_relay.enabled", true),
+  DISCORD_RELAY_FLUSH_INTERVAL("discord_relay.flush_interval_ticks", 10),
+  DISCORD_RELAY_MIN_SEND_INTERVAL("discord_relay.min_send_interval_ms", 1000),
+  DISCORD_RELAY_MAX_QUEUE("discord_relay.max_queue", 500),
+  PLAYER_DATA_STORAGE("player_data.storage", "LOG"),
+  PLAYER_DATA_CACHE_SIZE("player_data.cache_size", 256),
+  PLAYER_DATA_SAVE_DELAY("player_data.save.delay_seconds", 5),
+  PLAYER_DATA_SAVE_MAX_DELAY("player_data.save.max_delay_seconds", 60),
+  PLAYER_DATA_SHUTDOWN_THREADS("player_data.shutdown.threads", 4),
+  PLAYER_DATA_SHUTDOWN_TIMEOUT("player_data.shutdown.timeout_seconds", 10),
+  PLAYTIME_SCAN_INTERVAL("playtime.scan_interval_ticks", 12000),
+  ROSTERS_SAVE_DELAY("rosters.save.delay_ticks", 40),
+  ROSTERS_SAVE_MAX_DELAY("rosters.save.max_delay_ticks", 200),
 
   CLIENT_BLOCKER_ENABLED("client_blocker.enabled", true),
   CLIENT_BLOCKER_MODE("client_blocker.mode", "WHITELIST"),
   CLIENT_BLOCKER_LIST("client_blocker.list", Arrays.asList("vanilla", "optifine")),
+  CLIENT_BLOCKER_ALWAYS_ALLOWED("client_blocker.always_allowed", Arrays.asList("vanilla", "optifine")),
 
   PLAYER_MESSAGES_CUSTOM_JOIN_ENABLED("player_messages.custom_join.enabled", true),
   PLAYER_MESSAGES_CUSTOM_JOIN_FORMATS_MINECRAFT("player_messages.custom_join.minecraft",
@@ -41,9 +63,26 @@ public enum Config {
   PRIVATE_MESSAGES_SENDER_FORMAT("private_messages.formats.sender", "&6(&eJa &7→ &r{0}&6) &e&o{1}"),
   PRIVATE_MESSAGES_RECIPIENT_FORMAT("private_messages.formats.recipient", "&6(&r{0} &7→ &eJa&6) &e&o{1}"),
   PRIVATE_MESSAGES_SPY_FORMAT("private_messages.formats.spy", "{0}&e({0} &7→ &e{1}): &f{2}"),
+  PRIVATE_MESSAGES_ANTI_SPAM_MODE("private_messages.anti_spam.mode", "SLIDING_WINDOW"),
+  PRIVATE_MESSAGES_ANTI_SPAM_MAX_MESSAGES("private_messages.anti_spam.max_messages", 5),
+  PRIVATE_MESSAGES_ANTI_SPAM_COOLDOWN("private_messages.anti_spam.cooldown", 2500L),
+
+  PROXY_CHECK_API_URL("proxy_check.api_url", "https://proxycheck.io/v2/"),
+  PROXY_CHECK_API_KEY("proxy_check.api_key", ""),
+  PROXY_CHECK_TIMEOUT("proxy_check.timeout_ms", 5000),
+  PROXY_CHECK_CACHE_TTL("proxy_check.cache.ttl_hours", 24),
+  PROXY_CHECK_PREFETCH_ENABLED("proxy_check.prefetch.enabled", true),
+  PROXY_CHECK_PREFETCH_INTERVAL("proxy_check.prefetch.interval_ticks", 6000),
+  PROXY_CHECK_ON_LOGIN_ENABLED("proxy_check.on_login.enabled", false),
+  PROXY_CHECK_ON_LOGIN_KICK("proxy_check.on_login.kick", false),
 
   RESULT_ENABLED("result.enabled", true),
   RESULT_DISCORD_ID("result.discord_id", ""),
+  RESULT_RENDERERS_ACTION_BAR_REFRESH("result.renderers.action_bar.refresh_ticks", 5),
+  RESULT_AUDIENCE_RADIUS("result.audience.radius", 64),
+  RESULT_JOURNAL_FLUSH("result.journal.flush_ticks", 20),
+  RESULT_JOURNAL_CHECKPOINT("result.journal.checkpoint_ticks", 200),
+  RESULT_JOURNAL_COMPACT("result.journal.compact_kilobytes", 1024),
   RESULT_FORMATS_MINECRAFT_START("result.formats.minecraft.start", "{0} &8| &aMatch &9{1} &f- &c{2} &ais starting!"),
   RESULT_FORMATS_MINECRAFT_HALFTIME("result.formats.minecraft.half", "{0} &8| &aHalftime! &9{1} &f{2} - {3} &c{4}"),
   RESULT_FORMATS_MINECRAFT_SECOND_HALF("result.formats.minecraft.resume", "{0} &8| &aSecond Half Time starting!"),
@@ -101,16 +140,28 @@ public enum Config {
   ROSTERS_LEAGUE_SETTINGS_DEFAULT_EXCLUDED("rosters.league_settings.default.is_excluded_from_display", false);
 
   public static FileConfiguration CONFIG;
+  private static volatile int generation;
   private final String path;
   private final Object def;
+  @Getter(AccessLevel.NONE)
+  private volatile Compiled compiled;
 
   Config(String path, Object def) {
     this.path = path;
     this.def = def;
   }
 
+  /**
+   * Swaps in a new config file. String templates compiled for the previous file are recompiled on their
+   * next use.
+   */
   public static void setFile(FileConfiguration config) {
     CONFIG = config;
+    generation++;
+  }
+
+  public static int getGeneration() {
+    return generation;
   }
 
   public static FileConfiguration getConfig() {
@@ -134,20 +185,22 @@ public enum Config {
   }
 
   public String getString(String[] args) {
-    String value = ChatColor.translateAlternateColorCodes('&', CONFIG.getString(this.path, (String) this.def));
-    if (args == null) {
-      return value;
-    } else {
-      if (args.length == 0) {
-        return value;
-      } else {
-        for (int i = 0; i < args.length; ++i) {
-          value = value.replace("{" + i + "}", args[i]);
-        }
-
-        value = ChatColor.translateAlternateColorCodes('&', value);
-        return value;
-      }
+    Compiled current = compiled;
+    int expected = generation;
+    if (current == null || current.generation != expected) {
+      current = new Compiled(expected, MessageTemplate.compile(CONFIG.getString(this.path, (String) this.def), null));
+      compiled = current;
+    }
+    return current.template.render(args);
+  }
+
+  private static final class Compiled {
+    private final int generation;
+    private final MessageTemplate template;
+
+    private Compiled(int generation, MessageTemplate template) {
+      this.generation = generation;
+      this.template = template;
     }
   }
 }
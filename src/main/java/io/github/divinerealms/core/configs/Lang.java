@@ -1,13 +1,13 @@
 package io.github.divinerealms.core.configs;
 
+import lombok.AccessLevel;
 import lombok.Getter;
-import org.bukkit.ChatColor;
 import org.bukkit.configuration.file.FileConfiguration;
 
 @Getter
 public enum Lang {
   PREFIX("prefix", "&b&lCore&8&l» &9"),
-  HELP("help", "{prefix}&cNepoznata komanda. Dostupno: &6/&ecore reload"),
+  HELP("help", "{prefix}&cNepoznata komanda. Dostupno: &6/&ecore reload&c, &6/&ecore cache&c, &6/&ecore relay"),
   NO_PERM("no-perm", "{prefix}&cNemate dozvolu (&4{0}&c) za komandu &6/&e{1}&c!"),
   UNKNOWN_COMMAND("unknown-command", "{prefix}&cNepoznata komanda."),
   PLAYER_NOT_FOUND("player-not-found", "{prefix}&cIgrač {0} nije pronađen."),
@@ -55,18 +55,20 @@ public enum Lang {
   CLIENT_BLOCKER_EXEMPT("client-blocker.exempt", "{prefix}&fClient Blocker bypass je {0}&f za &b{1}&f!"),
 
   RESULT_HELP("result.help", String.join(System.lineSeparator(),
-      "{prefix}Lista dostupnih &6/result &9komandi:",
-      "&6/result|rs status: &fPokazuje status trenutne utakmice.",
-      "&6/result|rs start: &fStartuje meč/nastavlja poluvreme.",
-      "&6/result|rs pause/resume: &fPauzira/nastavlja štopericu.",
-      "&6/result|rs stop: &fPrekida meč.",
-      "&6/result|rs teams <home> <away>: &fPostavlja timove.",
-      "&6/result|rs prefix: &fPostavlja prefix.",
-      "&6/result|rs time: &fPodešava vreme trajanja.",
-      "&6/result|rs add <home|away> <scorer> [assister]: &fDodaje gol timu.",
-      "&6/result|rs remove <home|away>: &fUklanja gol timu.",
-      "&6/result|rs stophalf: &fStopira poluvreme.",
-      "&6/result|rs extratime: &fDodaje ET (primer: 20s, 1min, 1min20s, -50s)"
+      "{prefix}Lista dostupnih &6/result &9komandi (&6[meč] &9je ID meča, podrazumevano &6main&9):",
+      "&6/result|rs list: &fPokazuje sve aktivne mečeve.",
+      "&6/result|rs [meč] status: &fPokazuje status utakmice.",
+      "&6/result|rs [meč] start: &fStartuje meč/nastavlja poluvreme.",
+      "&6/result|rs [meč] pause/resume: &fPauzira/nastavlja štopericu.",
+      "&6/result|rs [meč] stop: &fPrekida meč.",
+      "&6/result|rs [meč] teams <home> <away>: &fPostavlja timove.",
+      "&6/result|rs [meč] prefix: &fPostavlja prefix.",
+      "&6/result|rs [meč] setwarp <warp>: &fPostavlja warp na vašoj lokaciji.",
+      "&6/result|rs [meč] time: &fPodešava vreme trajanja.",
+      "&6/result|rs [meč] add <home|away> <scorer> [assister]: &fDodaje gol timu.",
+      "&6/result|rs [meč] remove <home|away>: &fUklanja gol timu.",
+      "&6/result|rs [meč] stophalf: &fStopira poluvreme.",
+      "&6/result|rs [meč] extratime: &fDodaje ET (primer: 20s, 1min, 1min20s, -50s)"
   )),
   RESULT_TEAMS_SET("result.teams.set", "{prefix}&aTimovi podešeni: &9{0} &avs &c{1}&a!"),
   RESULT_TEAMS_UNKNOWN("result.teams.unknown",
@@ -85,6 +87,9 @@ public enum Lang {
   RESULT_HALF_NONE("result.half.none", "{prefix}&cNema aktivnog poluvremena."),
   RESULT_SCORE_INVALID("result.score.invalid", "{prefix}&cNepostojeći tim ili je rezultat već 0."),
   RESULT_SCORE_UPDATED("result.score.update", "{prefix}&aRezultat osvežen za tim {0}&a."),
+  RESULT_LIST_HEADER("result.list.header", "{prefix}&bAktivni mečevi:"),
+  RESULT_LIST_ENTRY("result.list.entry", "&8- &e{0}&7: {1} &9{2} &f{3} &7- &f{4} &c{5} &7| {6}"),
+  RESULT_LIST_WAITING("result.list.waiting", "&7čeka početak"),
   RESULT_WARP_SET("result.warp.set", "{prefix}&aPodešen warp na &e\"{0}\"&a."),
   RESULT_WARP_MISSING("result.warp.not-set",
       "{prefix}&cNiste podesili warp. Podesili smo automatski. Kucajte ponovo komandu."),
@@ -134,10 +139,25 @@ public enum Lang {
       "&b/rosters|rt addleague <liga>: &fDodavanje nove lige.",
       "&b/rosters|rt removeleague <liga>: &fUklanjanje lige.",
       "&b/rosters|rt renameleague <staraLiga> <novaLiga>: &fPreimenovanje lige.",
+      "&b/rosters|rt table [liga]: &fTabela lige (bodovi, gol razlika, forma).",
+      "&b/rosters|rt top <goals|assists> [strana]: &fNajbolji strelci/asistenti sezone.",
+      "&b/rosters|rt flush: &fOdmah čuvanje timova u rosters.yml.",
       "&b/rosters|rt reload: &fPonovno učitavanje konfiguracije.",
       "&r",
       "&eLeagues: &7{0} &8| &eActive: &a{1}"
   )),
+  ROSTERS_TABLE_HEADER("rosters.table.header", String.join(System.lineSeparator(),
+      "&e-------------[ &6&l{0} Tabela &e]----------------",
+      "&7# Tim &8| &7OU P N I &8| &7Golovi GR &8| &7Bodovi &8| &7Forma"
+  )),
+  ROSTERS_TABLE_ENTRY("rosters.table.entry",
+      "&e#{0} {1} &8| &f{2} &a{3} &e{4} &c{5} &8| &f{6} &7{7} &8| &6{8} &8| {9}"),
+  ROSTERS_TABLE_EMPTY("rosters.table.empty", "{prefix}&cLiga &e{0} &cjoš nema odigranih mečeva."),
+  ROSTERS_TOP_HEADER("rosters.top.header", "&e-------------[ &6&l{0} &7({1}/{2}) &e]----------------"),
+  ROSTERS_TOP_ENTRY("rosters.top.entry", "&e#{0} &b{1} &7- &e{2}"),
+  ROSTERS_TOP_EMPTY("rosters.top.empty", "{prefix}&cOve sezone još nema zabeleženih golova."),
+  ROSTERS_TOP_GOALS("rosters.top.goals", "Strelci"),
+  ROSTERS_TOP_ASSISTS("rosters.top.assists", "Asistenti"),
   ROSTERS_EXISTS("rosters.exists", "{prefix}&cTim &e\"{0}\" &cveć postoji!"),
   ROSTERS_NOT_FOUND("rosters.not-found", "{prefix}&cTim &e\"{0}\" &cnije pronađen!"),
   ROSTERS_CREATE("rosters.create", "{prefix}Tim &e\"{0}\"&f sa tagom {1}&f je uspešno napravljen za ligu {2}!"),
@@ -184,6 +204,7 @@ public enum Lang {
       "{prefix}&cNije uspelo preimenovanje lige. Proverite da li stara liga postoji ili je novo ime zauzeto."),
   ROSTERS_FAIL_GENERIC("rosters.fail.generic", "{prefix}&cNije uspelo izvršavanje komande!"),
   ROSTERS_LIST_ALL_EMPTY("rosters.list.all-empty", "{prefix}&cNema timova pronađenih u svim ligama."),
+  ROSTERS_FLUSHED("rosters.flushed", "{prefix}&aSačuvano &e{0} &atimova u rosters.yml."),
   ROSTERS_NOT_IN_ANY("rosters.not-in-any", "{prefix}&cNiste ni u jednom timu!"),
 
   PROXY_CHECK_STATUS("proxy-check.status", String.join(System.lineSeparator(),
@@ -205,10 +226,17 @@ public enum Lang {
   PROXY_CHECK_NO_DATA("proxy-check.no-data", "{prefix}&cNismo dobili informacije za IP &e\"{0}\"&c..."),
   PROXY_CHECK_ERROR("proxy-check.error", "{prefix}&cGreška prilikom provere: {0}"),
   PROXY_CHECK_COOLDOWN("proxy-check.cooldown", "{prefix}&cMorate sačekati još {0}s pre korišćenja."),
+  PROXY_CHECK_LOGIN_FLAGGED("proxy-check.login-flagged",
+      "&9[ProxyCheck] &c{0} &8&o({1}) &cje ušao sa proxy/VPN adrese &7({2}, {3})"),
+  PROXY_CHECK_KICK("proxy-check.kick", "&cProxy i VPN konekcije nisu dozvoljene!"),
 
   MENTION_TOGGLED("toggle.mention", "{prefix}&fZvuk za mention u četu je {0}&f!"),
 
   ADMIN_RELOAD("admin.reload", "{prefix}&eCore reloaded! Osveženo: &e{0}"),
+  ADMIN_CACHE_STATS("admin.cache-stats",
+      "{prefix}&aChat format keš: &e{0} &aigrača, &e{1} &apogodaka, &e{2} &apromašaja (&e{3}%&a pogodaka)."),
+  ADMIN_RELAY_STATS("admin.relay-stats",
+      "{prefix}&aDiscord relay: &e{0} &au redu, &e{1} &aposlato, &e{2} &aodbačeno, &e{3} &aduplikata, &e{4} &aneuspešno."),
 
   MENTION("mention", "&6Pstt, &e{0} &6te je spomenuo u četu!"),
 
@@ -222,16 +250,31 @@ public enum Lang {
   UNDEFINED("undefined", "&cNEDEFINISAN");
 
   private static FileConfiguration LANG;
+  private static volatile int generation;
   private final String path;
   private final String def;
+  @Getter(AccessLevel.NONE)
+  private volatile Compiled compiled;
 
   Lang(String path, String start) {
     this.path = path;
     this.def = start;
   }
 
+  /**
+   * Swaps in a new messages file and recompiles every message. Templates compiled for an older
+   * generation are also recompiled on their next use, so a stale message can never be served.
+   */
   public static void setFile(FileConfiguration config) {
     LANG = config;
+    generation++;
+    for (Lang value : values()) {
+      value.template();
+    }
+  }
+
+  public static int getGeneration() {
+    return generation;
   }
 
   public String getDefault() {
@@ -239,29 +282,36 @@ public enum Lang {
   }
 
   public String replace(String... args) {
-    if (LANG == null) {
-      return ChatColor.translateAlternateColorCodes('&', def).trim();
-    }
-
-    String value = LANG.getString(this.path, this.def);
-
-    if (value.contains("{prefix}")) {
-      value = value.replace("{prefix}", PREFIX.toString());
-    }
+    return template().render(args).trim();
+  }
 
-    if (args != null && args.length > 0) {
-      for (int i = 0; i < args.length; i++) {
-        if (args[i] != null) {
-          value = value.replace("{" + i + "}", args[i]);
-        }
-      }
+  private MessageTemplate template() {
+    Compiled current = compiled;
+    int expected = generation;
+    if (current == null || current.generation != expected) {
+      String raw = LANG != null
+                   ? LANG.getString(this.path, this.def)
+                   : this.def;
+      current = new Compiled(expected, MessageTemplate.compile(raw, this != PREFIX
+                                                                    ? PREFIX.toString()
+                                                                    : null));
+      compiled = current;
     }
-
-    return ChatColor.translateAlternateColorCodes('&', value).trim();
+    return current.template;
   }
 
   @Override
   public String toString() {
     return this.replace();
   }
+
+  private static final class Compiled {
+    private final int generation;
+    private final MessageTemplate template;
+
+    private Compiled(int generation, MessageTemplate template) {
+      this.generation = generation;
+      this.template = template;
+    }
+  }
 }
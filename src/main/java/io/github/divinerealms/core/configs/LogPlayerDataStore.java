@@ -0,0 +1,309 @@
+package io.github.divinerealms.core.configs;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Stores all players in a single append-only log with an in-memory index.
+ * <p>
+ * Every save appends a record ({@code magic, key length, value length, crc, key, value}) and points the
+ * index at it. A delete appends a tombstone, a record whose value length is {@code -1}. On open the log is
+ * scanned once to rebuild the index, and a torn record at the tail left by a crash is cut off. Once superseded records take up more than half of the file it is rewritten with
+ * only the live records and swapped in with an atomic rename.
+ */
+public class LogPlayerDataStore implements PlayerDataStore {
+  private static final int MAGIC = 0x43504C44;
+  private static final int HEADER_SIZE = 16;
+  private static final int TOMBSTONE = -1;
+  private static final byte[] EMPTY = new byte[0];
+  private static final long COMPACT_MIN_GARBAGE = 1024 * 1024;
+
+  private final File file;
+  private final Map<String, Entry> index = new HashMap<>();
+  private FileChannel channel;
+  private long size;
+  private long garbage;
+
+  public LogPlayerDataStore(File file) throws IOException {
+    this.file = file;
+    open();
+  }
+
+  @Override
+  public synchronized String load(String key) throws IOException {
+    Entry entry = index.get(key);
+    if (entry == null) {
+      return null;
+    }
+
+    return new String(read(channel, entry.valueOffset, entry.valueLength), StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public synchronized void save(String key, String contents) throws IOException {
+    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    byte[] valueBytes = contents.getBytes(StandardCharsets.UTF_8);
+
+    long offset = size;
+    size += append(channel, offset, keyBytes, valueBytes);
+
+    Entry previous = index.put(key, new Entry(offset + HEADER_SIZE + keyBytes.length, valueBytes.length,
+        HEADER_SIZE + keyBytes.length + valueBytes.length));
+    if (previous != null) {
+      garbage += previous.recordLength;
+    }
+
+    if (garbage >= COMPACT_MIN_GARBAGE && garbage * 2 > size) {
+      compact();
+    }
+  }
+
+  /**
+   * Appends every record with a single write, so a shutdown flush costs one call instead of one per player.
+   */
+  @Override
+  public synchronized void saveAll(Map<String, String> records) throws IOException {
+    if (records.isEmpty()) {
+      return;
+    }
+
+    List<byte[]> keys = new ArrayList<>(records.size());
+    List<byte[]> values = new ArrayList<>(records.size());
+    long length = 0;
+    for (Map.Entry<String, String> record : records.entrySet()) {
+      byte[] keyBytes = record.getKey().getBytes(StandardCharsets.UTF_8);
+      byte[] valueBytes = record.getValue().getBytes(StandardCharsets.UTF_8);
+      keys.add(keyBytes);
+      values.add(valueBytes);
+      length += HEADER_SIZE + keyBytes.length + valueBytes.length;
+    }
+
+    if (length > Integer.MAX_VALUE) {
+      for (Map.Entry<String, String> record : records.entrySet()) {
+        save(record.getKey(), record.getValue());
+      }
+      return;
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate((int) length);
+    for (int i = 0; i < keys.size(); i++) {
+      encode(buffer, keys.get(i), values.get(i));
+    }
+    buffer.flip();
+
+    long offset = size;
+    write(channel, buffer, offset);
+    size += length;
+
+    int i = 0;
+    for (String key : records.keySet()) {
+      int keyLength = keys.get(i).length;
+      int valueLength = values.get(i).length;
+      Entry previous = index.put(key, new Entry(offset + HEADER_SIZE + keyLength, valueLength,
+          HEADER_SIZE + keyLength + valueLength));
+      if (previous != null) {
+        garbage += previous.recordLength;
+      }
+      offset += HEADER_SIZE + keyLength + valueLength;
+      i++;
+    }
+
+    if (garbage >= COMPACT_MIN_GARBAGE && garbage * 2 > size) {
+      compact();
+    }
+  }
+
+  @Override
+  public synchronized void delete(String key) throws IOException {
+    Entry previous = index.remove(key);
+    if (previous == null) {
+      return;
+    }
+
+    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + keyBytes.length);
+    record.putInt(MAGIC).putInt(keyBytes.length).putInt(TOMBSTONE).putInt(checksum(keyBytes, EMPTY)).put(keyBytes);
+    record.flip();
+    size += write(channel, record, size);
+    garbage += previous.recordLength + HEADER_SIZE + keyBytes.length;
+
+    if (garbage >= COMPACT_MIN_GARBAGE && garbage * 2 > size) {
+      compact();
+    }
+  }
+
+  @Override
+  public boolean isConcurrent() {
+    return false;
+  }
+
+  @Override
+  public synchronized boolean contains(String key) {
+    return index.containsKey(key);
+  }
+
+  @Override
+  public synchronized Set<String> keys() {
+    return new HashSet<>(index.keySet());
+  }
+
+  @Override
+  public synchronized void flush() throws IOException {
+    channel.force(false);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (channel.isOpen()) {
+      channel.force(true);
+      channel.close();
+    }
+  }
+
+  private void open() throws IOException {
+    Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+    channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    index.clear();
+    garbage = 0;
+
+    long length = channel.size();
+    long position = 0;
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    while (position + HEADER_SIZE <= length) {
+      header.clear();
+      readFully(channel, header, position);
+      header.flip();
+
+      int magic = header.getInt();
+      int keyLength = header.getInt();
+      int valueLength = header.getInt();
+      int checksum = header.getInt();
+      boolean tombstone = valueLength == TOMBSTONE;
+      int storedLength = tombstone
+                         ? 0
+                         : valueLength;
+      if (magic != MAGIC || keyLength <= 0 || storedLength < 0 ||
+          position + HEADER_SIZE + keyLength + storedLength > length) {
+        break;
+      }
+
+      byte[] keyBytes = read(channel, position + HEADER_SIZE, keyLength);
+      byte[] valueBytes = read(channel, position + HEADER_SIZE + keyLength, storedLength);
+      if (checksum(keyBytes, valueBytes) != checksum) {
+        break;
+      }
+
+      String key = new String(keyBytes, StandardCharsets.UTF_8);
+      int recordLength = HEADER_SIZE + keyLength + storedLength;
+      Entry previous;
+      if (tombstone) {
+        previous = index.remove(key);
+        garbage += recordLength;
+      } else {
+        previous = index.put(key, new Entry(position + HEADER_SIZE + keyLength, valueLength, recordLength));
+      }
+      if (previous != null) {
+        garbage += previous.recordLength;
+      }
+      position += recordLength;
+    }
+
+    if (position < length) {
+      channel.truncate(position);
+    }
+    size = position;
+  }
+
+  private void compact() throws IOException {
+    Path temp = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".compact").toPath();
+    try (FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      long position = 0;
+      for (Map.Entry<String, Entry> entry : index.entrySet()) {
+        Entry value = entry.getValue();
+        position += append(target, position, entry.getKey().getBytes(StandardCharsets.UTF_8),
+            read(channel, value.valueOffset, value.valueLength));
+      }
+      target.force(true);
+    }
+
+    channel.close();
+    try {
+      try {
+        Files.move(temp, file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException exception) {
+        Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      open();
+    }
+  }
+
+  private static long append(FileChannel target, long offset, byte[] keyBytes, byte[] valueBytes)
+      throws IOException {
+    ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + keyBytes.length + valueBytes.length);
+    encode(record, keyBytes, valueBytes);
+    record.flip();
+    return write(target, record, offset);
+  }
+
+  private static void encode(ByteBuffer buffer, byte[] keyBytes, byte[] valueBytes) {
+    buffer.putInt(MAGIC).putInt(keyBytes.length).putInt(valueBytes.length).putInt(checksum(keyBytes, valueBytes));
+    buffer.put(keyBytes).put(valueBytes);
+  }
+
+  private static long write(FileChannel target, ByteBuffer buffer, long offset) throws IOException {
+    long position = offset;
+    while (buffer.hasRemaining()) {
+      position += target.write(buffer, position);
+    }
+    return position - offset;
+  }
+
+  private static byte[] read(FileChannel source, long offset, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    readFully(source, buffer, offset);
+    return buffer.array();
+  }
+
+  private static void readFully(FileChannel source, ByteBuffer buffer, long offset) throws IOException {
+    long position = offset;
+    while (buffer.hasRemaining()) {
+      int read = source.read(buffer, position);
+      if (read < 0) {
+        throw new IOException("Unexpected end of " + source);
+      }
+      position += read;
+    }
+  }
+
+  private static int checksum(byte[] keyBytes, byte[] valueBytes) {
+    CRC32 crc = new CRC32();
+    crc.update(keyBytes);
+    crc.update(valueBytes);
+    return (int) crc.getValue();
+  }
+
+  private static final class Entry {
+    private final long valueOffset;
+    private final int valueLength;
+    private final int recordLength;
+
+    private Entry(long valueOffset, int valueLength, int recordLength) {
+      this.valueOffset = valueOffset;
+      this.valueLength = valueLength;
+      this.recordLength = recordLength;
+    }
+  }
+}
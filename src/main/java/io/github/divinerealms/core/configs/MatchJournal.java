@@ -0,0 +1,190 @@
+package io.github.divinerealms.core.configs;
+
+import io.github.divinerealms.core.utilities.MatchEvent;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of {@link MatchEvent}s.
+ * <p>
+ * Each record is {@code length, crc, payload}, where the payload is the event type, timestamp, match id,
+ * clock seconds and arguments written with {@link DataOutputStream}. Appends only reach the page cache;
+ * {@link #flush()} forces them to disk and is meant to be called on a timer, so a burst of events costs
+ * a single fsync. On open every record is replayed in order and a torn record at the tail is cut off.
+ * {@link #rewrite(List)} replaces the whole log with a shorter list of events through a temporary file
+ * and an atomic rename.
+ */
+public class MatchJournal {
+  private static final int HEADER_SIZE = 8;
+
+  private final File file;
+  private FileChannel channel;
+  private long size;
+  private boolean dirty;
+
+  public MatchJournal(File file, Consumer<MatchEvent> replay) throws IOException {
+    Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+    this.file = file;
+    this.channel = open(file);
+
+    long length = channel.size();
+    long position = 0;
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    while (position + HEADER_SIZE <= length) {
+      header.clear();
+      readFully(header, position);
+      header.flip();
+
+      int payloadLength = header.getInt();
+      int checksum = header.getInt();
+      if (payloadLength <= 0 || position + HEADER_SIZE + payloadLength > length) {
+        break;
+      }
+
+      ByteBuffer payload = ByteBuffer.allocate(payloadLength);
+      readFully(payload, position + HEADER_SIZE);
+      if (checksum(payload.array()) != checksum) {
+        break;
+      }
+
+      MatchEvent event;
+      try {
+        event = decode(payload.array());
+      } catch (IOException | IndexOutOfBoundsException exception) {
+        break;
+      }
+
+      replay.accept(event);
+      position += HEADER_SIZE + payloadLength;
+    }
+
+    if (position < length) {
+      channel.truncate(position);
+    }
+    this.size = position;
+  }
+
+  public synchronized void append(MatchEvent event) throws IOException {
+    size = write(channel, size, event);
+    dirty = true;
+  }
+
+  public synchronized long size() {
+    return size;
+  }
+
+  /**
+   * Replaces the journal with the given events, which must replay to the same state as the records they
+   * stand for. If anything fails the current journal is kept.
+   */
+  public synchronized void rewrite(List<MatchEvent> events) throws IOException {
+    Path temp = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".compact").toPath();
+    try (FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      long position = 0;
+      for (MatchEvent event : events) {
+        position = write(target, position, event);
+      }
+      target.force(true);
+    }
+
+    channel.close();
+    try {
+      try {
+        Files.move(temp, file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException exception) {
+        Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      channel = open(file);
+      size = channel.size();
+      dirty = false;
+    }
+  }
+
+  public synchronized void flush() throws IOException {
+    if (dirty && channel.isOpen()) {
+      channel.force(false);
+      dirty = false;
+    }
+  }
+
+  public synchronized void close() throws IOException {
+    if (channel.isOpen()) {
+      channel.force(true);
+      channel.close();
+    }
+  }
+
+  private static FileChannel open(File file) throws IOException {
+    return FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+  }
+
+  private static long write(FileChannel target, long offset, MatchEvent event) throws IOException {
+    byte[] payload = encode(event);
+    ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+    record.putInt(payload.length).putInt(checksum(payload)).put(payload);
+    record.flip();
+
+    long position = offset;
+    while (record.hasRemaining()) {
+      position += target.write(record, position);
+    }
+    return position;
+  }
+
+  private void readFully(ByteBuffer buffer, long offset) throws IOException {
+    long position = offset;
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position);
+      if (read < 0) {
+        throw new EOFException();
+      }
+      position += read;
+    }
+  }
+
+  private static byte[] encode(MatchEvent event) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+    try (DataOutputStream output = new DataOutputStream(bytes)) {
+      output.writeByte(event.getType().ordinal());
+      output.writeLong(event.getTime());
+      output.writeUTF(event.getMatchId());
+      output.writeInt(event.getSeconds());
+      output.writeByte(event.getArgs().length);
+      for (String arg : event.getArgs()) {
+        output.writeUTF(arg != null
+                        ? arg
+                        : "");
+      }
+    }
+    return bytes.toByteArray();
+  }
+
+  private static MatchEvent decode(byte[] payload) throws IOException {
+    try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload))) {
+      MatchEvent.Type type = MatchEvent.Type.values()[input.readUnsignedByte()];
+      long time = input.readLong();
+      String matchId = input.readUTF();
+      int seconds = input.readInt();
+      String[] args = new String[input.readUnsignedByte()];
+      for (int i = 0; i < args.length; i++) {
+        args[i] = input.readUTF();
+      }
+      return new MatchEvent(type, time, matchId, seconds, args);
+    }
+  }
+
+  private static int checksum(byte[] payload) {
+    CRC32 crc = new CRC32();
+    crc.update(payload);
+    return (int) crc.getValue();
+  }
+}
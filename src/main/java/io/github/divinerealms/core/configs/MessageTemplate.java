@@ -0,0 +1,109 @@
+package io.github.divinerealms.core.configs;
+
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message parsed once into colour-translated text and numbered {@code {i}} argument slots.
+ * <p>
+ * Rendering is a single pass into a presized builder. Arguments are colour-translated as they are
+ * inserted, the same as translating the whole message after replacing would. A slot without an
+ * argument, or with a {@code null} one, is left as its literal {@code {i}}.
+ */
+public final class MessageTemplate {
+  private final String[] literals;
+  private final int[] slots;
+  private final int literalLength;
+
+  private MessageTemplate(String[] literals, int[] slots) {
+    this.literals = literals;
+    this.slots = slots;
+
+    int length = 0;
+    for (String literal : literals) {
+      length += literal.length();
+    }
+    this.literalLength = length;
+  }
+
+  /**
+   * @param raw    the message as written in the config, with {@code &} colour codes
+   * @param prefix the text that replaces {@code {prefix}}, or {@code null} to leave it as is
+   */
+  public static MessageTemplate compile(String raw, String prefix) {
+    String value = raw != null
+                   ? raw
+                   : "";
+    if (prefix != null && value.contains("{prefix}")) {
+      value = value.replace("{prefix}", prefix);
+    }
+
+    List<String> literals = new ArrayList<>();
+    List<Integer> slots = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    int i = 0;
+    while (i < value.length()) {
+      char c = value.charAt(i);
+      int close = c == '{'
+                  ? value.indexOf('}', i + 1)
+                  : -1;
+      if (close > i + 1 && isDigits(value, i + 1, close)) {
+        literals.add(ChatColor.translateAlternateColorCodes('&', literal.toString()));
+        slots.add(Integer.parseInt(value.substring(i + 1, close)));
+        literal.setLength(0);
+        i = close + 1;
+        continue;
+      }
+
+      literal.append(c);
+      i++;
+    }
+    literals.add(ChatColor.translateAlternateColorCodes('&', literal.toString()));
+
+    int[] slotArray = new int[slots.size()];
+    for (int s = 0; s < slotArray.length; s++) {
+      slotArray[s] = slots.get(s);
+    }
+    return new MessageTemplate(literals.toArray(new String[0]), slotArray);
+  }
+
+  public String render(String... args) {
+    if (slots.length == 0) {
+      return literals[0];
+    }
+
+    StringBuilder builder = new StringBuilder(literalLength + slots.length * 16);
+    for (int i = 0; i < slots.length; i++) {
+      builder.append(literals[i]);
+
+      int slot = slots[i];
+      String arg = args != null && slot < args.length
+                   ? args[slot]
+                   : null;
+      if (arg == null) {
+        builder.append('{').append(slot).append('}');
+      } else {
+        builder.append(arg.indexOf('&') >= 0
+                       ? ChatColor.translateAlternateColorCodes('&', arg)
+                       : arg);
+      }
+    }
+    builder.append(literals[slots.length]);
+    return builder.toString();
+  }
+
+  private static boolean isDigits(String value, int from, int to) {
+    if (to - from > 4) {
+      return false;
+    }
+
+    for (int i = from; i < to; i++) {
+      if (!Character.isDigit(value.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
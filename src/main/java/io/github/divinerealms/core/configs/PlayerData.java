@@ -1,58 +1,106 @@
 package io.github.divinerealms.core.configs;
 
-import io.github.divinerealms.core.managers.ConfigManager;
 import io.github.divinerealms.core.managers.PlayerDataManager;
 import lombok.Getter;
 import org.bukkit.configuration.file.FileConfiguration;
 
-import java.io.File;
+import java.util.UUID;
 
 public class PlayerData {
-  private final String playerName;
-  private final ConfigManager configManager;
+  @Getter
+  private final UUID uuid;
+  @Getter
+  private volatile String playerName;
   private final PlayerDataManager dataManager;
   @Getter
   private final FileConfiguration config;
 
-  public PlayerData(String playerName, ConfigManager configManager, PlayerDataManager dataManager) {
-    this.configManager = configManager;
+  private boolean dirty = false;
+  @Getter
+  private long dirtySince;
+  @Getter
+  private long lastChange;
+
+  public PlayerData(UUID uuid, String playerName, FileConfiguration config, PlayerDataManager dataManager) {
+    this.uuid = uuid;
     this.playerName = playerName;
     this.dataManager = dataManager;
 
-    this.configManager.createNewFile("players" + File.separator + playerName + ".yml", "Player data for " + playerName);
-    this.config = configManager.getConfig("players" + File.separator + playerName + ".yml");
+    this.config = config;
+    this.config.options().header("Player data for " + uuid);
+    this.config.options().copyDefaults(true);
+  }
+
+  /**
+   * Records the player's current name.
+   *
+   * @return {@code true} if the stored name changed
+   */
+  public synchronized boolean rename(String name) {
+    playerName = name;
+    if (name.equals(config.getString("name"))) {
+      return false;
+    }
+
+    set("name", name);
+    return true;
   }
 
-  public boolean has(String path) {
+  public synchronized boolean has(String path) {
     return config.isSet(path);
   }
 
-  public Object get(String path) {
+  public synchronized Object get(String path) {
     return config.get(path, 0);
   }
 
-  public void set(String path, Object value) {
+  public synchronized void set(String path, Object value) {
     Object current = config.get(path);
 
     if ((current == null && value != null) || (current != null && !current.equals(value))) {
       config.set(path, value);
-      dataManager.queueAdd(playerName);
+      markDirty();
     }
   }
 
-  public void add(String key) {
+  public synchronized void add(String key) {
     int current = (int) get(key);
     set(key, current + 1);
   }
 
-  public void remove(String key) {
+  public synchronized void remove(String key) {
     int current = (int) get(key);
     set(key, current > 0
              ? current - 1
              : 0);
   }
 
-  public void save() {
-    configManager.saveConfig("players" + File.separator + playerName + ".yml");
+  public synchronized boolean isDirty() {
+    return dirty;
+  }
+
+  /**
+   * Serialises the current state and marks it clean, so changes made while the snapshot is being
+   * written mark the data dirty again.
+   *
+   * @return the YAML contents, or {@code null} if nothing changed since the last snapshot
+   */
+  public synchronized String snapshot() {
+    if (!dirty) {
+      return null;
+    }
+
+    dirty = false;
+    return config.saveToString();
+  }
+
+  public synchronized void markDirty() {
+    long now = System.nanoTime();
+    lastChange = now;
+    if (!dirty) {
+      dirty = true;
+      dirtySince = now;
+      dataManager.markDirty(this);
+    }
   }
 }
@@ -0,0 +1,52 @@
+package io.github.divinerealms.core.configs;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persists serialised {@link PlayerData} contents by key.
+ */
+public interface PlayerDataStore {
+  /**
+   * @param key the player key
+   * @return the stored contents, or {@code null} if the player has no data yet
+   */
+  String load(String key) throws IOException;
+
+  void save(String key, String contents) throws IOException;
+
+  /**
+   * Saves several records at once. Stores that can write them in one go override this.
+   *
+   * @param records the contents by key
+   */
+  default void saveAll(Map<String, String> records) throws IOException {
+    for (Map.Entry<String, String> record : records.entrySet()) {
+      save(record.getKey(), record.getValue());
+    }
+  }
+
+  /**
+   * @return whether saves may run on several threads at once and get faster for it
+   */
+  default boolean isConcurrent() {
+    return true;
+  }
+
+  /**
+   * Removes the record of a key, if there is one.
+   */
+  void delete(String key) throws IOException;
+
+  boolean contains(String key);
+
+  Set<String> keys() throws IOException;
+
+  /**
+   * Forces written data to disk.
+   */
+  void flush() throws IOException;
+
+  void close() throws IOException;
+}
@@ -0,0 +1,99 @@
+package io.github.divinerealms.core.configs;
+
+import io.github.divinerealms.core.managers.IpReputationService;
+import io.github.divinerealms.core.utilities.BrandMatcher;
+import lombok.Getter;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.divinerealms.core.utilities.Constants.PATH_PLAYER_MESSAGES;
+
+/**
+ * An immutable, typed snapshot of the settings read on hot paths.
+ * <p>
+ * Built once per reload from {@code config.yml} and published by {@code CoreManager} through a volatile
+ * reference, so listeners read plain fields instead of walking the config tree on every event. Anything
+ * that needs the settings of a single event should read the reference once and keep the snapshot.
+ */
+@Getter
+public final class Settings {
+  private final boolean joinMessagesEnabled;
+  private final String joinMinecraftFormat;
+  private final String joinDiscordFormat;
+  private final boolean quitMessagesEnabled;
+  private final String quitMinecraftFormat;
+  private final String quitDiscordFormat;
+
+  private final boolean clientBlockerEnabled;
+  private final BlockerMode clientBlockerMode;
+  /** {@code client_blocker.list}, checked according to {@link #clientBlockerMode}. */
+  private final BrandMatcher clientBlockerList;
+  /** {@code client_blocker.always_allowed}, never kicked whatever the mode. */
+  private final BrandMatcher clientBlockerAllowed;
+
+  private final IpReputationService.Options proxyCheck;
+  private final boolean proxyCheckPrefetch;
+  private final boolean proxyCheckOnLogin;
+  private final boolean proxyCheckKickOnLogin;
+
+  private final boolean resultEnabled;
+  private final String resultDiscordId;
+  private final double resultAudienceRadius;
+
+  private Settings(FileConfiguration config) {
+    this.joinMessagesEnabled = config.getBoolean(PATH_PLAYER_MESSAGES + "join.enabled", false);
+    this.joinMinecraftFormat = config.getString(PATH_PLAYER_MESSAGES + "join.minecraft");
+    this.joinDiscordFormat = config.getString(PATH_PLAYER_MESSAGES + "join.discord");
+    this.quitMessagesEnabled = config.getBoolean(PATH_PLAYER_MESSAGES + "quit.enabled", false);
+    this.quitMinecraftFormat = config.getString(PATH_PLAYER_MESSAGES + "quit.minecraft");
+    this.quitDiscordFormat = config.getString(PATH_PLAYER_MESSAGES + "quit.discord");
+
+    this.clientBlockerEnabled = Config.CLIENT_BLOCKER_ENABLED.getValue(Boolean.class);
+    this.clientBlockerMode = BlockerMode.parse(Config.CLIENT_BLOCKER_MODE.getValue(String.class));
+    this.clientBlockerList = BrandMatcher.compile(Config.CLIENT_BLOCKER_LIST.getValue(List.class));
+    this.clientBlockerAllowed = BrandMatcher.compile(Config.CLIENT_BLOCKER_ALWAYS_ALLOWED.getValue(List.class));
+
+    this.proxyCheck = new IpReputationService.Options(Config.PROXY_CHECK_API_URL.getValue(String.class),
+        Config.PROXY_CHECK_API_KEY.getValue(String.class),
+        TimeUnit.HOURS.toMillis(Config.PROXY_CHECK_CACHE_TTL.getValue(Number.class).longValue()),
+        Config.PROXY_CHECK_TIMEOUT.getValue(Number.class).intValue());
+    this.proxyCheckPrefetch = Config.PROXY_CHECK_PREFETCH_ENABLED.getValue(Boolean.class);
+    this.proxyCheckOnLogin = Config.PROXY_CHECK_ON_LOGIN_ENABLED.getValue(Boolean.class);
+    this.proxyCheckKickOnLogin = Config.PROXY_CHECK_ON_LOGIN_KICK.getValue(Boolean.class);
+
+    this.resultEnabled = Config.RESULT_ENABLED.getValue(Boolean.class);
+    String discordId = Config.RESULT_DISCORD_ID.getValue(String.class);
+    this.resultDiscordId = discordId != null
+                           ? discordId.trim()
+                           : "";
+    this.resultAudienceRadius = Config.RESULT_AUDIENCE_RADIUS.getValue(Number.class).doubleValue();
+  }
+
+  /**
+   * Reads a new snapshot from the current {@link Config#getConfig() config file}.
+   */
+  public static Settings load() {
+    return new Settings(Config.getConfig());
+  }
+
+  public enum BlockerMode {
+    WHITELIST,
+    BLACKLIST,
+    /** An unknown mode, which never kicks anyone. */
+    NONE;
+
+    public static BlockerMode parse(String raw) {
+      if (raw == null) {
+        return NONE;
+      }
+
+      try {
+        return valueOf(raw.trim().toUpperCase());
+      } catch (IllegalArgumentException exception) {
+        return NONE;
+      }
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package io.github.divinerealms.core.configs;
+
+import lombok.Getter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Stores every player in its own {@code <key>.yml} file inside a folder.
+ */
+public class YamlPlayerDataStore implements PlayerDataStore {
+  private static final String EXTENSION = ".yml";
+
+  @Getter
+  private final File folder;
+
+  public YamlPlayerDataStore(File folder) {
+    this.folder = folder;
+  }
+
+  @Override
+  public String load(String key) throws IOException {
+    File file = file(key);
+    return file.exists()
+           ? new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8)
+           : null;
+  }
+
+  @Override
+  public void save(String key, String contents) throws IOException {
+    Path target = file(key).toPath();
+    Files.createDirectories(folder.toPath());
+
+    Path temp = Files.createTempFile(folder.toPath(), key + EXTENSION, ".tmp");
+    try {
+      Files.write(temp, contents.getBytes(StandardCharsets.UTF_8));
+      try {
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException exception) {
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  @Override
+  public void delete(String key) throws IOException {
+    Files.deleteIfExists(file(key).toPath());
+  }
+
+  @Override
+  public boolean contains(String key) {
+    return file(key).exists();
+  }
+
+  @Override
+  public Set<String> keys() {
+    Set<String> keys = new HashSet<>();
+    File[] files = folder.listFiles((dir, name) -> name.endsWith(EXTENSION));
+    if (files != null) {
+      for (File file : files) {
+        keys.add(file.getName().substring(0, file.getName().length() - EXTENSION.length()));
+      }
+    }
+    return keys;
+  }
+
+  @Override
+  public void flush() {
+  }
+
+  @Override
+  public void close() {
+  }
+
+  private File file(String key) {
+    return new File(folder, key + EXTENSION);
+  }
+}
@@ -2,28 +2,14 @@ package io.github.divinerealms.core.listeners;
 
 import io.github.divinerealms.core.main.CoreManager;
 import io.github.divinerealms.core.managers.ChannelManager;
-import io.github.divinerealms.core.managers.ResultManager;
 import io.github.divinerealms.core.utilities.AuthMeHook;
 import io.github.divinerealms.core.utilities.ChannelInfo;
 import io.github.divinerealms.core.utilities.Logger;
-import io.github.divinerealms.core.utilities.PlayerSettings;
-import me.clip.placeholderapi.PlaceholderAPI;
-import net.luckperms.api.LuckPerms;
-import net.luckperms.api.model.user.User;
-import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
-import org.bukkit.Server;
-import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
-import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitScheduler;
-
-import java.util.Objects;
-import java.util.Set;
-import java.util.UUID;
 
 import static io.github.divinerealms.core.configs.Lang.*;
 import static io.github.divinerealms.core.utilities.Permissions.PERM_BYPASS_DISABLED_CHANNEL;
@@ -31,23 +17,13 @@ import static io.github.divinerealms.core.utilities.Permissions.PERM_CHAT_COLOR;
 
 public class ChatChannelListener implements Listener {
   private final CoreManager coreManager;
-  private final Plugin plugin;
-  private final Server server;
-  private final BukkitScheduler scheduler;
   private final Logger logger;
   private final ChannelManager channelManager;
-  private final LuckPerms luckPerms;
-  private final ResultManager resultManager;
 
   public ChatChannelListener(CoreManager coreManager) {
     this.coreManager = coreManager;
-    this.plugin = coreManager.getPlugin();
-    this.server = plugin.getServer();
-    this.scheduler = server.getScheduler();
     this.logger = coreManager.getLogger();
     this.channelManager = coreManager.getChannelManager();
-    this.luckPerms = coreManager.getLuckPerms();
-    this.resultManager = coreManager.getResultManager();
   }
 
   @EventHandler
@@ -97,136 +73,11 @@ public class ChatChannelListener implements Listener {
 
     final String initialMessage = message;
 
-    UUID uuid = player.getUniqueId();
-    long now = System.currentTimeMillis();
-
-    channelManager.getMcLastMessageTime().putIfAbsent(uuid, now);
-    if (now - channelManager.getMcLastMessageTime().get(uuid) > channelManager.getMcCooldownMs()) {
-      channelManager.getMcMessageCount().put(uuid, 0);
-      channelManager.getMcLastMessageTime().put(uuid, now);
-    }
-
-    channelManager.getMcMessageCount().put(uuid, channelManager.getMcMessageCount().getOrDefault(uuid, 0) + 1);
-
-    if (channelManager.getMcMessageCount().get(uuid) > channelManager.getMcMaxMessages()) {
-      event.setCancelled(true);
+    if (channelManager.getAntiSpam(activeChannel).tryAcquire(player.getUniqueId()) > 0) {
       logger.sendActionBar(player, ANTI_SPAM_MESSAGES);
       return;
     }
 
-    scheduler.runTask(plugin, () -> {
-      String messageToSend = initialMessage;
-
-      boolean fcMatchesEnabled = PlaceholderAPI.setPlaceholders(null, "%fc_enabled%").equals("YES");
-      if (channelManager.isMentionsEnabled() && fcMatchesEnabled) {
-        Sound mentionSound;
-        try {
-          mentionSound = Sound.valueOf(channelManager.getMentionSound().toUpperCase());
-        } catch (IllegalArgumentException ignored) {
-          mentionSound = Sound.ORB_PICKUP;
-        }
-
-        for (Player target : coreManager.getCachedPlayers()) {
-          String targetName = target.getName();
-          boolean isMentioned = false;
-
-          if (messageToSend.contains("@" + targetName)) {
-            isMentioned = true;
-          } else {
-            if (messageToSend.startsWith(targetName)) {
-              int nameEndIndex = targetName.length();
-              if (messageToSend.length() == nameEndIndex ||
-                  !Character.isLetterOrDigit(messageToSend.charAt(nameEndIndex))) {
-                isMentioned = true;
-              }
-            }
-          }
-
-          if (!isMentioned) {
-            continue;
-          }
-
-          if (!activeChannel.equals(channelManager.getActiveChannel(target))) {
-            continue;
-          }
-
-          User user = luckPerms.getUserManager().getUser(target.getUniqueId());
-          String prefixColor = user != null
-                               ? user.getCachedData().getMetaData().getPrefix()
-                               : (channelManager.getMentionColor() != null &&
-                                  !channelManager.getMentionColor().isEmpty()
-                                  ? channelManager.getMentionColor()
-                                  : "&7");
-          final String coloredName = logger.color(prefixColor) + "@" + targetName + ChatColor.RESET;
-
-          if (messageToSend.contains("@" + targetName)) {
-            messageToSend = messageToSend.replace("@" + targetName, coloredName);
-          } else {
-            if (messageToSend.startsWith(targetName)) {
-              messageToSend = coloredName + messageToSend.substring(targetName.length());
-            }
-          }
-
-          logger.sendActionBar(target, MENTION, player.getName());
-
-          PlayerSettings settings = coreManager.getPlayerSettings(target);
-          if (settings != null && settings.isMentionSoundEnabled()) {
-            target.playSound(target.getLocation(), mentionSound, 1.0F, 1.0F);
-          }
-        }
-      }
-
-      final String formattedMessage = activeChannel.equals("host")
-                                      ?
-                                      channelManager.formatChat(player,
-                                          info.formats.minecraftChat.replace("{prefix-host}",
-                                              resultManager.getPrefix()), messageToSend, true)
-                                      :
-                                      channelManager.formatChat(player, info.formats.minecraftChat, messageToSend,
-                                          true);
-
-      channelManager.getSocialSpy().forEach(spyUUID -> {
-        if (spyUUID.equals(player.getUniqueId())) {
-          return;
-        }
-
-        if (isBroadcast) {
-          return;
-        }
-
-        Player spy = Bukkit.getPlayer(spyUUID);
-        if (spy == null) {
-          return;
-        }
-
-        if (channelManager.getSubscribers(activeChannel).contains(spyUUID)) {
-          return;
-        }
-
-        String senderName = coreManager.getChat().getPlayerPrefix(player) + player.getDisplayName();
-        logger.send(spy,
-            CHANNEL_SPY_FORMAT, activeChannel.toUpperCase(), senderName, formattedMessage);
-      });
-
-      if (isBroadcast) {
-        server.broadcastMessage(logger.color(formattedMessage));
-      } else {
-        if (isSenderSubscribed) {
-          Set<UUID> subscribers = channelManager.getSubscribers(activeChannel);
-          subscribers.stream().map(Bukkit::getPlayer).filter(Objects::nonNull).forEach(
-              p -> logger.send(p, formattedMessage));
-          logger.logChannel(info.name, formattedMessage);
-        } else {
-          logger.send(info.permission, formattedMessage);
-        }
-      }
-
-      if (coreManager.isDiscordSRV() && info.formats.minecraftToDiscord != null &&
-          !info.formats.minecraftToDiscord.isEmpty()) {
-        channelManager.sendToDiscord(info, channelManager.formatChat(player,
-            info.formats.minecraftToDiscord.replace("{prefix-host}", resultManager.getPrefix()), initialMessage,
-            false));
-      }
-    });
+    coreManager.getChatPipeline().submit(player, info, activeChannel, isSenderSubscribed, initialMessage);
   }
 }
@@ -7,6 +7,7 @@ import github.scarsz.discordsrv.dependencies.jda.api.entities.*;
 import io.github.divinerealms.core.main.CoreManager;
 import io.github.divinerealms.core.managers.ChannelManager;
 import io.github.divinerealms.core.utilities.ChannelInfo;
+import io.github.divinerealms.core.utilities.ChatTemplate;
 import io.github.divinerealms.core.utilities.Logger;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.ClickEvent;
@@ -14,21 +15,27 @@ import net.md_5.bungee.api.chat.HoverEvent;
 import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.List;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
 
 import static io.github.divinerealms.core.configs.Lang.CHANNEL_REPLY;
 
 public class DiscordMessageListener {
+  private static final ChatTemplate DEFAULT_FORMAT = ChatTemplate.compile("%name%: %message%");
+
   private final CoreManager coreManager;
+  private final Plugin plugin;
+  private final BukkitScheduler scheduler;
   private final Logger logger;
   private final ChannelManager channelManager;
 
   public DiscordMessageListener(CoreManager coreManager) {
     this.coreManager = coreManager;
+    this.plugin = coreManager.getPlugin();
+    this.scheduler = plugin.getServer().getScheduler();
     this.logger = coreManager.getLogger();
     this.channelManager = coreManager.getChannelManager();
   }
@@ -46,41 +53,75 @@ public class DiscordMessageListener {
 
   private static @NotNull String getFormatted(ChannelInfo info, String displayName, String replyName, String message,
                                               String channelName) {
-    String format = info.formats.discordToMinecraft;
-    if (format == null || format.trim().isEmpty()) {
-      format = "%name%: %message%";
-    }
-
-    return format
-        .replace("%channelName%", channelName)
-        .replace("%name%", displayName)
-        .replace("%reply%", replyName)
-        .replace("%message%", message)
-        .replaceAll("%[^%]+%", "")
-        .trim();
+    ChatTemplate template = info.formats.discordToMinecraftTemplate;
+    if (template.getSource().trim().isEmpty()) {
+      template = DEFAULT_FORMAT;
+    }
+
+    return template.render(token -> {
+      switch (token) {
+        case "%channelName%":
+          return channelName;
+
+        case "%name%":
+          return displayName;
+
+        case "%reply%":
+          return replyName;
+
+        default:
+          return token.charAt(0) == '%'
+                 ? ""
+                 : null;
+      }
+    }, message).trim();
   }
 
   private static String resolveDiscordMentions(Message message) {
     String content = message.getContentRaw();
+    if (content.indexOf('<') < 0) {
+      return content;
+    }
 
+    Map<String, String> mentions = new HashMap<>();
     for (User user : message.getMentionedUsers()) {
-      String name = user.getName();
-      content = content
-          .replace("<@!" + user.getId() + ">", "@" + name)
-          .replace("<@" + user.getId() + ">", "@" + name);
+      mentions.put("@" + user.getId(), "@" + user.getName());
+      mentions.put("@!" + user.getId(), "@" + user.getName());
     }
 
     for (Role role : message.getMentionedRoles()) {
-      String name = role.getName();
-      content = content.replace("<@&" + role.getId() + ">", "@" + name);
+      mentions.put("@&" + role.getId(), "@" + role.getName());
     }
 
     for (GuildChannel channel : message.getMentionedChannels()) {
-      String name = channel.getName();
-      content = content.replace("<#" + channel.getId() + ">", "#" + name);
+      mentions.put("#" + channel.getId(), "#" + channel.getName());
+    }
+
+    if (mentions.isEmpty()) {
+      return content;
     }
 
-    return content;
+    StringBuilder builder = new StringBuilder(content.length());
+    int index = 0;
+    while (index < content.length()) {
+      char c = content.charAt(index);
+      if (c == '<') {
+        int end = content.indexOf('>', index + 1);
+        String replacement = end > index
+                             ? mentions.get(content.substring(index + 1, end))
+                             : null;
+        if (replacement != null) {
+          builder.append(replacement);
+          index = end + 1;
+          continue;
+        }
+      }
+
+      builder.append(c);
+      index++;
+    }
+
+    return builder.toString();
   }
 
   @SuppressWarnings("unused")
@@ -134,6 +175,11 @@ public class DiscordMessageListener {
       messageRaw = "";
     }
 
+    final BaseComponent attachment = attachmentComponent != null
+                                     ? attachmentComponent[0]
+                                     : null;
+    List<Delivery> deliveries = new ArrayList<>(minecraftChannels.size());
+    Map<String, BaseComponent> components = new HashMap<>();
     for (String minecraftChannel : minecraftChannels) {
       ChannelInfo info = channelManager.getChannels().get(minecraftChannel);
       if (info == null) {
@@ -146,33 +192,73 @@ public class DiscordMessageListener {
 
       String formattedMessage = getFormatted(info, displayName, replyName, messageRaw, minecraftChannel.toUpperCase());
       String consoleText = formattedMessage.replace("{ATTACHMENTS}", attachmentPlaceholder);
-      logger.logChannel(info.name, consoleText);
+      BaseComponent component = components.computeIfAbsent(formattedMessage, formatted -> {
+        String[] parts = formatted.split("\\{ATTACHMENTS}", 2);
+        TextComponent prefixComponent = new TextComponent(logger.color(parts[0]));
+        TextComponent suffixComponent = parts.length > 1
+                                        ? new TextComponent(logger.color(parts[1]))
+                                        : new TextComponent("");
+
+        if (attachment != null) {
+          prefixComponent.addExtra(attachment);
+        }
 
-      String[] parts = formattedMessage.split("\\{ATTACHMENTS}", 2);
-      TextComponent prefixComponent = new TextComponent(logger.color(parts[0]));
-      TextComponent suffixComponent = parts.length > 1
-                                      ? new TextComponent(logger.color(parts[1]))
-                                      : new TextComponent("");
+        prefixComponent.addExtra(suffixComponent);
+        return prefixComponent;
+      });
+
+      deliveries.add(new Delivery(info, minecraftChannel, consoleText, component));
+    }
 
-      if (attachmentComponent != null) {
-        prefixComponent.addExtra(attachmentComponent[0]);
+    if (deliveries.isEmpty()) {
+      return;
+    }
+
+    scheduler.runTask(plugin, () -> deliveries.forEach(this::deliver));
+  }
+
+  private void deliver(Delivery delivery) {
+    ChannelInfo info = delivery.info;
+    logger.logChannel(info.name, delivery.consoleText);
+
+    if (info.permission == null || info.permission.isEmpty()) {
+      for (Player player : coreManager.getCachedPlayers()) {
+        player.spigot().sendMessage(delivery.component);
       }
+      return;
+    }
 
-      prefixComponent.addExtra(suffixComponent);
+    Set<UUID> audience = channelManager.getPermissionAudience(info);
+    for (UUID uuid : audience) {
+      Player player = Bukkit.getPlayer(uuid);
+      if (player != null) {
+        player.spigot().sendMessage(delivery.component);
+      }
+    }
 
-      if (info.permission != null && !info.permission.isEmpty()) {
-        Set<UUID> subscribers = channelManager.getSubscribers(minecraftChannel);
+    for (UUID uuid : channelManager.getSubscribers(delivery.channel)) {
+      if (audience.contains(uuid)) {
+        continue;
+      }
 
-        for (Player player : Bukkit.getOnlinePlayers()) {
-          if (player.hasPermission(info.permission) || subscribers.contains(player.getUniqueId())) {
-            player.spigot().sendMessage(prefixComponent);
-          }
-        }
-      } else {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-          player.spigot().sendMessage(prefixComponent);
-        }
+      Player player = Bukkit.getPlayer(uuid);
+      if (player != null) {
+        player.spigot().sendMessage(delivery.component);
       }
     }
   }
-}
\ No newline at end of file
+
+  private static final class Delivery {
+    private final ChannelInfo info;
+    private final String channel;
+    private final String consoleText;
+    private final BaseComponent component;
+
+    private Delivery(ChannelInfo info, String channel, String consoleText, BaseComponent component) {
+      this.info = info;
+      this.channel = channel;
+      this.consoleText = consoleText;
+      this.component = component;
+    }
+  }
+}
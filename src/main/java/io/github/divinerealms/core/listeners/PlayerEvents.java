@@ -1,8 +1,8 @@
 package io.github.divinerealms.core.listeners;
 
 import fr.xephi.authme.events.LoginEvent;
-import io.github.divinerealms.core.configs.Config;
 import io.github.divinerealms.core.configs.PlayerData;
+import io.github.divinerealms.core.configs.Settings;
 import io.github.divinerealms.core.main.CoreManager;
 import io.github.divinerealms.core.managers.ChannelManager;
 import io.github.divinerealms.core.managers.ClientBlocker;
@@ -27,7 +27,6 @@ import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 import static io.github.divinerealms.core.utilities.Constants.NEWBIE_THRESHOLD_HOURS;
-import static io.github.divinerealms.core.utilities.Constants.PATH_PLAYER_MESSAGES;
 import static io.github.divinerealms.core.utilities.Permissions.PERM_ADMIN_SILENT_JOIN_QUIT;
 
 public class PlayerEvents implements Listener {
@@ -63,6 +62,10 @@ public class PlayerEvents implements Listener {
       return;
     }
 
+    if (coreManager.getProxyCheckManager().checkOnLogin(player)) {
+      return;
+    }
+
     channelManager.handlePlayerSubscriptions(player);
 
     scheduler.runTaskAsynchronously(coreManager.getPlugin(), () -> {
@@ -105,7 +108,8 @@ public class PlayerEvents implements Listener {
       });
     });
 
-    if (!Config.CONFIG.getBoolean(PATH_PLAYER_MESSAGES + "join.enabled", false)) {
+    Settings settings = coreManager.getSettings();
+    if (!settings.isJoinMessagesEnabled()) {
       return;
     }
 
@@ -115,9 +119,12 @@ public class PlayerEvents implements Listener {
 
     boolean isDiscordSRV = coreManager.isDiscordSRV();
 
-    String mcMsg = Config.CONFIG.getString(PATH_PLAYER_MESSAGES + "join.minecraft",
-        ChatColor.YELLOW + player.getName() + " has joined the server");
-    String dcMsg = Config.CONFIG.getString(PATH_PLAYER_MESSAGES + "join.discord", ":green_square: " + player.getName());
+    String mcMsg = settings.getJoinMinecraftFormat() != null
+                   ? settings.getJoinMinecraftFormat()
+                   : ChatColor.YELLOW + player.getName() + " has joined the server";
+    String dcMsg = settings.getJoinDiscordFormat() != null
+                   ? settings.getJoinDiscordFormat()
+                   : ":green_square: " + player.getName();
 
     if (coreManager.isPlaceholderAPI()) {
       mcMsg = PlaceholderAPI.setPlaceholders(player, mcMsg);
@@ -145,11 +152,13 @@ public class PlayerEvents implements Listener {
 
   @EventHandler
   public void onJoin(PlayerJoinEvent event) {
-    if (Config.CONFIG.getBoolean(PATH_PLAYER_MESSAGES + "join.enabled", false)) {
+    if (coreManager.getSettings().isJoinMessagesEnabled()) {
       event.setJoinMessage(null);
     }
 
     coreManager.getCachedPlayers().add(event.getPlayer());
+    channelManager.getMentionIndex().add(event.getPlayer());
+    channelManager.invalidateAudience();
   }
 
   @EventHandler
@@ -157,21 +166,49 @@ public class PlayerEvents implements Listener {
     Player player = event.getPlayer();
     UUID playerId = player.getUniqueId();
 
-    if (Config.CONFIG.getBoolean(PATH_PLAYER_MESSAGES + "quit.enabled", false)) {
+    Settings settings = coreManager.getSettings();
+    if (settings.isQuitMessagesEnabled()) {
       event.setQuitMessage(null);
     }
 
     coreManager.getCachedPlayers().remove(player);
+    channelManager.getMentionIndex().remove(player);
+    channelManager.removeFromAudience(playerId);
+    playtimeManager.record(player);
+    coreManager.getRostersManager().invalidateView(player.getName());
     scheduler.runTaskAsynchronously(plugin, () -> dataManager.unload(player));
     coreManager.getPlayerSettings().remove(playerId);
+    coreManager.getChatFormatCache().invalidate(playerId);
+    channelManager.evictAntiSpam(playerId);
+    coreManager.getPrivateMessagesManager().getAntiSpam().evict(playerId);
+    coreManager.getCommandManager().evictCooldowns(playerId);
+    coreManager.getProxyCheckManager().getCooldowns().evictIfIdle(playerId);
+    logger.getActionBars().forget(playerId);
+    boolean blocked = clientBlocker.shouldKick(player);
+    clientBlocker.removePlayer(player);
+
+    if (!settings.isQuitMessagesEnabled()) {
+      return;
+    }
+
+    if (player.hasPermission(PERM_ADMIN_SILENT_JOIN_QUIT)) {
+      return;
+    }
+
+    if (AuthMeHook.notAuthenticated(player)) {
+      return;
+    }
 
     boolean isDiscordSRV = coreManager.isDiscordSRV();
 
-    String mcMsg = Config.CONFIG.getString(PATH_PLAYER_MESSAGES + "quit.minecraft",
-        ChatColor.YELLOW + player.getName() + " left the server");
+    String mcMsg = settings.getQuitMinecraftFormat() != null
+                   ? settings.getQuitMinecraftFormat()
+                   : ChatColor.YELLOW + player.getName() + " left the server";
 
     String dcMsg = isDiscordSRV
-                   ? Config.CONFIG.getString(PATH_PLAYER_MESSAGES + "quit.discord", ":red_square: " + player.getName())
+                   ? (settings.getQuitDiscordFormat() != null
+                      ? settings.getQuitDiscordFormat()
+                      : ":red_square: " + player.getName())
                    : null;
 
     if (coreManager.isPlaceholderAPI()) {
@@ -193,19 +230,7 @@ public class PlayerEvents implements Listener {
                         ? ChatColor.translateAlternateColorCodes('&', dcMsg)
                         : null;
 
-    if (!Config.CONFIG.getBoolean(PATH_PLAYER_MESSAGES + "quit.enabled", false)) {
-      return;
-    }
-
-    if (player.hasPermission(PERM_ADMIN_SILENT_JOIN_QUIT)) {
-      return;
-    }
-
-    if (AuthMeHook.notAuthenticated(player)) {
-      return;
-    }
-
-    if (!clientBlocker.shouldKick(player)) {
+    if (!blocked) {
       logger.broadcast(finalMcMsg);
       if (isDiscordSRV) {
         ChannelInfo info = channelManager.getChannels().get(channelManager.getDefaultChannel());
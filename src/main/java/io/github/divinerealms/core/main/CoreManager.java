@@ -4,6 +4,7 @@ import io.github.divinerealms.core.commands.*;
 import io.github.divinerealms.core.configs.Config;
 import io.github.divinerealms.core.configs.Lang;
 import io.github.divinerealms.core.configs.PlayerData;
+import io.github.divinerealms.core.configs.Settings;
 import io.github.divinerealms.core.managers.*;
 import io.github.divinerealms.core.utilities.*;
 import lombok.Getter;
@@ -33,6 +34,9 @@ public class CoreManager {
   private final Logger logger;
   private final ConfigManager configManager;
   private final ChannelManager channelManager;
+  private final ChatFormatCache chatFormatCache;
+  private final ChatPipeline chatPipeline;
+  private final DiscordRelay discordRelay;
   private final ClientBlocker clientBlocker;
   private final ListenerManager listenerManager;
   private final ResultManager resultManager;
@@ -43,11 +47,14 @@ public class CoreManager {
   private final ActionHandler actionHandler;
   private final CommandManager commandManager;
   private final PrivateMessagesManager privateMessagesManager;
+  private final ProxyCheckManager proxyCheckManager;
   private final RostersManager rostersManager;
+  private final StatsManager statsManager;
 
   private final Set<String> registeredCommands = new HashSet<>();
   private final Set<Player> cachedPlayers = ConcurrentHashMap.newKeySet();
   private final Map<UUID, PlayerSettings> playerSettings = new ConcurrentHashMap<>();
+  private volatile Settings settings;
 
   private Chat chat;
   private LuckPerms luckPerms;
@@ -73,9 +80,13 @@ public class CoreManager {
 
     this.channelManager = new ChannelManager(this);
     this.channelManager.clearAllState();
+    this.chatFormatCache = new ChatFormatCache(this);
+    this.chatPipeline = new ChatPipeline(this);
+    this.discordRelay = new DiscordRelay(this);
     this.listenerManager = new ListenerManager(this);
-    this.clientBlocker = new ClientBlocker();
+    this.clientBlocker = new ClientBlocker(this);
     this.rostersManager = new RostersManager(this);
+    this.statsManager = new StatsManager();
     this.resultManager = new ResultManager(this);
     this.resultManager.preloadTeamMedia();
     this.dataManager = new PlayerDataManager(this);
@@ -85,6 +96,7 @@ public class CoreManager {
     this.actionHandler = new ActionHandler(this);
     this.commandManager = new CommandManager(this);
     this.privateMessagesManager = new PrivateMessagesManager(this);
+    this.proxyCheckManager = new ProxyCheckManager(this);
 
     if (placeholderAPI) {
       new Placeholders(this).register();
@@ -95,16 +107,19 @@ public class CoreManager {
 
   public void reload() {
     initializeCachedPlayers();
-    configManager.reloadAllConfigs();
-    setupConfig();
-    setupMessages();
+    reloadConfigs();
     channelManager.reloadAll();
+    chatFormatCache.reload();
+    chatPipeline.reload();
+    discordRelay.reload();
+    dataManager.reload();
     registerCommands();
     commandManager.reloadCommands();
     getListenerManager().registerAll();
     guiManager.reloadMenus();
     bookManager.reloadBooks();
     rostersManager.reloadRosters();
+    privateMessagesManager.reload();
     List<UUID> onlinePlayers = cachedPlayers.stream().map(Player::getUniqueId).collect(Collectors.toList());
     scheduler.runTaskAsynchronously(plugin, () -> onlinePlayers.forEach(uuid -> {
       Player asyncPlayer = plugin.getServer().getPlayer(uuid);
@@ -122,10 +137,20 @@ public class CoreManager {
     }));
   }
 
+  /**
+   * Reads every config file again and republishes the {@link Settings} snapshot built from {@code config.yml}.
+   */
+  public void reloadConfigs() {
+    configManager.reloadAllConfigs();
+    setupConfig();
+    setupMessages();
+  }
+
   private void initializeCachedPlayers() {
     Collection<? extends Player> onlinePlayers = Bukkit.getOnlinePlayers();
     cachedPlayers.clear();
     cachedPlayers.addAll(onlinePlayers);
+    channelManager.getMentionIndex().reset(onlinePlayers);
   }
 
   public void registerCommands() {
@@ -270,6 +295,7 @@ public class CoreManager {
 
     file.options().copyDefaults(true);
     configManager.saveConfig("config.yml");
+    settings = Settings.load();
   }
 
   private void setupMessages() {
@@ -350,9 +376,12 @@ public class CoreManager {
   }
 
   public void saveAll() {
-    rostersManager.saveRosters();
     configManager.saveAll();
-    dataManager.saveAll();
+    rostersManager.saveRosters();
+    dataManager.shutdown();
+    playtimeManager.shutdown();
+    resultManager.shutdown();
+    proxyCheckManager.shutdown();
   }
 
   private void sendBanner() {
@@ -6,12 +6,13 @@ import io.github.divinerealms.core.configs.Config;
 import io.github.divinerealms.core.main.CoreManager;
 import io.github.divinerealms.core.utilities.ChannelFormats;
 import io.github.divinerealms.core.utilities.ChannelInfo;
+import io.github.divinerealms.core.utilities.ChatTemplate;
 import io.github.divinerealms.core.utilities.Logger;
+import io.github.divinerealms.core.utilities.MentionIndex;
+import io.github.divinerealms.core.utilities.RateLimiter;
 import lombok.Getter;
 import lombok.Setter;
-import me.clip.placeholderapi.PlaceholderAPI;
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
@@ -26,7 +27,9 @@ public class ChannelManager {
   private final CoreManager coreManager;
   private final Logger logger;
 
-  private final Map<UUID, Set<String>> playerChannels = new HashMap<>();
+  private final Map<UUID, Set<String>> playerChannels = new ConcurrentHashMap<>();
+  private final Map<String, Set<UUID>> channelSubscribers = new ConcurrentHashMap<>();
+  private final Map<String, Set<UUID>> permissionAudience = new ConcurrentHashMap<>();
   @Getter
   private final Set<String> disabledChannels = new HashSet<>();
   @Getter
@@ -36,15 +39,12 @@ public class ChannelManager {
   private final Map<String, ChannelInfo> channels = new HashMap<>();
   private final Map<UUID, String> lastActiveChannel = new ConcurrentHashMap<>();
   private final Map<UUID, String> lastChannelUsed = new ConcurrentHashMap<>();
-  @Getter
-  private final ConcurrentHashMap<UUID, Integer> mcMessageCount = new ConcurrentHashMap<>();
-  @Getter
-  private final ConcurrentHashMap<UUID, Long> mcLastMessageTime = new ConcurrentHashMap<>();
-  @Getter
-  private final Map<String, String> discordLastMessage = new ConcurrentHashMap<>();
+  private final Map<String, RateLimiter> channelAntiSpam = new ConcurrentHashMap<>();
   @Getter
   private final Set<UUID> socialSpy = ConcurrentHashMap.newKeySet();
   @Getter
+  private final MentionIndex mentionIndex = new MentionIndex();
+  @Getter
   @Setter
   private String defaultChannel = "global";
   @Getter
@@ -54,9 +54,7 @@ public class ChannelManager {
   @Getter
   private String mentionSound;
   @Getter
-  private int mcMaxMessages;
-  @Getter
-  private long mcCooldownMs;
+  private RateLimiter antiSpam = new RateLimiter(RateLimiter.Mode.SLIDING_WINDOW, 5, 2500);
 
   public ChannelManager(CoreManager coreManager) {
     this.coreManager = coreManager;
@@ -69,18 +67,47 @@ public class ChannelManager {
 
   public void clearAllState() {
     playerChannels.clear();
+    channelSubscribers.clear();
+    permissionAudience.clear();
     disabledChannels.clear();
     discordIdToMinecraft.clear();
     lastActiveChannel.clear();
     lastChannelUsed.clear();
-    mcMessageCount.clear();
-    mcLastMessageTime.clear();
-    discordLastMessage.clear();
+    antiSpam.clear();
+    channelAntiSpam.clear();
     socialSpy.clear();
   }
 
   public Set<String> getChannels(UUID uuid) {
-    return playerChannels.getOrDefault(uuid, new HashSet<>());
+    Set<String> channels = playerChannels.get(uuid);
+    return channels != null
+           ? Collections.unmodifiableSet(channels)
+           : Collections.emptySet();
+  }
+
+  public RateLimiter getAntiSpam(String channel) {
+    RateLimiter limiter = channelAntiSpam.get(channel);
+    return limiter != null
+           ? limiter
+           : antiSpam;
+  }
+
+  public void evictAntiSpam(UUID uuid) {
+    antiSpam.evict(uuid);
+    channelAntiSpam.values().forEach(limiter -> limiter.evict(uuid));
+  }
+
+  /**
+   * Reads a limiter from the config, keeping {@code current} and the windows it tracks if nothing changed.
+   */
+  private RateLimiter loadAntiSpam(String path, RateLimiter current, RateLimiter.Mode mode, int maxMessages,
+                                   long cooldown) {
+    RateLimiter.Mode configuredMode = RateLimiter.Mode.parse(Config.CONFIG.getString(path + ".mode"), mode);
+    int configuredMessages = Config.CONFIG.getInt(path + ".max-messages", maxMessages);
+    long configuredCooldown = Config.CONFIG.getLong(path + ".cooldown", cooldown);
+    return current != null && current.matches(configuredMode, configuredMessages, configuredCooldown)
+           ? current
+           : new RateLimiter(configuredMode, configuredMessages, configuredCooldown);
   }
 
   public void setLastActiveChannel(UUID uuid, String channelName) {
@@ -118,13 +145,10 @@ public class ChannelManager {
   }
 
   public boolean switchChannel(UUID uuid, String channel) {
-    Set<String> channels = playerChannels.computeIfAbsent(uuid, k -> new HashSet<>());
+    Set<String> channels = playerChannels.get(uuid);
 
-    if (channels.contains(channel)) {
-      channels.remove(channel);
-      if (channels.isEmpty()) {
-        playerChannels.remove(uuid);
-      }
+    if (channels != null && channels.contains(channel)) {
+      unsubscribe(uuid, channel);
 
       if (lastActiveChannel.containsKey(uuid) && lastActiveChannel.get(uuid).equalsIgnoreCase(channel)) {
         setLastActiveChannel(uuid, defaultChannel);
@@ -132,14 +156,15 @@ public class ChannelManager {
 
       return false;
     } else {
-      channels.add(channel);
+      subscribe(uuid, channel);
       setLastActiveChannel(uuid, channel);
       return true;
     }
   }
 
   public void subscribe(UUID uuid, String channel) {
-    playerChannels.computeIfAbsent(uuid, k -> new HashSet<>()).add(channel);
+    playerChannels.computeIfAbsent(uuid, k -> ConcurrentHashMap.newKeySet()).add(channel);
+    channelSubscribers.computeIfAbsent(channel, k -> ConcurrentHashMap.newKeySet()).add(uuid);
   }
 
   public void unsubscribe(UUID uuid, String channel) {
@@ -150,17 +175,46 @@ public class ChannelManager {
         playerChannels.remove(uuid);
       }
     }
+
+    Set<UUID> subscribers = channelSubscribers.get(channel);
+    if (subscribers != null) {
+      subscribers.remove(uuid);
+    }
   }
 
   public Set<UUID> getSubscribers(String channel) {
-    String lowerChannel = channel.toLowerCase();
-    Set<UUID> subscribers = new HashSet<>();
-    for (Map.Entry<UUID, Set<String>> entry : playerChannels.entrySet()) {
-      if (entry.getValue().contains(lowerChannel)) {
-        subscribers.add(entry.getKey());
-      }
+    Set<UUID> subscribers = channelSubscribers.get(channel.toLowerCase());
+    return subscribers != null
+           ? Collections.unmodifiableSet(subscribers)
+           : Collections.emptySet();
+  }
+
+  /**
+   * Returns the online players holding the channel's permission, computed once and reused until a
+   * join, quit, permission change or reload invalidates it. Must be called on the main thread.
+   */
+  public Set<UUID> getPermissionAudience(ChannelInfo info) {
+    if (info.permission == null || info.permission.isEmpty()) {
+      return Collections.emptySet();
     }
-    return subscribers;
+
+    return permissionAudience.computeIfAbsent(info.name, name -> {
+      Set<UUID> audience = ConcurrentHashMap.newKeySet();
+      for (Player player : coreManager.getCachedPlayers()) {
+        if (player.hasPermission(info.permission)) {
+          audience.add(player.getUniqueId());
+        }
+      }
+      return audience;
+    });
+  }
+
+  public void invalidateAudience() {
+    permissionAudience.clear();
+  }
+
+  public void removeFromAudience(UUID uuid) {
+    permissionAudience.values().forEach(audience -> audience.remove(uuid));
   }
 
   public boolean toggleChannel(String channel) {
@@ -199,8 +253,8 @@ public class ChannelManager {
     mentionsEnabled = Config.CONFIG.getBoolean("channels.mentions.enabled", true);
     mentionColor = Config.CONFIG.getString("channels.mentions.format", "&e");
     mentionSound = Config.CONFIG.getString("channels.mentions.sound", "LEVEL_UP");
-    mcMaxMessages = Config.CONFIG.getInt("channels.anti-spam.max-messages", 5);
-    mcCooldownMs = Config.CONFIG.getLong("channels.anti-spam.cooldown", 2500);
+    antiSpam = loadAntiSpam("channels.anti-spam", antiSpam, RateLimiter.Mode.SLIDING_WINDOW, 5, 2500);
+    Set<String> limitedChannels = new HashSet<>();
 
     if (Config.CONFIG.isConfigurationSection("channels.list")) {
       for (String key : Config.CONFIG.getConfigurationSection("channels.list").getKeys(false)) {
@@ -227,17 +281,25 @@ public class ChannelManager {
         );
 
         channels.put(key, info);
+        if (Config.CONFIG.isConfigurationSection(path + ".anti-spam")) {
+          channelAntiSpam.put(key, loadAntiSpam(path + ".anti-spam", channelAntiSpam.get(key), antiSpam.getMode(),
+              antiSpam.getPermits(), antiSpam.getWindowMillis()));
+          limitedChannels.add(key);
+        }
         if (discordId != null && !discordId.isEmpty()) {
           discordIdToMinecraft.computeIfAbsent(discordId, k -> new ArrayList<>()).add(key);
         }
       }
     }
 
-    for (UUID uuid : new HashSet<>(playerChannels.keySet())) {
-      Set<String> subs = playerChannels.get(uuid);
+    channelAntiSpam.keySet().retainAll(limitedChannels);
+    channelSubscribers.keySet().removeIf(channel -> !channels.containsKey(channel));
+    permissionAudience.clear();
+    for (Map.Entry<UUID, Set<String>> entry : playerChannels.entrySet()) {
+      Set<String> subs = entry.getValue();
       subs.removeIf(channel -> !channels.containsKey(channel));
       if (subs.isEmpty()) {
-        subs.add(defaultChannel);
+        subscribe(entry.getKey(), defaultChannel);
       }
     }
 
@@ -269,11 +331,7 @@ public class ChannelManager {
     }
 
     if (player == null) {
-      String formatted = info.formats.minecraftChat
-          .replace("%player_name", "&cConsole")
-          .replace("%essentials_nickname%", "&cConsole")
-          .replace("%message%", message)
-          .replaceAll("%[^%]+%", "").trim();
+      String formatted = info.formats.minecraftChatTemplate.render(this::resolveConsoleToken, message).trim();
 
       logger.send(info.permission, formatted);
 
@@ -289,11 +347,12 @@ public class ChannelManager {
       return;
     }
 
-    String formattedMessage = formatChat(player, info.formats.minecraftChat, message, true);
+    String formattedMessage = formatChat(player, info.formats.minecraftChatTemplate, message, true);
     boolean isSenderSubscribed = getChannels(player.getUniqueId()).contains(channel);
     boolean isBroadcast = info.broadcast;
     boolean hasPermission =
         info.permission != null && !info.permission.isEmpty() && player.hasPermission(info.permission);
+    Set<UUID> subscribers = getSubscribers(channel);
 
     socialSpy.forEach(spyUUID -> {
       if (spyUUID.equals(player.getUniqueId())) {
@@ -309,11 +368,11 @@ public class ChannelManager {
         return;
       }
 
-      if (getSubscribers(channel).contains(spyUUID)) {
+      if (subscribers.contains(spyUUID)) {
         return;
       }
 
-      String senderName = coreManager.getChat().getPlayerPrefix(player) + player.getDisplayName();
+      String senderName = coreManager.getChatFormatCache().getChatPrefix(player) + player.getDisplayName();
       logger.send(spy, CHANNEL_SPY_FORMAT, channel.toUpperCase(), senderName, message);
     });
 
@@ -326,7 +385,6 @@ public class ChannelManager {
       logger.broadcast(formattedMessage);
     } else {
       if (isSenderSubscribed) {
-        Set<UUID> subscribers = getSubscribers(channel);
         subscribers.stream().map(Bukkit::getPlayer).filter(Objects::nonNull).forEach(
             p -> logger.send(p, formattedMessage));
 
@@ -341,27 +399,57 @@ public class ChannelManager {
     }
 
     if (info.formats.minecraftToDiscord != null && !info.formats.minecraftToDiscord.isEmpty()) {
-      sendToDiscord(info, formatChat(player, info.formats.minecraftToDiscord, message, false));
+      sendToDiscord(info, formatChat(player, info.formats.minecraftToDiscordTemplate, message, false));
     }
   }
 
-  public String formatChat(Player player, String format, String message, boolean colorMessage) {
-    String formatted = format.replace("%message%", "{MESSAGE}");
+  public String formatChat(Player player, ChatTemplate template, String message, boolean colorMessage) {
+    String msgPart = colorMessage && player != null && player.hasPermission(PERM_CHAT_COLOR)
+                     ? logger.color(message)
+                     : message;
+
+    return renderChat(player, template, msgPart);
+  }
+
+  public String renderChat(Player player, ChatTemplate template, String message) {
+    return template.render(token -> resolveToken(player, token), message);
+  }
 
-    if (player != null && coreManager.isPlaceholderAPI()) {
-      formatted = PlaceholderAPI.setPlaceholders(player, formatted);
-      if (formatted.contains("%")) {
-        formatted = PlaceholderAPI.setPlaceholders(player, formatted);
-      }
+  /**
+   * Resolves every slot of the template for the player up front, so the line can later be rendered with
+   * {@link ChatTemplate#render} from any thread without touching PlaceholderAPI.
+   */
+  public Map<String, String> resolveTokens(Player player, ChatTemplate template) {
+    Map<String, String> resolved = new HashMap<>();
+    for (String token : template.getSlots()) {
+      resolved.put(token, resolveToken(player, token));
+    }
+    return resolved;
+  }
+
+  private String resolveToken(Player player, String token) {
+    if (token.equals("{prefix-host}")) {
+      return coreManager.getResultManager() != null
+             ? coreManager.getResultManager().getHostPrefix(player)
+             : "";
     }
 
-    formatted = logger.color(formatted);
+    if (token.charAt(0) != '%' || player == null || !coreManager.isPlaceholderAPI()) {
+      return null;
+    }
 
-    String msgPart = colorMessage && player != null && player.hasPermission(PERM_CHAT_COLOR)
-                     ? logger.color(message)
-                     : message;
+    return coreManager.getChatFormatCache().getPlaceholder(player, token);
+  }
+
+  private String resolveConsoleToken(String token) {
+    switch (token) {
+      case "%player_name%":
+      case "%essentials_nickname%":
+        return "&cConsole";
 
-    return formatted.replace("{MESSAGE}", msgPart);
+      default:
+        return "";
+    }
   }
 
   public void sendToDiscord(ChannelInfo channelInfo, String message) {
@@ -380,23 +468,12 @@ public class ChannelManager {
       return;
     }
 
-    TextChannel discordChannel = DiscordSRV.getPlugin().getJda().getTextChannelById(discordId);
-    if (discordChannel == null) {
-      return;
-    }
-
     TextChannel consoleChannel = DiscordSRV.getPlugin().getConsoleChannel();
     if (consoleChannel != null && consoleChannel.getId().equals(discordId)) {
       return;
     }
 
-    String lastMessage = discordLastMessage.get(discordId);
-    if (lastMessage != null && lastMessage.equalsIgnoreCase(message)) {
-      return;
-    }
-
-    discordChannel.sendMessage(ChatColor.stripColor(message)).queue();
-    discordLastMessage.put(discordId, message);
+    coreManager.getDiscordRelay().enqueue(discordId, message, true);
   }
 
   public void createRosterChannel(String rosterChannelName, String discordId) {
@@ -0,0 +1,228 @@
+package io.github.divinerealms.core.managers;
+
+import io.github.divinerealms.core.configs.Config;
+import io.github.divinerealms.core.main.CoreManager;
+import lombok.Getter;
+import me.clip.placeholderapi.PlaceholderAPI;
+import net.luckperms.api.LuckPerms;
+import net.luckperms.api.event.EventSubscription;
+import net.luckperms.api.event.user.UserDataRecalculateEvent;
+import net.luckperms.api.model.user.User;
+import org.bukkit.entity.Player;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the per-player parts of chat formatting that change rarely: the format header placeholders
+ * listed in {@code channels.format_cache.placeholders} (prefix, nickname, roster tag), the Vault chat
+ * prefix used by social spy and private messages, and the mention colour. Any other placeholder in a
+ * format is resolved for every message.
+ * <p>
+ * Entries are dropped when LuckPerms recalculates a user's data, when roster membership changes,
+ * on {@code /core reload}, on quit, and after the configured TTL as a safety net for placeholders
+ * that change without notice.
+ */
+public class ChatFormatCache {
+  private final CoreManager coreManager;
+  private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  private EventSubscription<UserDataRecalculateEvent> recalculateSubscription;
+  @Getter
+  private boolean enabled = true;
+  private long ttlNanos = TimeUnit.SECONDS.toNanos(60);
+  private volatile Set<String> cachedPlaceholders = new HashSet<>();
+
+  public ChatFormatCache(CoreManager coreManager) {
+    this.coreManager = coreManager;
+
+    LuckPerms luckPerms = coreManager.getLuckPerms();
+    if (luckPerms != null) {
+      this.recalculateSubscription = luckPerms.getEventBus().subscribe(coreManager.getPlugin(),
+          UserDataRecalculateEvent.class, event -> {
+            invalidate(event.getUser().getUniqueId());
+            coreManager.getChannelManager().invalidateAudience();
+          });
+    }
+  }
+
+  public void reload() {
+    enabled = Config.CHANNELS_FORMAT_CACHE_ENABLED.getValue(Boolean.class);
+    ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(1, Config.CHANNELS_FORMAT_CACHE_TTL.getValue(Integer.class)));
+    Set<String> placeholders = new HashSet<>();
+    for (Object placeholder : Config.CHANNELS_FORMAT_CACHE_PLACEHOLDERS.getValue(List.class)) {
+      placeholders.add(String.valueOf(placeholder).trim().toLowerCase());
+    }
+    cachedPlaceholders = placeholders;
+    invalidateAll();
+    hits.reset();
+    misses.reset();
+  }
+
+  public void shutdown() {
+    if (recalculateSubscription != null) {
+      recalculateSubscription.close();
+      recalculateSubscription = null;
+    }
+
+    entries.clear();
+  }
+
+  public String getPlaceholder(Player player, String token) {
+    if (!enabled || !cachedPlaceholders.contains(token.toLowerCase())) {
+      return resolvePlaceholder(player, token);
+    }
+
+    Entry entry = entry(player.getUniqueId());
+    String value = entry.placeholders.get(token);
+    if (value != null) {
+      hits.increment();
+      return value;
+    }
+
+    misses.increment();
+    value = resolvePlaceholder(player, token);
+    entry.placeholders.put(token, value);
+    return value;
+  }
+
+  public String getChatPrefix(Player player) {
+    if (!enabled) {
+      return resolveChatPrefix(player);
+    }
+
+    Entry entry = entry(player.getUniqueId());
+    String value = entry.chatPrefix;
+    if (value != null) {
+      hits.increment();
+      return value;
+    }
+
+    misses.increment();
+    value = resolveChatPrefix(player);
+    entry.chatPrefix = value;
+    return value;
+  }
+
+  public String getMentionColor(Player player) {
+    if (!enabled) {
+      return resolveMentionColor(player);
+    }
+
+    Entry entry = entry(player.getUniqueId());
+    String value = entry.mentionColor;
+    if (value != null) {
+      hits.increment();
+      return value;
+    }
+
+    misses.increment();
+    value = resolveMentionColor(player);
+    entry.mentionColor = value;
+    return value;
+  }
+
+  public void invalidate(UUID uuid) {
+    entries.remove(uuid);
+  }
+
+  public void invalidate(String playerName) {
+    Player player = coreManager.getPlugin().getServer().getPlayerExact(playerName);
+    if (player != null) {
+      invalidate(player.getUniqueId());
+    }
+  }
+
+  public void invalidateAll() {
+    entries.clear();
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public double getHitRate() {
+    long hitCount = hits.sum();
+    long total = hitCount + misses.sum();
+    return total == 0
+           ? 0D
+           : (double) hitCount / total;
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  private Entry entry(UUID uuid) {
+    long now = System.nanoTime();
+    Entry entry = entries.get(uuid);
+    if (entry == null || now - entry.createdAt > ttlNanos) {
+      entry = new Entry(now);
+      entries.put(uuid, entry);
+    }
+    return entry;
+  }
+
+  private String resolvePlaceholder(Player player, String token) {
+    if (!coreManager.isPlaceholderAPI()) {
+      return token;
+    }
+
+    String resolved = PlaceholderAPI.setPlaceholders(player, token);
+    if (resolved.contains("%")) {
+      resolved = PlaceholderAPI.setPlaceholders(player, resolved);
+    }
+    return resolved;
+  }
+
+  private String resolveChatPrefix(Player player) {
+    String prefix = coreManager.getChat() != null
+                    ? coreManager.getChat().getPlayerPrefix(player)
+                    : null;
+    return prefix != null
+           ? prefix
+           : "";
+  }
+
+  private String resolveMentionColor(Player player) {
+    LuckPerms luckPerms = coreManager.getLuckPerms();
+    User user = luckPerms != null
+                ? luckPerms.getUserManager().getUser(player.getUniqueId())
+                : null;
+    String prefix = user != null
+                    ? user.getCachedData().getMetaData().getPrefix()
+                    : null;
+    if (prefix != null) {
+      return prefix;
+    }
+
+    String fallback = coreManager.getChannelManager().getMentionColor();
+    return fallback != null && !fallback.isEmpty()
+           ? fallback
+           : "&7";
+  }
+
+  private static final class Entry {
+    private final long createdAt;
+    private final Map<String, String> placeholders = new ConcurrentHashMap<>();
+    private volatile String chatPrefix;
+    private volatile String mentionColor;
+
+    private Entry(long createdAt) {
+      this.createdAt = createdAt;
+    }
+  }
+}
@@ -0,0 +1,378 @@
+package io.github.divinerealms.core.managers;
+
+import io.github.divinerealms.core.configs.Config;
+import io.github.divinerealms.core.main.CoreManager;
+import io.github.divinerealms.core.utilities.ChannelInfo;
+import io.github.divinerealms.core.utilities.Logger;
+import io.github.divinerealms.core.utilities.MentionIndex;
+import io.github.divinerealms.core.utilities.PlayerSettings;
+import lombok.Getter;
+import me.clip.placeholderapi.PlaceholderAPI;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Sound;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+import static io.github.divinerealms.core.configs.Lang.CHANNEL_SPY_FORMAT;
+import static io.github.divinerealms.core.configs.Lang.MENTION;
+import static io.github.divinerealms.core.utilities.Permissions.PERM_CHAT_COLOR;
+
+/**
+ * Runs a channel chat message through three stages: a snapshot taken on the main thread, formatting on a
+ * bounded worker pool, and delivery back on the main thread, batched once per tick in the order messages
+ * were sent. The snapshot already holds everything that touches Bukkit or other plugins: permissions,
+ * subscriptions, resolved placeholders and chat prefix, and the mentioned players with their colours and
+ * sound settings, so the workers only splice and render strings.
+ * <p>
+ * With {@code channels.pipeline.mode} set to {@code SYNC} every stage runs in the same main-thread task.
+ */
+public class ChatPipeline {
+  private final CoreManager coreManager;
+  private final Plugin plugin;
+  private final BukkitScheduler scheduler;
+  private final Logger logger;
+  private final ChannelManager channelManager;
+
+  private final Queue<Delivery> completed = new ConcurrentLinkedQueue<>();
+  private final PriorityQueue<Delivery> pending = new PriorityQueue<>(
+      Comparator.comparingLong(delivery -> delivery.sequence));
+  private long nextSequence = 0;
+  private long nextDelivery = 0;
+
+  private ThreadPoolExecutor workers;
+  private BukkitTask flushTask;
+  @Getter
+  private boolean async = false;
+
+  public ChatPipeline(CoreManager coreManager) {
+    this.coreManager = coreManager;
+    this.plugin = coreManager.getPlugin();
+    this.scheduler = plugin.getServer().getScheduler();
+    this.logger = coreManager.getLogger();
+    this.channelManager = coreManager.getChannelManager();
+  }
+
+  public void reload() {
+    shutdown();
+
+    async = "ASYNC".equalsIgnoreCase(Config.CHANNELS_PIPELINE_MODE.getValue(String.class));
+    if (!async) {
+      return;
+    }
+
+    int threads = Math.max(1, Config.CHANNELS_PIPELINE_WORKERS.getValue(Integer.class));
+    int capacity = Math.max(1, Config.CHANNELS_PIPELINE_QUEUE_SIZE.getValue(Integer.class));
+    AtomicInteger threadId = new AtomicInteger();
+
+    workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(capacity), runnable -> {
+      Thread thread = new Thread(runnable, "Core-Chat-" + threadId.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    flushTask = scheduler.runTaskTimer(plugin, this::flush, 1L, 1L);
+  }
+
+  public void shutdown() {
+    if (flushTask != null) {
+      flushTask.cancel();
+      flushTask = null;
+    }
+
+    if (workers == null) {
+      return;
+    }
+
+    workers.shutdown();
+    try {
+      if (!workers.awaitTermination(2, TimeUnit.SECONDS)) {
+        workers.shutdownNow();
+      }
+    } catch (InterruptedException exception) {
+      workers.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+    workers = null;
+
+    drain();
+  }
+
+  public int getQueueDepth() {
+    return workers != null
+           ? workers.getQueue().size() + completed.size() + pending.size()
+           : 0;
+  }
+
+  public void submit(Player player, ChannelInfo info, String channel, boolean isSenderSubscribed, String message) {
+    scheduler.runTask(plugin, () -> {
+      Snapshot snapshot = snapshot(player, info, channel, isSenderSubscribed, message);
+
+      if (workers == null) {
+        deliver(process(snapshot));
+        return;
+      }
+
+      snapshot.sequence = nextSequence++;
+      try {
+        workers.execute(() -> completed.add(process(snapshot)));
+      } catch (RejectedExecutionException exception) {
+        completed.add(process(snapshot));
+      }
+    });
+  }
+
+  private Snapshot snapshot(Player player, ChannelInfo info, String channel, boolean isSenderSubscribed,
+                            String message) {
+    Snapshot snapshot = new Snapshot(player, player.getName(), player.getDisplayName(), info, channel,
+        isSenderSubscribed, message, player.hasPermission(PERM_CHAT_COLOR));
+
+    boolean fcMatchesEnabled = coreManager.isPlaceholderAPI() &&
+                               PlaceholderAPI.setPlaceholders(null, "%fc_enabled%").equals("YES");
+    if (channelManager.isMentionsEnabled() && fcMatchesEnabled) {
+      try {
+        snapshot.mentionSound = Sound.valueOf(channelManager.getMentionSound().toUpperCase());
+      } catch (IllegalArgumentException ignored) {
+        snapshot.mentionSound = Sound.ORB_PICKUP;
+      }
+
+      Set<UUID> mentionedPlayers = new HashSet<>();
+      for (MentionIndex.Match match : channelManager.getMentionIndex().find(message)) {
+        Player target = match.player;
+        if (!channel.equals(channelManager.getActiveChannel(target))) {
+          continue;
+        }
+
+        snapshot.mentions.add(match);
+        if (mentionedPlayers.add(target.getUniqueId())) {
+          PlayerSettings settings = coreManager.getPlayerSettings(target);
+          snapshot.mentioned.add(new Mention(target, settings != null && settings.isMentionSoundEnabled()));
+          snapshot.mentionColors.put(target.getUniqueId(),
+              logger.color(coreManager.getChatFormatCache().getMentionColor(target)));
+        }
+      }
+    }
+
+    Set<UUID> subscribers = channelManager.getSubscribers(channel);
+    if (!info.broadcast) {
+      for (UUID spyUUID : channelManager.getSocialSpy()) {
+        if (spyUUID.equals(player.getUniqueId()) || subscribers.contains(spyUUID)) {
+          continue;
+        }
+
+        Player spy = Bukkit.getPlayer(spyUUID);
+        if (spy != null) {
+          snapshot.spies.add(spy);
+        }
+      }
+
+      if (isSenderSubscribed) {
+        for (UUID subscriber : subscribers) {
+          Player recipient = Bukkit.getPlayer(subscriber);
+          if (recipient != null) {
+            snapshot.recipients.add(recipient);
+          }
+        }
+      }
+    }
+
+    snapshot.chatTokens = channelManager.resolveTokens(player, info.formats.minecraftChatTemplate);
+    if (!snapshot.spies.isEmpty()) {
+      snapshot.chatPrefix = coreManager.getChatFormatCache().getChatPrefix(player);
+    }
+
+    snapshot.toDiscord = coreManager.isDiscordSRV() && info.formats.minecraftToDiscord != null &&
+                         !info.formats.minecraftToDiscord.isEmpty();
+    if (snapshot.toDiscord) {
+      snapshot.discordTokens = channelManager.resolveTokens(player, info.formats.minecraftToDiscordTemplate);
+    }
+    return snapshot;
+  }
+
+  /**
+   * Always returns a delivery, even an empty one, since {@link #flush()} waits for every sequence in turn.
+   */
+  private Delivery process(Snapshot snapshot) {
+    try {
+      return render(snapshot);
+    } catch (Throwable exception) {
+      plugin.getLogger().log(Level.WARNING, "Failed to process chat message from " + snapshot.senderName,
+          exception);
+      return new Delivery(snapshot);
+    }
+  }
+
+  private Delivery render(Snapshot snapshot) {
+    Delivery delivery = new Delivery(snapshot);
+    String messageToSend = snapshot.message;
+
+    if (!snapshot.mentions.isEmpty()) {
+      messageToSend = MentionIndex.splice(messageToSend, snapshot.mentions, match ->
+          snapshot.mentionColors.get(match.player.getUniqueId()) + "@" + match.name + ChatColor.RESET);
+    }
+
+    String messagePart = snapshot.colorAllowed
+                         ? logger.color(messageToSend)
+                         : messageToSend;
+    ChannelInfo info = snapshot.info;
+    delivery.formatted = info.formats.minecraftChatTemplate.render(snapshot.chatTokens::get, messagePart);
+    delivery.playerLine = logger.formatMessage(delivery.formatted);
+
+    if (!snapshot.spies.isEmpty()) {
+      String senderName = snapshot.chatPrefix + snapshot.displayName;
+      delivery.spyLine = CHANNEL_SPY_FORMAT.replace(snapshot.channel.toUpperCase(), senderName, delivery.formatted);
+    }
+
+    if (snapshot.toDiscord) {
+      delivery.discordLine = info.formats.minecraftToDiscordTemplate.render(snapshot.discordTokens::get,
+          snapshot.message);
+    }
+
+    return delivery;
+  }
+
+  /**
+   * Delivers completed messages in order. A message finished by a worker that outlived a reload has a
+   * sequence below {@code nextDelivery}; it is delivered as soon as it shows up instead of blocking the queue.
+   */
+  private void flush() {
+    Delivery delivery;
+    while ((delivery = completed.poll()) != null) {
+      pending.add(delivery);
+    }
+
+    while (!pending.isEmpty() && pending.peek().sequence <= nextDelivery) {
+      Delivery next = pending.poll();
+      deliver(next);
+      if (next.sequence == nextDelivery) {
+        nextDelivery++;
+      }
+    }
+  }
+
+  private void drain() {
+    Delivery delivery;
+    while ((delivery = completed.poll()) != null) {
+      pending.add(delivery);
+    }
+
+    while (!pending.isEmpty()) {
+      deliver(pending.poll());
+    }
+
+    nextDelivery = nextSequence;
+  }
+
+  private void deliver(Delivery delivery) {
+    if (delivery.formatted == null) {
+      return;
+    }
+
+    Snapshot snapshot = delivery.snapshot;
+    ChannelInfo info = snapshot.info;
+
+    try {
+      for (Mention mention : snapshot.mentioned) {
+        if (!mention.player.isOnline()) {
+          continue;
+        }
+
+        logger.sendActionBar(mention.player, MENTION, snapshot.senderName);
+        if (mention.soundEnabled) {
+          mention.player.playSound(mention.player.getLocation(), snapshot.mentionSound, 1.0F, 1.0F);
+        }
+      }
+
+      if (delivery.spyLine != null) {
+        for (Player spy : snapshot.spies) {
+          spy.sendMessage(delivery.spyLine);
+        }
+      }
+
+      if (info.broadcast) {
+        plugin.getServer().broadcastMessage(logger.color(delivery.formatted));
+      } else {
+        if (snapshot.isSenderSubscribed) {
+          for (Player recipient : snapshot.recipients) {
+            recipient.sendMessage(delivery.playerLine);
+          }
+          logger.logChannel(info.name, delivery.formatted);
+        } else {
+          logger.send(info.permission, delivery.formatted);
+        }
+      }
+
+      if (delivery.discordLine != null) {
+        channelManager.sendToDiscord(info, delivery.discordLine);
+      }
+    } catch (Exception exception) {
+      plugin.getLogger().log(Level.WARNING, "Failed to deliver chat message from " + snapshot.senderName,
+          exception);
+    }
+  }
+
+  private static final class Snapshot {
+    private final Player player;
+    private final String senderName;
+    private final String displayName;
+    private final ChannelInfo info;
+    private final String channel;
+    private final boolean isSenderSubscribed;
+    private final String message;
+    private final boolean colorAllowed;
+    private final List<Player> spies = new ArrayList<>();
+    private final List<Player> recipients = new ArrayList<>();
+    private final List<MentionIndex.Match> mentions = new ArrayList<>();
+    private final List<Mention> mentioned = new ArrayList<>();
+    private final Map<UUID, String> mentionColors = new HashMap<>();
+    private Map<String, String> chatTokens = Collections.emptyMap();
+    private Map<String, String> discordTokens = Collections.emptyMap();
+    private String chatPrefix = "";
+    private Sound mentionSound;
+    private boolean toDiscord;
+    private long sequence;
+
+    private Snapshot(Player player, String senderName, String displayName, ChannelInfo info, String channel,
+                     boolean isSenderSubscribed, String message, boolean colorAllowed) {
+      this.player = player;
+      this.senderName = senderName;
+      this.displayName = displayName;
+      this.info = info;
+      this.channel = channel;
+      this.isSenderSubscribed = isSenderSubscribed;
+      this.message = message;
+      this.colorAllowed = colorAllowed;
+    }
+  }
+
+  private static final class Mention {
+    private final Player player;
+    private final boolean soundEnabled;
+
+    private Mention(Player player, boolean soundEnabled) {
+      this.player = player;
+      this.soundEnabled = soundEnabled;
+    }
+  }
+
+  private static final class Delivery {
+    private final Snapshot snapshot;
+    private final long sequence;
+    private String formatted;
+    private String playerLine;
+    private String spyLine;
+    private String discordLine;
+
+    private Delivery(Snapshot snapshot) {
+      this.snapshot = snapshot;
+      this.sequence = snapshot.sequence;
+    }
+  }
+}
@@ -1,23 +1,35 @@
 package io.github.divinerealms.core.managers;
 
-import io.github.divinerealms.core.configs.Config;
+import io.github.divinerealms.core.configs.Settings;
+import io.github.divinerealms.core.main.CoreManager;
 import lombok.Getter;
 import org.bukkit.entity.Player;
 
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static io.github.divinerealms.core.utilities.Permissions.PERM_CLIENT_BLOCKER_BYPASS;
 
+/**
+ * Kicks players whose client brand is not allowed.
+ * <p>
+ * Brands arrive on the netty thread, so they are kept by UUID in a concurrent map together with the
+ * verdict, which is worked out once when the brand is set. A verdict is only recomputed when the
+ * settings it was made against have been reloaded; the bypass permission is still checked every time,
+ * since it can be granted while the player is online.
+ */
 public class ClientBlocker {
-  private final Map<String, String> playerBrands = new HashMap<>();
-  private final List<String> allowedVanillaClients = Arrays.asList("vanilla", "optifine");
+  private final CoreManager coreManager;
+  private final Map<UUID, Verdict> verdicts = new ConcurrentHashMap<>();
 
   @Getter
-  private boolean enabled = Config.CLIENT_BLOCKER_ENABLED.getValue(Boolean.class);
+  private volatile boolean enabled;
+
+  public ClientBlocker(CoreManager coreManager) {
+    this.coreManager = coreManager;
+    this.enabled = coreManager.getSettings().isClientBlockerEnabled();
+  }
 
   public boolean toggle() {
     if (enabled) {
@@ -30,18 +42,21 @@ public class ClientBlocker {
   }
 
   public void setPlayerBrand(Player player, String brand) {
-    String current = playerBrands.get(player.getName());
-    if (current == null || !current.equalsIgnoreCase(brand)) {
-      playerBrands.put(player.getName(), brand);
+    Verdict current = verdicts.get(player.getUniqueId());
+    if (current == null || !current.brand.equalsIgnoreCase(brand)) {
+      verdicts.put(player.getUniqueId(), judge(brand, coreManager.getSettings()));
     }
   }
 
   public void removePlayer(Player player) {
-    playerBrands.remove(player.getName());
+    verdicts.remove(player.getUniqueId());
   }
 
   public String getBrand(Player player) {
-    return playerBrands.get(player.getName());
+    Verdict verdict = verdicts.get(player.getUniqueId());
+    return verdict != null
+           ? verdict.brand
+           : null;
   }
 
   public boolean shouldKick(Player player) {
@@ -49,43 +64,51 @@ public class ClientBlocker {
       return false;
     }
 
-    if (player.hasPermission(PERM_CLIENT_BLOCKER_BYPASS)) {
+    UUID uuid = player.getUniqueId();
+    Verdict verdict = verdicts.get(uuid);
+    if (verdict == null) {
       return false;
     }
 
-    String brand = getBrand(player);
-    if (brand == null) {
-      return false;
+    Settings settings = coreManager.getSettings();
+    if (verdict.settings != settings) {
+      Verdict stale = verdict;
+      verdict = judge(stale.brand, settings);
+      verdicts.replace(uuid, stale, verdict);
     }
 
-    String brandLower = brand.toLowerCase();
-    for (String allowed : allowedVanillaClients) {
-      if (brandLower.contains(allowed)) {
-        return false;
+    return verdict.blocked && !player.hasPermission(PERM_CLIENT_BLOCKER_BYPASS);
+  }
+
+  private static Verdict judge(String brand, Settings settings) {
+    boolean blocked;
+    if (settings.getClientBlockerAllowed().matches(brand)) {
+      blocked = false;
+    } else {
+      switch (settings.getClientBlockerMode()) {
+        case BLACKLIST:
+          blocked = settings.getClientBlockerList().matches(brand);
+          break;
+        case WHITELIST:
+          blocked = !settings.getClientBlockerList().matches(brand);
+          break;
+        default:
+          blocked = false;
+          break;
       }
     }
+    return new Verdict(brand, settings, blocked);
+  }
 
-    List<?> rawList = Config.CLIENT_BLOCKER_LIST.getValue(List.class);
-    List<String> checks = rawList.stream().map(Object::toString).collect(Collectors.toList());
-    String mode = Config.CLIENT_BLOCKER_MODE.getValue(String.class).toUpperCase();
-
-    switch (mode) {
-      case "BLACKLIST":
-        for (String blocked : checks) {
-          if (brandLower.contains(blocked.toLowerCase())) {
-            return true;
-          }
-        }
-        break;
-      case "WHITELIST":
-        for (String allowed : checks) {
-          if (brandLower.contains(allowed.toLowerCase())) {
-            return false;
-          }
-        }
-        return true;
-    }
+  private static final class Verdict {
+    private final String brand;
+    private final Settings settings;
+    private final boolean blocked;
 
-    return false;
+    private Verdict(String brand, Settings settings, boolean blocked) {
+      this.brand = brand;
+      this.settings = settings;
+      this.blocked = blocked;
+    }
   }
 }
@@ -4,6 +4,7 @@ import io.github.divinerealms.core.commands.BukkitCommandWrapper;
 import io.github.divinerealms.core.main.CoreManager;
 import io.github.divinerealms.core.utilities.ActionHandler;
 import io.github.divinerealms.core.utilities.Logger;
+import io.github.divinerealms.core.utilities.RateLimiter;
 import lombok.Getter;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -23,7 +24,7 @@ public class CommandManager {
   @Getter
   private final Map<String, String> customCommands = new HashMap<>();
   private final Map<String, BukkitCommandWrapper> registeredWrappers = new ConcurrentHashMap<>();
-  private final Map<String, Map<UUID, Long>> cooldowns = new ConcurrentHashMap<>();
+  private final Map<String, RateLimiter> cooldowns = new ConcurrentHashMap<>();
 
   private final CoreManager coreManager;
   private final ConfigManager configManager;
@@ -102,6 +103,7 @@ public class CommandManager {
     Set<String> toRemove = new HashSet<>(registeredWrappers.keySet());
     toRemove.removeAll(presentCommands);
     for (String removed : toRemove) {
+      cooldowns.remove(removed);
       BukkitCommandWrapper wrapper = registeredWrappers.remove(removed);
       if (wrapper != null) {
         try {
@@ -126,6 +128,18 @@ public class CommandManager {
     }
 
     long cooldownMillis = parseCooldownToMillis(cooldownRaw);
+    RateLimiter limiter = null;
+    if (cooldownMillis > 0) {
+      limiter = cooldowns.get(commandName);
+      if (limiter == null || !limiter.matches(RateLimiter.Mode.SLIDING_WINDOW, 1, cooldownMillis)) {
+        limiter = new RateLimiter(RateLimiter.Mode.SLIDING_WINDOW, 1, cooldownMillis);
+        cooldowns.put(commandName, limiter);
+      }
+    } else {
+      cooldowns.remove(commandName);
+    }
+
+    final RateLimiter cooldown = limiter;
 
     CommandExecutor executor = (sender, command, label, args) -> {
       if (!(sender instanceof Player)) {
@@ -148,17 +162,12 @@ public class CommandManager {
         return true;
       }
 
-      if (cooldownMillis > 0) {
-        Map<UUID, Long> map = cooldowns.computeIfAbsent(commandName, k -> new ConcurrentHashMap<>());
-        long now = System.currentTimeMillis();
-        Long expires = map.get(player.getUniqueId());
-        if (expires != null && expires > now) {
-          long remaining = (expires - now) / 1000;
-          logger.sendActionBar(player, ANTI_SPAM_COMMANDS, String.valueOf(remaining));
+      if (cooldown != null) {
+        long remaining = cooldown.tryAcquire(player.getUniqueId());
+        if (remaining > 0) {
+          logger.sendActionBar(player, ANTI_SPAM_COMMANDS, String.valueOf(remaining / 1000));
           return true;
         }
-
-        map.put(player.getUniqueId(), now + cooldownMillis);
       }
 
       if (actions != null && !actions.isEmpty()) {
@@ -203,6 +212,10 @@ public class CommandManager {
     }
   }
 
+  public void evictCooldowns(UUID uuid) {
+    cooldowns.values().forEach(limiter -> limiter.evictIfIdle(uuid));
+  }
+
   private long parseCooldownToMillis(String raw) {
     if (raw == null || raw.isEmpty()) {
       return 0;
@@ -0,0 +1,249 @@
+package io.github.divinerealms.core.managers;
+
+import github.scarsz.discordsrv.DiscordSRV;
+import github.scarsz.discordsrv.dependencies.jda.api.entities.TextChannel;
+import io.github.divinerealms.core.configs.Config;
+import io.github.divinerealms.core.main.CoreManager;
+import org.bukkit.ChatColor;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Buffers outgoing Discord lines per channel ID and sends them as merged messages.
+ * <p>
+ * Lines are flushed every {@code discord_relay.flush_interval_ticks}, or as soon as a channel has a full
+ * message worth of text. Consecutive lines are joined up to Discord's 2000 character limit, each channel
+ * has at most one message in flight, and sends to a channel are spaced by
+ * {@code discord_relay.min_send_interval_ms} to stay clear of Discord's rate limits.
+ */
+public class DiscordRelay {
+  public static final int MAX_MESSAGE_LENGTH = 2000;
+
+  private final Plugin plugin;
+  private final Map<String, ChannelQueue> queues = new ConcurrentHashMap<>();
+
+  private final LongAdder queued = new LongAdder();
+  private final LongAdder sent = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder deduplicated = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+
+  private BukkitTask flushTask;
+  private boolean enabled = true;
+  private int maxQueue = 500;
+  private long minSendIntervalMs = 1000;
+
+  public DiscordRelay(CoreManager coreManager) {
+    this.plugin = coreManager.getPlugin();
+  }
+
+  public void reload() {
+    if (flushTask != null) {
+      flushTask.cancel();
+      flushTask = null;
+    }
+
+    enabled = Config.DISCORD_RELAY_ENABLED.getValue(Boolean.class);
+    maxQueue = Math.max(1, Config.DISCORD_RELAY_MAX_QUEUE.getValue(Integer.class));
+    minSendIntervalMs = Math.max(0, Config.DISCORD_RELAY_MIN_SEND_INTERVAL.getValue(Number.class).longValue());
+    long interval = Math.max(1, Config.DISCORD_RELAY_FLUSH_INTERVAL.getValue(Number.class).longValue());
+
+    if (!enabled) {
+      flushAll(true);
+      return;
+    }
+
+    flushTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, () -> flushAll(false),
+        interval, interval);
+  }
+
+  public void shutdown() {
+    if (flushTask != null) {
+      flushTask.cancel();
+      flushTask = null;
+    }
+
+    flushAll(true);
+    queues.clear();
+  }
+
+  /**
+   * Queues a line for a Discord channel.
+   *
+   * @param channelId   the Discord channel ID
+   * @param message     the line, colour codes are stripped
+   * @param deduplicate skip the line if it repeats the previous line queued for this channel
+   */
+  public void enqueue(String channelId, String message, boolean deduplicate) {
+    if (channelId == null || channelId.isEmpty() || message == null) {
+      return;
+    }
+
+    String line = ChatColor.stripColor(message);
+    if (line.trim().isEmpty()) {
+      return;
+    }
+
+    ChannelQueue queue = queues.computeIfAbsent(channelId, ChannelQueue::new);
+    if (deduplicate) {
+      String last = queue.lastLine;
+      if (last != null && last.equalsIgnoreCase(line)) {
+        deduplicated.increment();
+        return;
+      }
+    }
+    queue.lastLine = line;
+
+    if (!enabled) {
+      send(queue, line);
+      return;
+    }
+
+    for (int start = 0; start < line.length(); start += MAX_MESSAGE_LENGTH) {
+      if (queue.depth.get() >= maxQueue) {
+        dropped.increment();
+        return;
+      }
+
+      String chunk = line.substring(start, Math.min(line.length(), start + MAX_MESSAGE_LENGTH));
+      queue.lines.add(chunk);
+      queue.depth.incrementAndGet();
+      queued.increment();
+
+      int pending = queue.pendingChars.addAndGet(chunk.length() + 1);
+      if (pending >= MAX_MESSAGE_LENGTH && pending - chunk.length() - 1 < MAX_MESSAGE_LENGTH) {
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> flush(queue, false));
+      }
+    }
+  }
+
+  public int getQueueDepth() {
+    int depth = 0;
+    for (ChannelQueue queue : queues.values()) {
+      depth += queue.depth.get();
+    }
+    return depth;
+  }
+
+  public long getQueued() {
+    return queued.sum();
+  }
+
+  public long getSent() {
+    return sent.sum();
+  }
+
+  public long getDropped() {
+    return dropped.sum();
+  }
+
+  public long getDeduplicated() {
+    return deduplicated.sum();
+  }
+
+  public long getFailed() {
+    return failed.sum();
+  }
+
+  private void flushAll(boolean force) {
+    for (ChannelQueue queue : queues.values()) {
+      flush(queue, force);
+    }
+  }
+
+  private void flush(ChannelQueue queue, boolean force) {
+    if (queue.depth.get() == 0) {
+      return;
+    }
+
+    if (!force) {
+      if (System.currentTimeMillis() - queue.lastSend < minSendIntervalMs) {
+        return;
+      }
+
+      if (!queue.inFlight.compareAndSet(false, true)) {
+        return;
+      }
+    }
+
+    do {
+      String batch = nextBatch(queue);
+      if (batch.isEmpty()) {
+        queue.inFlight.set(false);
+        return;
+      }
+
+      send(queue, batch);
+    } while (force && queue.depth.get() > 0);
+  }
+
+  private String nextBatch(ChannelQueue queue) {
+    StringBuilder batch = new StringBuilder(MAX_MESSAGE_LENGTH);
+
+    String line;
+    while ((line = queue.lines.peek()) != null) {
+      int needed = batch.length() == 0
+                   ? line.length()
+                   : line.length() + 1;
+      if (batch.length() + needed > MAX_MESSAGE_LENGTH) {
+        break;
+      }
+
+      queue.lines.poll();
+      queue.depth.decrementAndGet();
+      queue.pendingChars.addAndGet(-(line.length() + 1));
+      if (batch.length() > 0) {
+        batch.append('\n');
+      }
+      batch.append(line);
+    }
+
+    return batch.toString();
+  }
+
+  private void send(ChannelQueue queue, String content) {
+    DiscordSRV discordSRV = DiscordSRV.getPlugin();
+    TextChannel channel = discordSRV != null && discordSRV.getJda() != null
+                          ? discordSRV.getJda().getTextChannelById(queue.channelId)
+                          : null;
+    if (channel == null) {
+      dropped.increment();
+      queue.inFlight.set(false);
+      return;
+    }
+
+    queue.lastSend = System.currentTimeMillis();
+    channel.sendMessage(content).queue(success -> {
+      sent.increment();
+      queue.inFlight.set(false);
+    }, failure -> {
+      failed.increment();
+      queue.inFlight.set(false);
+      plugin.getLogger().log(Level.WARNING, "Failed to relay message to Discord channel " + queue.channelId +
+                                            ": " + failure.getMessage());
+    });
+  }
+
+  private static final class ChannelQueue {
+    private final String channelId;
+    private final Queue<String> lines = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicInteger pendingChars = new AtomicInteger();
+    private final AtomicBoolean inFlight = new AtomicBoolean();
+    private volatile String lastLine;
+    private volatile long lastSend;
+
+    private ChannelQueue(String channelId) {
+      this.channelId = channelId;
+    }
+  }
+}
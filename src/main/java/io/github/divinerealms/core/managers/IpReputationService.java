@@ -0,0 +1,334 @@
+package io.github.divinerealms.core.managers;
+
+import io.github.divinerealms.core.utilities.IpReputation;
+import lombok.Getter;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.*;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Looks up IP reputations on proxycheck.io and keeps the answers for a while, in memory and on disk.
+ * <p>
+ * Every request goes to the batch endpoint, one POST for up to {@value #BATCH_SIZE} addresses, on a small
+ * pool of its own threads. An address that is already being looked up is not asked for again: later
+ * callers get the same future. Answers are kept until {@link Options#getTtlMillis()} has passed and
+ * survive restarts through {@link #save()}.
+ * <p>
+ * Nothing here touches Bukkit, and the base URL comes from {@link Options}, so the service can be pointed
+ * at a local HTTP stub.
+ */
+public class IpReputationService {
+  public static final int BATCH_SIZE = 100;
+
+  private static final int CACHE_MAGIC = 0x43495052;
+  private static final int CACHE_VERSION = 1;
+
+  private final File cacheFile;
+  private final Supplier<Options> options;
+  private final Logger log;
+  private final Map<String, IpReputation> cache = new ConcurrentHashMap<>();
+  private final Map<String, CompletableFuture<IpReputation>> inFlight = new ConcurrentHashMap<>();
+  private final AtomicBoolean dirty = new AtomicBoolean();
+  private final ExecutorService workers;
+
+  public IpReputationService(File cacheFile, Supplier<Options> options, Logger log) {
+    this.cacheFile = cacheFile;
+    this.options = options;
+    this.log = log;
+
+    AtomicInteger threadId = new AtomicInteger();
+    this.workers = Executors.newFixedThreadPool(2, runnable -> {
+      Thread thread = new Thread(runnable, "Core-ProxyCheck-" + threadId.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    load();
+  }
+
+  /**
+   * @return the cached reputation, or {@code null} if the address was never checked or the answer expired
+   */
+  public IpReputation getCached(String ip) {
+    IpReputation reputation = cache.get(ip);
+    return reputation != null && isFresh(reputation, System.currentTimeMillis())
+           ? reputation
+           : null;
+  }
+
+  /**
+   * @return the reputation, completed with {@code null} if the provider had nothing on the address
+   */
+  public CompletableFuture<IpReputation> lookup(String ip) {
+    return request(Collections.singletonList(ip)).get(ip);
+  }
+
+  /**
+   * Looks up every address that is neither cached nor already being looked up, in as few requests as the
+   * batch size allows.
+   */
+  public CompletableFuture<Void> prefetch(Collection<String> ips) {
+    return CompletableFuture.allOf(request(new LinkedHashSet<>(ips)).values().toArray(new CompletableFuture[0]));
+  }
+
+  /**
+   * Like {@link #prefetch(Collection)}, then saves the cache on the service's own threads once every lookup
+   * has finished.
+   */
+  public CompletableFuture<Void> prefetchAndSave(Collection<String> ips) {
+    return prefetch(ips).whenCompleteAsync((ignored, exception) -> {
+      if (exception != null) {
+        log.log(Level.WARNING, "Failed to prefetch IP reputations", exception);
+      }
+      save();
+    }, workers);
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  /**
+   * Drops expired answers and writes the rest to disk, if anything changed since the last save.
+   */
+  public synchronized void save() {
+    long now = System.currentTimeMillis();
+    if (cache.values().removeIf(reputation -> !isFresh(reputation, now))) {
+      dirty.set(true);
+    }
+
+    if (!dirty.getAndSet(false)) {
+      return;
+    }
+
+    File temp = new File(cacheFile.getParentFile(), cacheFile.getName() + ".tmp");
+    try {
+      Files.createDirectories(cacheFile.getAbsoluteFile().getParentFile().toPath());
+      try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+        List<IpReputation> entries = new ArrayList<>(cache.values());
+        output.writeInt(CACHE_MAGIC);
+        output.writeInt(CACHE_VERSION);
+        output.writeInt(entries.size());
+        for (IpReputation reputation : entries) {
+          reputation.write(output);
+        }
+      }
+
+      try {
+        Files.move(temp.toPath(), cacheFile.toPath(), StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException exception) {
+        Files.move(temp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException exception) {
+      dirty.set(true);
+      log.log(Level.WARNING, "Failed to save " + cacheFile.getName(), exception);
+    }
+  }
+
+  public void shutdown() {
+    workers.shutdown();
+    try {
+      if (!workers.awaitTermination(2, TimeUnit.SECONDS)) {
+        workers.shutdownNow();
+      }
+    } catch (InterruptedException exception) {
+      workers.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+
+    save();
+  }
+
+  private Map<String, CompletableFuture<IpReputation>> request(Collection<String> ips) {
+    Map<String, CompletableFuture<IpReputation>> futures = new LinkedHashMap<>();
+    List<String> claimed = new ArrayList<>();
+    for (String ip : ips) {
+      IpReputation cached = getCached(ip);
+      if (cached != null) {
+        futures.put(ip, CompletableFuture.completedFuture(cached));
+        continue;
+      }
+
+      CompletableFuture<IpReputation> created = new CompletableFuture<>();
+      CompletableFuture<IpReputation> existing = inFlight.putIfAbsent(ip, created);
+      if (existing != null) {
+        futures.put(ip, existing);
+        continue;
+      }
+
+      // Another lookup may have finished between the cache miss and claiming the address.
+      cached = getCached(ip);
+      if (cached != null) {
+        inFlight.remove(ip, created);
+        created.complete(cached);
+      } else {
+        claimed.add(ip);
+      }
+      futures.put(ip, created);
+    }
+
+    for (int from = 0; from < claimed.size(); from += BATCH_SIZE) {
+      List<String> batch = claimed.subList(from, Math.min(claimed.size(), from + BATCH_SIZE));
+      try {
+        workers.execute(() -> fetch(batch));
+      } catch (RejectedExecutionException exception) {
+        fail(batch, exception);
+      }
+    }
+    return futures;
+  }
+
+  private void fetch(List<String> ips) {
+    Map<String, IpReputation> results;
+    try {
+      results = query(ips, options.get());
+    } catch (IOException | ParseException | RuntimeException exception) {
+      fail(ips, exception);
+      return;
+    }
+
+    for (String ip : ips) {
+      IpReputation reputation = results.get(ip);
+      if (reputation != null) {
+        cache.put(ip, reputation);
+        dirty.set(true);
+      }
+
+      CompletableFuture<IpReputation> future = inFlight.remove(ip);
+      if (future != null) {
+        future.complete(reputation);
+      }
+    }
+  }
+
+  private void fail(List<String> ips, Throwable cause) {
+    for (String ip : ips) {
+      CompletableFuture<IpReputation> future = inFlight.remove(ip);
+      if (future != null) {
+        future.completeExceptionally(cause);
+      }
+    }
+  }
+
+  private static Map<String, IpReputation> query(List<String> ips, Options options) throws IOException,
+      ParseException {
+    HttpURLConnection connection = (HttpURLConnection) new URL(options.getEndpoint()).openConnection();
+    connection.setRequestMethod("POST");
+    connection.setConnectTimeout(options.getTimeoutMillis());
+    connection.setReadTimeout(options.getTimeoutMillis());
+    connection.setDoOutput(true);
+    connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+
+    byte[] body = ("ips=" + URLEncoder.encode(String.join(",", ips), "UTF-8")).getBytes(StandardCharsets.UTF_8);
+    connection.setFixedLengthStreamingMode(body.length);
+    try (OutputStream output = connection.getOutputStream()) {
+      output.write(body);
+    }
+
+    int code = connection.getResponseCode();
+    InputStream stream = code >= 400
+                         ? connection.getErrorStream()
+                         : connection.getInputStream();
+    if (stream == null) {
+      throw new IOException("HTTP " + code);
+    }
+
+    String response;
+    try (InputStream input = stream) {
+      response = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    JSONObject root = (JSONObject) new JSONParser().parse(response);
+    Object statusValue = root.get("status");
+    String status = statusValue != null
+                    ? statusValue.toString()
+                    : "unknown";
+    if (status.equalsIgnoreCase("denied") || status.equalsIgnoreCase("error")) {
+      Object message = root.get("message");
+      throw new IOException(message != null
+                            ? message.toString()
+                            : "HTTP " + code + ", status " + status);
+    }
+
+    long now = System.currentTimeMillis();
+    Map<String, IpReputation> results = new HashMap<>();
+    for (String ip : ips) {
+      Object data = root.get(ip);
+      if (data instanceof JSONObject) {
+        results.put(ip, IpReputation.fromJson(ip, status, (JSONObject) data, now));
+      }
+    }
+    return results;
+  }
+
+  private boolean isFresh(IpReputation reputation, long now) {
+    return now - reputation.getCheckedAt() < options.get().getTtlMillis();
+  }
+
+  private void load() {
+    if (!cacheFile.exists()) {
+      return;
+    }
+
+    long now = System.currentTimeMillis();
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+      if (input.readInt() != CACHE_MAGIC || input.readInt() != CACHE_VERSION) {
+        return;
+      }
+
+      int count = input.readInt();
+      for (int i = 0; i < count; i++) {
+        IpReputation reputation = IpReputation.read(input);
+        if (isFresh(reputation, now)) {
+          cache.put(reputation.getIp(), reputation);
+        }
+      }
+    } catch (IOException exception) {
+      cache.clear();
+      log.log(Level.WARNING, "Failed to read " + cacheFile.getName() + ", IPs will be checked again", exception);
+    }
+  }
+
+  /**
+   * Where and how to reach the provider.
+   */
+  @Getter
+  public static final class Options {
+    private final String baseUrl;
+    private final String apiKey;
+    private final long ttlMillis;
+    private final int timeoutMillis;
+
+    public Options(String baseUrl, String apiKey, long ttlMillis, int timeoutMillis) {
+      this.baseUrl = baseUrl;
+      this.apiKey = apiKey != null
+                    ? apiKey.trim()
+                    : "";
+      this.ttlMillis = Math.max(0, ttlMillis);
+      this.timeoutMillis = Math.max(1, timeoutMillis);
+    }
+
+    public String getEndpoint() {
+      return baseUrl + "?vpn=1&asn=1" + (apiKey.isEmpty()
+                                         ? ""
+                                         : "&key=" + apiKey);
+    }
+  }
+}
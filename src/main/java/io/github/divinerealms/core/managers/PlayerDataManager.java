@@ -1,68 +1,258 @@
 package io.github.divinerealms.core.managers;
 
-import io.github.divinerealms.core.configs.PlayerData;
+import io.github.divinerealms.core.configs.*;
 import io.github.divinerealms.core.main.CoreManager;
 import io.github.divinerealms.core.utilities.Logger;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
-import java.util.Collections;
-import java.util.Map;
-import java.util.Queue;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.logging.Level;
 
+/**
+ * Loads player data on demand and writes it back behind the game.
+ * <p>
+ * Changes only mark a {@link PlayerData} dirty. A single writer thread saves it once no change has
+ * happened for {@code player_data.save.delay_seconds}, or at the latest {@code player_data.save.max_delay_seconds}
+ * after the first unsaved change, so rapid {@code set()} calls coalesce into one write.
+ * <p>
+ * Data is kept in a {@link PlayerDataStore} picked by {@code player_data.storage}: {@code LOG} keeps every
+ * player in one append-only {@code players.dat}, {@code YAML} keeps one file per player in {@code players/}.
+ * When switching to {@code LOG}, existing YAML files are migrated once and the folder is renamed.
+ * <p>
+ * Data is keyed by UUID. Online players stay pinned in memory; offline lookups by UUID or name go through
+ * a bounded LRU of {@code player_data.cache_size} entries, and a name is resolved to a UUID through a
+ * name index kept apart from the player data in {@code names.dat}. Dirty entries evicted from the LRU stay
+ * queued until the writer has saved them. Data still stored under a player's name is moved to their UUID on
+ * the first save, and the name-keyed record is deleted.
+ */
 public class PlayerDataManager {
-  private final CoreManager coreManager;
+  private static final String NAME_KEY_PREFIX = "name-";
+
   private final Plugin plugin;
-  private final ConfigManager configManager;
   private final Logger logger;
-  private final Map<String, PlayerData> playerCache = new ConcurrentHashMap<>();
+  private final PlayerDataStore store;
+  private final PlayerDataStore nameStore;
+  private final Map<UUID, PlayerData> onlineData = new ConcurrentHashMap<>();
+  private final Map<String, UUID> onlineNames = new ConcurrentHashMap<>();
+  private final Map<UUID, PlayerData> dirtyData = new ConcurrentHashMap<>();
+  private final Map<UUID, String> legacyKeys = new ConcurrentHashMap<>();
+  private final Map<UUID, PlayerData> offlineData = new LinkedHashMap<UUID, PlayerData>(16, 0.75F, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<UUID, PlayerData> eldest) {
+      if (size() <= cacheSize) {
+        return false;
+      }
 
-  private final Map<String, String> uuidCache = new ConcurrentHashMap<>();
+      scheduleWrite(eldest.getValue());
+      return true;
+    }
+  };
+  private final Map<String, UUID> offlineNames = new LinkedHashMap<String, UUID>(16, 0.75F, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, UUID> eldest) {
+      return size() > cacheSize;
+    }
+  };
 
-  private final Queue<String> dataQueue = new ConcurrentLinkedQueue<>();
-  private final Set<String> dataQueueSet = Collections.newSetFromMap(new ConcurrentHashMap<>());
-  private volatile boolean saveScheduled = false;
+  private final ScheduledExecutorService writer;
+  private volatile long saveDelayNanos = TimeUnit.SECONDS.toNanos(5);
+  private volatile long maxSaveDelayNanos = TimeUnit.SECONDS.toNanos(60);
+  private volatile int cacheSize = 256;
 
   public PlayerDataManager(CoreManager coreManager) {
-    this.coreManager = coreManager;
     this.plugin = coreManager.getPlugin();
-    this.configManager = coreManager.getConfigManager();
     this.logger = coreManager.getLogger();
+    this.store = openStore();
+    this.nameStore = openNameStore();
+    migrateNames();
+
+    this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "Core-PlayerData-Writer");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    reload();
+    writer.scheduleWithFixedDelay(this::flushDue, 1L, 1L, TimeUnit.SECONDS);
   }
 
+  public void reload() {
+    saveDelayNanos = TimeUnit.SECONDS.toNanos(Math.max(0, Config.PLAYER_DATA_SAVE_DELAY.getValue(Integer.class)));
+    maxSaveDelayNanos = TimeUnit.SECONDS.toNanos(Math.max(1, Config.PLAYER_DATA_SAVE_MAX_DELAY.getValue(Integer.class)));
+    cacheSize = Math.max(0, Config.PLAYER_DATA_CACHE_SIZE.getValue(Integer.class));
+
+    synchronized (offlineData) {
+      Iterator<PlayerData> iterator = offlineData.values().iterator();
+      while (offlineData.size() > cacheSize && iterator.hasNext()) {
+        scheduleWrite(iterator.next());
+        iterator.remove();
+      }
+    }
+
+    synchronized (offlineNames) {
+      Iterator<UUID> iterator = offlineNames.values().iterator();
+      while (offlineNames.size() > cacheSize && iterator.hasNext()) {
+        iterator.next();
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Returns the data of an online player, loading it if needed and keeping it in memory until
+   * {@link #unload(Player)}.
+   */
   public PlayerData get(Player player) {
-    uuidCache.computeIfAbsent(player.getName(), name -> {
-      String uuid = player.getUniqueId().toString();
-      queueAdd(name);
-      return uuid;
+    UUID uuid = player.getUniqueId();
+    String name = player.getName();
+    onlineNames.put(name.toLowerCase(), uuid);
+
+    PlayerData data = onlineData.computeIfAbsent(uuid, key -> {
+      PlayerData cached;
+      synchronized (offlineData) {
+        cached = offlineData.remove(key);
+      }
+
+      return cached != null
+             ? cached
+             : load(key, name, true);
     });
 
-    return playerCache.computeIfAbsent(player.getName(), name -> new PlayerData(name, configManager, this));
+    if (data.rename(name)) {
+      saveName(name, uuid);
+    }
+    return data;
   }
 
+  /**
+   * Returns the data of any player who has joined before.
+   *
+   * @return the data, or {@code null} if the player has no stored data
+   */
+  public PlayerData get(UUID uuid) {
+    PlayerData data = onlineData.get(uuid);
+    if (data != null) {
+      return data;
+    }
+
+    synchronized (offlineData) {
+      data = offlineData.get(uuid);
+    }
+    if (data != null) {
+      return data;
+    }
+
+    data = load(uuid, null, false);
+    if (data == null) {
+      return null;
+    }
+
+    synchronized (offlineData) {
+      PlayerData cached = offlineData.putIfAbsent(uuid, data);
+      return cached != null
+             ? cached
+             : data;
+    }
+  }
+
+  /**
+   * Returns the data of any player who has joined before, looked up by their last known name.
+   *
+   * @return the data, or {@code null} if no player with that name has stored data
+   */
   public PlayerData get(String playerName) {
-    String uuid = uuidCache.get(playerName);
+    UUID uuid = resolve(playerName);
     if (uuid == null) {
       return null;
     }
 
-    return playerCache.computeIfAbsent(playerName, name -> new PlayerData(name, configManager, this));
+    PlayerData data = get(uuid);
+    return data != null && playerName.equalsIgnoreCase(data.getPlayerName())
+           ? data
+           : null;
+  }
+
+  /**
+   * Finds a player who has joined before by name, for commands that take a player name. Players missing from
+   * the name index, who have not joined since it was added, are looked up once through Bukkit and then added
+   * to it.
+   *
+   * @return the data, or {@code null} if no player with that name has joined
+   */
+  @SuppressWarnings("deprecation")
+  public PlayerData find(String playerName) {
+    PlayerData data = get(playerName);
+    if (data != null) {
+      return data;
+    }
+
+    OfflinePlayer player = plugin.getServer().getOfflinePlayer(playerName);
+    if (!player.hasPlayedBefore() || player.getName() == null) {
+      return null;
+    }
+
+    data = get(player.getUniqueId());
+    if (data != null) {
+      synchronized (offlineNames) {
+        offlineNames.put(player.getName().toLowerCase(), player.getUniqueId());
+      }
+      saveName(player.getName(), player.getUniqueId());
+    }
+    return data;
   }
 
-  public void queueAdd(String playerName) {
-    if (dataQueueSet.add(playerName)) {
-      dataQueue.add(playerName);
-      scheduleSave();
+  public UUID resolve(String playerName) {
+    String key = playerName.toLowerCase();
+    UUID uuid = onlineNames.get(key);
+    if (uuid != null) {
+      return uuid;
     }
+
+    synchronized (offlineNames) {
+      uuid = offlineNames.get(key);
+    }
+    if (uuid != null) {
+      return uuid;
+    }
+
+    try {
+      String stored = nameStore.load(key);
+      if (stored == null) {
+        return null;
+      }
+
+      uuid = UUID.fromString(stored.trim());
+    } catch (IOException | IllegalArgumentException exception) {
+      plugin.getLogger().log(Level.WARNING, "Failed to resolve player name " + playerName, exception);
+      return null;
+    }
+
+    synchronized (offlineNames) {
+      offlineNames.put(key, uuid);
+    }
+    return uuid;
   }
 
   public void unload(Player player) {
-    queueAdd(player.getName());
-    playerCache.remove(player.getName());
+    UUID uuid = player.getUniqueId();
+    onlineNames.remove(player.getName().toLowerCase(), uuid);
+
+    PlayerData data = onlineData.remove(uuid);
+    if (data == null) {
+      return;
+    }
+
+    synchronized (offlineData) {
+      offlineData.put(uuid, data);
+    }
+    scheduleWrite(data);
   }
 
   public void addDefaults(PlayerData playerData) {
@@ -71,69 +261,340 @@ public class PlayerDataManager {
     }
   }
 
-  public void saveQueue() {
-    if (dataQueue.isEmpty()) {
-      return;
-    }
+  public void markDirty(PlayerData data) {
+    dirtyData.putIfAbsent(data.getUuid(), data);
+  }
 
-    plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-      int chunkSize = 20;
-      int processed = 0;
-      int totalSaved = 0;
+  public int getPendingWrites() {
+    return dirtyData.size();
+  }
 
-      while (processed < chunkSize) {
-        String playerName = dataQueue.poll();
-        if (playerName == null) {
-          break;
-        }
+  /**
+   * Stops the writer and saves every pending change, giving up after {@code player_data.shutdown.timeout_seconds}
+   * in total. A store that serialises its writes gets them as one batch on the writer, after whatever it had
+   * queued; any other store drains the writer first and then saves the rest on a bounded pool. The store is
+   * only closed once the writer has stopped.
+   */
+  public void shutdown() {
+    long deadline = System.nanoTime() +
+                    TimeUnit.SECONDS.toNanos(Math.max(1, Config.PLAYER_DATA_SHUTDOWN_TIMEOUT.getValue(Integer.class)));
 
+    Future<Integer> batch = store.isConcurrent() || writer.isShutdown()
+                            ? null
+                            : writer.submit(() -> writeAll(new ArrayList<>(dirtyData.values())));
+    writer.shutdown();
+    try {
+      writer.awaitTermination(remaining(deadline), TimeUnit.NANOSECONDS);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+
+    int saved = 0;
+    int total;
+    if (batch != null) {
+      if (batch.isDone()) {
         try {
-          savePlayerData(playerName);
-          totalSaved++;
-        } catch (Exception exception) {
-          plugin.getLogger().log(Level.SEVERE, "Failed to save player data for " + playerName, exception);
+          saved = batch.get();
+        } catch (InterruptedException exception) {
+          Thread.currentThread().interrupt();
+        } catch (ExecutionException exception) {
+          plugin.getLogger().log(Level.SEVERE, "Failed to save player data on shutdown", exception.getCause());
         }
-        processed++;
       }
+      total = saved + dirtyData.size();
+    } else {
+      List<PlayerData> pending = new ArrayList<>(dirtyData.values());
+      if (!pending.isEmpty()) {
+        saved = writeOnPool(pending, deadline);
+      }
+      total = pending.size();
+    }
 
-      logger.info("Auto saved " + totalSaved + " player data file(s) this batch.");
+    if (saved < total) {
+      plugin.getLogger().warning("Saved " + saved + " of " + total + " player data file(s) before timing out.");
+    } else if (total == 0) {
+      logger.info("Saved all player data.");
+    } else {
+      logger.info("Saved all player data (" + saved + " file(s)).");
+    }
 
-      if (!dataQueue.isEmpty()) {
-        logger.info(dataQueue.size() + " player data file(s) remaining in queue, scheduling next batch...");
-        scheduleSave();
+    // A writer that is still running may be in the middle of a save, so the store is left open for it.
+    if (writer.isTerminated()) {
+      closeStore();
+    } else {
+      plugin.getLogger().warning("Player data writer is still busy, leaving the store open.");
+    }
+  }
+
+  private int writeOnPool(List<PlayerData> pending, long deadline) {
+    int threads = Math.max(1, Math.min(pending.size(), Config.PLAYER_DATA_SHUTDOWN_THREADS.getValue(Integer.class)));
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    List<Callable<Boolean>> tasks = new ArrayList<>(pending.size());
+    pending.forEach(data -> tasks.add(() -> write(data)));
+
+    int saved = 0;
+    try {
+      for (Future<Boolean> result : pool.invokeAll(tasks, remaining(deadline), TimeUnit.NANOSECONDS)) {
+        if (!result.isCancelled() && result.get()) {
+          saved++;
+        }
       }
-    });
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException exception) {
+      plugin.getLogger().log(Level.SEVERE, "Failed to save player data on shutdown", exception.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+    return saved;
   }
 
-  public void saveAll() {
-    playerCache.values().forEach(PlayerData::save);
-    dataQueue.clear();
-    logger.info("Saved all player data.");
+  private static long remaining(long deadline) {
+    return Math.max(0L, deadline - System.nanoTime());
   }
 
-  public void savePlayerData(String playerName) {
-    PlayerData data = playerCache.get(playerName);
-    if (data != null) {
-      data.save();
+  private void closeStore() {
+    try {
+      store.close();
+      nameStore.close();
+    } catch (IOException exception) {
+      plugin.getLogger().log(Level.SEVERE, "Failed to close player data store", exception);
+    }
+  }
+
+  private PlayerDataStore openStore() {
+    File yamlFolder = new File(plugin.getDataFolder(), "players");
+    YamlPlayerDataStore yamlStore = new YamlPlayerDataStore(yamlFolder);
+    if (!"LOG".equalsIgnoreCase(Config.PLAYER_DATA_STORAGE.getValue(String.class))) {
+      return yamlStore;
     }
 
-    dataQueueSet.remove(playerName);
+    try {
+      LogPlayerDataStore logStore = new LogPlayerDataStore(new File(plugin.getDataFolder(), "players.dat"));
+      migrate(yamlStore, logStore);
+      return logStore;
+    } catch (IOException exception) {
+      plugin.getLogger().log(Level.SEVERE, "Failed to open players.dat, falling back to YAML player data", exception);
+      return yamlStore;
+    }
+  }
+
+  private PlayerDataStore openNameStore() {
+    try {
+      return new LogPlayerDataStore(new File(plugin.getDataFolder(), "names.dat"));
+    } catch (IOException exception) {
+      plugin.getLogger().log(Level.SEVERE, "Failed to open names.dat, falling back to YAML name index", exception);
+      return new YamlPlayerDataStore(new File(plugin.getDataFolder(), "names"));
+    }
+  }
+
+  /**
+   * Moves the {@code name-<lowercase name>} records older versions kept among the player data into the name
+   * index.
+   */
+  private void migrateNames() {
+    int migrated = 0;
+    try {
+      for (String key : store.keys()) {
+        if (!key.startsWith(NAME_KEY_PREFIX)) {
+          continue;
+        }
+
+        String name = key.substring(NAME_KEY_PREFIX.length());
+        String contents = store.load(key);
+        if (contents != null && !nameStore.contains(name)) {
+          nameStore.save(name, contents);
+        }
+        store.delete(key);
+        migrated++;
+      }
+      nameStore.flush();
+    } catch (IOException exception) {
+      plugin.getLogger().log(Level.SEVERE, "Failed to migrate the player name index", exception);
+    }
+
+    if (migrated > 0) {
+      logger.info("&a✔ &9Moved &e" + migrated + " &9player name(s) into names.dat.");
+    }
   }
 
-  private void scheduleSave() {
-    if (coreManager.isDisabling()) {
+  private void migrate(YamlPlayerDataStore source, PlayerDataStore target) throws IOException {
+    Set<String> keys = source.keys();
+    if (keys.isEmpty()) {
       return;
     }
 
-    if (saveScheduled) {
+    int migrated = 0;
+    for (String key : keys) {
+      if (target.contains(key)) {
+        continue;
+      }
+
+      String contents = source.load(key);
+      if (contents != null) {
+        target.save(key, contents);
+        migrated++;
+      }
+    }
+    target.flush();
+
+    File folder = source.getFolder();
+    File backup = new File(folder.getParentFile(), folder.getName() + "-migrated-" + System.currentTimeMillis());
+    if (!folder.renameTo(backup)) {
+      plugin.getLogger().warning("Migrated player data but could not rename " + folder + ", it will be checked again.");
+      return;
+    }
+
+    logger.info("&a✔ &9Migrated &e" + migrated + " &9player data file(s) into players.dat, old files kept in &e" +
+                backup.getName() + "&9.");
+  }
+
+  private PlayerData load(UUID uuid, String playerName, boolean create) {
+    PlayerData pending = dirtyData.get(uuid);
+    if (pending != null) {
+      return pending;
+    }
+
+    YamlConfiguration config = new YamlConfiguration();
+    boolean legacy = false;
+    try {
+      String contents = store.load(uuid.toString());
+      if (contents == null && playerName != null) {
+        contents = store.load(playerName);
+        legacy = contents != null;
+      }
+      if (legacy) {
+        legacyKeys.put(uuid, playerName);
+      }
+
+      if (contents == null && !create) {
+        return null;
+      }
+
+      if (contents != null) {
+        config.loadFromString(contents);
+      }
+    } catch (IOException | InvalidConfigurationException exception) {
+      plugin.getLogger().log(Level.SEVERE, "Failed to load player data for " + uuid, exception);
+    }
+
+    PlayerData data = new PlayerData(uuid, playerName != null
+                                           ? playerName
+                                           : config.getString("name", uuid.toString()), config, this);
+    if (legacy) {
+      data.markDirty();
+    }
+    return data;
+  }
+
+  private void saveName(String playerName, UUID uuid) {
+    if (writer.isShutdown()) {
       return;
     }
 
-    saveScheduled = true;
+    writer.execute(() -> {
+      try {
+        nameStore.save(playerName.toLowerCase(), uuid.toString());
+      } catch (IOException exception) {
+        plugin.getLogger().log(Level.SEVERE, "Failed to save name index for " + playerName, exception);
+      }
+    });
+  }
+
+  private void scheduleWrite(PlayerData data) {
+    if (data.isDirty() && !writer.isShutdown()) {
+      writer.execute(() -> write(data));
+    }
+  }
+
+  private void flushDue() {
+    long now = System.nanoTime();
+    boolean written = false;
+    for (PlayerData data : dirtyData.values()) {
+      if (now - data.getLastChange() >= saveDelayNanos || now - data.getDirtySince() >= maxSaveDelayNanos) {
+        written |= write(data);
+      }
+    }
+
+    if (written) {
+      try {
+        store.flush();
+      } catch (IOException exception) {
+        plugin.getLogger().log(Level.SEVERE, "Failed to flush player data store", exception);
+      }
+    }
+  }
+
+  /**
+   * Saves all the given data with one {@link PlayerDataStore#saveAll(Map)} call.
+   *
+   * @return how many of them are saved
+   */
+  private int writeAll(List<PlayerData> pending) {
+    Map<String, String> records = new LinkedHashMap<>();
+    List<PlayerData> snapshots = new ArrayList<>();
+    for (PlayerData data : pending) {
+      String contents = data.snapshot();
+      if (contents != null) {
+        records.put(data.getUuid().toString(), contents);
+        snapshots.add(data);
+      }
+    }
+
+    try {
+      store.saveAll(records);
+      store.flush();
+    } catch (IOException exception) {
+      snapshots.forEach(PlayerData::markDirty);
+      plugin.getLogger().log(Level.SEVERE, "Failed to save player data", exception);
+      return 0;
+    }
+    snapshots.forEach(data -> deleteLegacy(data.getUuid()));
+
+    for (PlayerData data : pending) {
+      synchronized (data) {
+        if (!data.isDirty()) {
+          dirtyData.remove(data.getUuid(), data);
+        }
+      }
+    }
+    return pending.size();
+  }
 
-    plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, () -> {
-      saveQueue();
-      saveScheduled = false;
-    }, 6000L);
+  private boolean write(PlayerData data) {
+    String contents = data.snapshot();
+    if (contents != null) {
+      try {
+        store.save(data.getUuid().toString(), contents);
+      } catch (IOException exception) {
+        data.markDirty();
+        plugin.getLogger().log(Level.SEVERE, "Failed to save player data for " + data.getPlayerName(), exception);
+        return false;
+      }
+      deleteLegacy(data.getUuid());
+    }
+
+    synchronized (data) {
+      if (!data.isDirty()) {
+        dirtyData.remove(data.getUuid(), data);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Drops the name-keyed record a player was loaded from, now that their data is stored under the UUID.
+   */
+  private void deleteLegacy(UUID uuid) {
+    String legacyKey = legacyKeys.remove(uuid);
+    if (legacyKey == null) {
+      return;
+    }
+
+    try {
+      store.delete(legacyKey);
+    } catch (IOException exception) {
+      plugin.getLogger().log(Level.WARNING, "Failed to delete legacy player data for " + legacyKey, exception);
+    }
   }
-}
\ No newline at end of file
+}
@@ -1,75 +1,311 @@
 package io.github.divinerealms.core.managers;
 
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import io.github.divinerealms.core.configs.Config;
+import io.github.divinerealms.core.configs.PlayerData;
 import io.github.divinerealms.core.main.CoreManager;
+import io.github.divinerealms.core.utilities.Leaderboard;
+import lombok.Getter;
 import org.bukkit.Bukkit;
+import org.bukkit.Statistic;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
 
-import java.io.File;
-import java.io.FileReader;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 
+/**
+ * Keeps an index of every player's {@code stat.playOneMinute} from the world's stats folder.
+ * <p>
+ * Each scan only re-reads files whose modification time or size changed since they were last indexed,
+ * and stops reading a file as soon as the playtime key is found. The index is saved to
+ * {@code playtime.idx} so a restart does not need a full rescan. Online players are read from Bukkit's
+ * live statistics instead, refreshed on the main thread every few seconds.
+ * <p>
+ * Every change is pushed into a {@link Leaderboard}, and player names are remembered alongside the
+ * index, so {@code /playtime top} never sorts or looks up offline players.
+ */
 public class PlaytimeManager {
+  private static final String STAT_KEY = "stat.playOneMinute";
+  private static final int INDEX_MAGIC = 0x43505449;
+  private static final int INDEX_VERSION = 2;
+  private static final long LIVE_REFRESH_TICKS = 100L;
+
+  private final Plugin plugin;
+  private final PlayerDataManager dataManager;
   private final File statsFolder;
-  private final Map<UUID, Long> playtimeCache = new HashMap<>();
+  private final File indexFile;
+  private final Map<UUID, IndexEntry> index = new ConcurrentHashMap<>();
+  private final Map<UUID, Long> live = new ConcurrentHashMap<>();
+  private final Map<UUID, String> names = new ConcurrentHashMap<>();
+  @Getter
+  private final Leaderboard<UUID> leaderboard = new Leaderboard<>();
+  private final Object scanLock = new Object();
+  private final Object writeLock = new Object();
+  private volatile boolean shuttingDown = false;
 
   public PlaytimeManager(CoreManager coreManager) {
+    this.plugin = coreManager.getPlugin();
+    this.dataManager = coreManager.getDataManager();
     this.statsFolder = new File(Bukkit.getWorlds().get(0).getWorldFolder(), "stats");
-    Bukkit.getScheduler().runTaskTimerAsynchronously(coreManager.getPlugin(), this::reloadCache, 0L, 12000L);
+    this.indexFile = new File(plugin.getDataFolder(), "playtime.idx");
+
+    long interval = Math.max(20L, Config.PLAYTIME_SCAN_INTERVAL.getValue(Number.class).longValue());
+    loadIndex();
+    Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::reloadCache, 0L, interval);
+    Bukkit.getScheduler().runTaskTimer(plugin, this::refreshLive, LIVE_REFRESH_TICKS, LIVE_REFRESH_TICKS);
   }
 
   public void reloadCache() {
-    if (!statsFolder.exists()) {
-      return;
+    synchronized (scanLock) {
+      scan();
     }
+  }
 
-    Map<UUID, Long> temp = new HashMap<>();
+  private void scan() {
+    if (shuttingDown || !statsFolder.exists()) {
+      return;
+    }
 
     File[] files = statsFolder.listFiles((dir, name) -> name.endsWith(".json"));
     if (files == null) {
       return;
     }
 
+    boolean changed = false;
+    Set<UUID> seen = new HashSet<>(files.length * 2);
     for (File file : files) {
-      try (FileReader reader = new FileReader(file)) {
-        JsonParser parser = new JsonParser();
-        JsonObject json = parser.parse(reader).getAsJsonObject();
-        if (!json.has("stat.playOneMinute")) {
-          continue;
-        }
+      if (shuttingDown) {
+        return;
+      }
+
+      UUID uuid;
+      try {
+        uuid = UUID.fromString(file.getName().substring(0, file.getName().length() - 5));
+      } catch (IllegalArgumentException exception) {
+        continue;
+      }
+      seen.add(uuid);
 
-        long ticks = json.get("stat.playOneMinute").getAsLong();
+      long lastModified = file.lastModified();
+      long length = file.length();
+      IndexEntry entry = index.get(uuid);
+      if (entry != null && entry.lastModified == lastModified && entry.length == length) {
+        continue;
+      }
 
-        UUID uuid = UUID.fromString(file.getName().replace(".json", ""));
-        temp.put(uuid, ticks);
-      } catch (Exception ignored) {
+      try {
+        index.put(uuid, new IndexEntry(lastModified, length, readPlaytime(file)));
+        rescore(uuid);
+        changed = true;
+      } catch (IOException | IllegalStateException exception) {
+        plugin.getLogger().log(Level.FINE, "Skipping unreadable stats file " + file.getName(), exception);
+        continue;
+      }
+
+      if (!names.containsKey(uuid)) {
+        String name = lookupName(uuid);
+        if (name != null) {
+          names.put(uuid, name);
+        }
       }
     }
 
-    synchronized (playtimeCache) {
-      playtimeCache.clear();
-      playtimeCache.putAll(temp);
+    Iterator<UUID> iterator = index.keySet().iterator();
+    while (iterator.hasNext()) {
+      UUID uuid = iterator.next();
+      if (!seen.contains(uuid)) {
+        iterator.remove();
+        rescore(uuid);
+        changed = true;
+      }
+    }
+
+    if (changed) {
+      saveIndex();
     }
   }
 
   public long getPlaytime(UUID uuid) {
-    synchronized (playtimeCache) {
-      return playtimeCache.getOrDefault(uuid, 0L);
+    if (Bukkit.isPrimaryThread()) {
+      Player player = Bukkit.getPlayer(uuid);
+      if (player != null) {
+        return player.getStatistic(Statistic.PLAY_ONE_TICK);
+      }
     }
+
+    Long ticks = live.get(uuid);
+    if (ticks != null) {
+      return ticks;
+    }
+
+    IndexEntry entry = index.get(uuid);
+    return entry != null
+           ? entry.ticks
+           : 0L;
+  }
+
+  public String getName(UUID uuid) {
+    return names.getOrDefault(uuid, uuid.toString());
   }
 
-  public List<Map.Entry<UUID, Long>> getTopPlaytimes(int limit) {
-    List<Map.Entry<UUID, Long>> sorted;
-    synchronized (playtimeCache) {
-      sorted = new ArrayList<>(playtimeCache.entrySet());
+  /**
+   * Reads a player's name from their data file, falling back to Bukkit for players who never had one.
+   */
+  private String lookupName(UUID uuid) {
+    PlayerData data = dataManager.get(uuid);
+    if (data != null && !data.getPlayerName().equals(uuid.toString())) {
+      return data.getPlayerName();
     }
+    return Bukkit.getOfflinePlayer(uuid).getName();
+  }
+
+  /**
+   * Records a player's final playtime when they leave, until the next scan picks up their saved stats file.
+   */
+  public void record(Player player) {
+    UUID uuid = player.getUniqueId();
+    names.put(uuid, player.getName());
+    live.put(uuid, (long) player.getStatistic(Statistic.PLAY_ONE_TICK));
+    rescore(uuid);
+  }
+
+  /**
+   * Stops any running scan at the next file and saves the index without waiting for it.
+   */
+  public void shutdown() {
+    shuttingDown = true;
+    saveIndex();
+  }
 
-    sorted.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
-    if (limit > 0 && sorted.size() > limit) {
-      return sorted.subList(0, limit);
+  private void refreshLive() {
+    for (Player player : Bukkit.getOnlinePlayers()) {
+      record(player);
     }
 
-    return sorted;
+    Iterator<Map.Entry<UUID, Long>> iterator = live.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<UUID, Long> entry = iterator.next();
+      if (Bukkit.getPlayer(entry.getKey()) != null) {
+        continue;
+      }
+
+      IndexEntry indexed = index.get(entry.getKey());
+      if (indexed != null && indexed.ticks >= entry.getValue()) {
+        iterator.remove();
+      }
+    }
+  }
+
+  private void rescore(UUID uuid) {
+    synchronized (leaderboard) {
+      IndexEntry indexed = index.get(uuid);
+      Long ticks = live.get(uuid);
+      if (indexed == null && ticks == null) {
+        leaderboard.remove(uuid);
+        return;
+      }
+
+      long score = indexed != null
+                   ? indexed.ticks
+                   : 0L;
+      if (ticks != null) {
+        score = Math.max(score, ticks);
+      }
+      leaderboard.update(uuid, score);
+    }
+  }
+
+  private long readPlaytime(File file) throws IOException {
+    try (JsonReader reader = new JsonReader(new InputStreamReader(new FileInputStream(file),
+        StandardCharsets.UTF_8))) {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        if (STAT_KEY.equals(reader.nextName()) && reader.peek() == JsonToken.NUMBER) {
+          return reader.nextLong();
+        }
+
+        reader.skipValue();
+      }
+    }
+
+    return 0L;
+  }
+
+  private void loadIndex() {
+    if (!indexFile.exists()) {
+      return;
+    }
+
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+      if (input.readInt() != INDEX_MAGIC || input.readInt() != INDEX_VERSION) {
+        return;
+      }
+
+      int count = input.readInt();
+      for (int i = 0; i < count; i++) {
+        UUID uuid = new UUID(input.readLong(), input.readLong());
+        index.put(uuid, new IndexEntry(input.readLong(), input.readLong(), input.readLong()));
+        String name = input.readUTF();
+        if (!name.isEmpty()) {
+          names.put(uuid, name);
+        }
+      }
+      index.keySet().forEach(this::rescore);
+    } catch (IOException exception) {
+      index.clear();
+      names.clear();
+      leaderboard.clear();
+      plugin.getLogger().log(Level.WARNING, "Failed to read playtime.idx, stats will be rescanned", exception);
+    }
+  }
+
+  private void saveIndex() {
+    List<Map.Entry<UUID, IndexEntry>> entries = new ArrayList<>(index.size());
+    for (Map.Entry<UUID, IndexEntry> entry : index.entrySet()) {
+      entries.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+    }
+    Map<UUID, String> namesCopy = new HashMap<>(names);
+
+    synchronized (writeLock) {
+      writeIndex(entries, namesCopy);
+    }
+  }
+
+  private void writeIndex(List<Map.Entry<UUID, IndexEntry>> entries, Map<UUID, String> names) {
+    File temp = new File(indexFile.getParentFile(), indexFile.getName() + ".tmp");
+    try {
+      Files.createDirectories(indexFile.getParentFile().toPath());
+      try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+        output.writeInt(INDEX_MAGIC);
+        output.writeInt(INDEX_VERSION);
+        output.writeInt(entries.size());
+        for (Map.Entry<UUID, IndexEntry> entry : entries) {
+          output.writeLong(entry.getKey().getMostSignificantBits());
+          output.writeLong(entry.getKey().getLeastSignificantBits());
+          output.writeLong(entry.getValue().lastModified);
+          output.writeLong(entry.getValue().length);
+          output.writeLong(entry.getValue().ticks);
+          output.writeUTF(names.getOrDefault(entry.getKey(), ""));
+        }
+      }
+
+      try {
+        Files.move(temp.toPath(), indexFile.toPath(), StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException exception) {
+        Files.move(temp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException exception) {
+      plugin.getLogger().log(Level.WARNING, "Failed to save playtime.idx", exception);
+    }
   }
 
   public String formatPlaytime(long ticks) {
@@ -108,4 +344,16 @@ public class PlaytimeManager {
 
     return seconds + "s";
   }
-}
\ No newline at end of file
+
+  private static final class IndexEntry {
+    private final long lastModified;
+    private final long length;
+    private final long ticks;
+
+    private IndexEntry(long lastModified, long length, long ticks) {
+      this.lastModified = lastModified;
+      this.length = length;
+      this.ticks = ticks;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package io.github.divinerealms.core.managers;
 import io.github.divinerealms.core.configs.Config;
 import io.github.divinerealms.core.main.CoreManager;
 import io.github.divinerealms.core.utilities.Logger;
+import io.github.divinerealms.core.utilities.RateLimiter;
 import lombok.Getter;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -11,6 +12,7 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
+import static io.github.divinerealms.core.configs.Lang.ANTI_SPAM_MESSAGES;
 import static io.github.divinerealms.core.configs.Lang.PRIVATE_MESSAGES_NO_REPLY_TARGET;
 
 public class PrivateMessagesManager {
@@ -19,6 +21,8 @@ public class PrivateMessagesManager {
   private final Logger logger;
   private final Map<UUID, UUID> lastConvoPartner = new ConcurrentHashMap<>();
   @Getter
+  private volatile RateLimiter antiSpam;
+  @Getter
   private boolean enabled;
 
   public PrivateMessagesManager(CoreManager coreManager) {
@@ -26,6 +30,7 @@ public class PrivateMessagesManager {
     this.channelManager = coreManager.getChannelManager();
     this.logger = coreManager.getLogger();
     this.enabled = Config.PRIVATE_MESSAGES_ENABLED.getValue(Boolean.class);
+    this.reload();
 
     if (!this.enabled) {
       return;
@@ -35,13 +40,34 @@ public class PrivateMessagesManager {
     logger.info("&a✔ &9Private Messages module loaded successfully.");
   }
 
+  /**
+   * Applies the {@code anti_spam} settings, keeping the current limiter and its state if they did not change.
+   */
+  public void reload() {
+    RateLimiter.Mode mode = RateLimiter.Mode.parse(Config.PRIVATE_MESSAGES_ANTI_SPAM_MODE.getValue(String.class),
+        RateLimiter.Mode.SLIDING_WINDOW);
+    int maxMessages = Config.PRIVATE_MESSAGES_ANTI_SPAM_MAX_MESSAGES.getValue(Number.class).intValue();
+    long cooldown = Config.PRIVATE_MESSAGES_ANTI_SPAM_COOLDOWN.getValue(Number.class).longValue();
+
+    RateLimiter current = antiSpam;
+    if (current == null || !current.matches(mode, maxMessages, cooldown)) {
+      antiSpam = new RateLimiter(mode, maxMessages, cooldown);
+    }
+  }
+
   public void clearState() {
     lastConvoPartner.clear();
+    antiSpam.clear();
   }
 
   public void sendPrivateMessage(Player sender, Player recipient, String message) {
-    String senderName = coreManager.getChat().getPlayerPrefix(sender) + sender.getName();
-    String recipientName = coreManager.getChat().getPlayerPrefix(recipient) + recipient.getName();
+    if (antiSpam.tryAcquire(sender.getUniqueId()) > 0) {
+      logger.sendActionBar(sender, ANTI_SPAM_MESSAGES);
+      return;
+    }
+
+    String senderName = coreManager.getChatFormatCache().getChatPrefix(sender) + sender.getName();
+    String recipientName = coreManager.getChatFormatCache().getChatPrefix(recipient) + recipient.getName();
 
     logger.send(sender, Config.PRIVATE_MESSAGES_SENDER_FORMAT.getString(new String[]{recipientName, message}));
     logger.send(recipient, Config.PRIVATE_MESSAGES_RECIPIENT_FORMAT.getString(new String[]{senderName, message}));
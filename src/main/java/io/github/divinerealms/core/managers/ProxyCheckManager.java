@@ -0,0 +1,101 @@
+package io.github.divinerealms.core.managers;
+
+import io.github.divinerealms.core.configs.Config;
+import io.github.divinerealms.core.configs.Settings;
+import io.github.divinerealms.core.main.CoreManager;
+import io.github.divinerealms.core.utilities.IpReputation;
+import io.github.divinerealms.core.utilities.Logger;
+import io.github.divinerealms.core.utilities.RateLimiter;
+import lombok.Getter;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static io.github.divinerealms.core.configs.Lang.PROXY_CHECK_KICK;
+import static io.github.divinerealms.core.configs.Lang.PROXY_CHECK_LOGIN_FLAGGED;
+import static io.github.divinerealms.core.utilities.Constants.PROXY_CHECK_COOLDOWN_MS;
+import static io.github.divinerealms.core.utilities.Permissions.PERM_ADMIN_PROXY_CHECK;
+
+/**
+ * Ties the {@link IpReputationService} to the server: prefetches the reputation of everyone online in
+ * one batch every {@code proxy_check.prefetch.interval_ticks}, saves the cache on the same timer, and
+ * checks joining players against the cache only, so a join never waits on the network.
+ */
+public class ProxyCheckManager {
+  private final CoreManager coreManager;
+  private final Plugin plugin;
+  private final Logger logger;
+  @Getter
+  private final IpReputationService service;
+  @Getter
+  private final RateLimiter cooldowns = new RateLimiter(RateLimiter.Mode.SLIDING_WINDOW, 1, PROXY_CHECK_COOLDOWN_MS);
+
+  public ProxyCheckManager(CoreManager coreManager) {
+    this.coreManager = coreManager;
+    this.plugin = coreManager.getPlugin();
+    this.logger = coreManager.getLogger();
+    this.service = new IpReputationService(new File(plugin.getDataFolder(), "ip-reputation.cache"),
+        () -> coreManager.getSettings().getProxyCheck(), plugin.getLogger());
+
+    long interval = Math.max(200L, Config.PROXY_CHECK_PREFETCH_INTERVAL.getValue(Number.class).longValue());
+    plugin.getServer().getScheduler().runTaskTimer(plugin, this::prefetchOnline, interval, interval);
+  }
+
+  public static String getAddress(Player player) {
+    InetSocketAddress address = player.getAddress();
+    return address != null && address.getAddress() != null
+           ? address.getAddress().getHostAddress()
+           : null;
+  }
+
+  /**
+   * Flags, and with {@code proxy_check.on_login.kick} kicks, a joining player whose address is already
+   * known to be a proxy. Addresses that are not cached yet are left to the next prefetch.
+   *
+   * @return whether the player was kicked
+   */
+  public boolean checkOnLogin(Player player) {
+    Settings settings = coreManager.getSettings();
+    if (!settings.isProxyCheckOnLogin()) {
+      return false;
+    }
+
+    String ip = getAddress(player);
+    IpReputation reputation = ip != null
+                              ? service.getCached(ip)
+                              : null;
+    if (reputation == null || !reputation.isProxy()) {
+      return false;
+    }
+
+    logger.send(PERM_ADMIN_PROXY_CHECK, PROXY_CHECK_LOGIN_FLAGGED, player.getName(), ip, reputation.getType(),
+        reputation.getProvider());
+    if (settings.isProxyCheckKickOnLogin() && !player.hasPermission(PERM_ADMIN_PROXY_CHECK)) {
+      player.kickPlayer(PROXY_CHECK_KICK.toString());
+      return true;
+    }
+    return false;
+  }
+
+  public void shutdown() {
+    service.shutdown();
+  }
+
+  private void prefetchOnline() {
+    Set<String> ips = new LinkedHashSet<>();
+    if (coreManager.getSettings().isProxyCheckPrefetch()) {
+      for (Player player : coreManager.getCachedPlayers()) {
+        String ip = getAddress(player);
+        if (ip != null) {
+          ips.add(ip);
+        }
+      }
+    }
+
+    service.prefetchAndSave(ips);
+  }
+}
@@ -4,27 +4,68 @@ import github.scarsz.discordsrv.DiscordSRV;
 import github.scarsz.discordsrv.dependencies.jda.api.EmbedBuilder;
 import github.scarsz.discordsrv.dependencies.jda.api.entities.TextChannel;
 import io.github.divinerealms.core.configs.Config;
+import io.github.divinerealms.core.configs.MatchJournal;
+import io.github.divinerealms.core.configs.Settings;
 import io.github.divinerealms.core.main.CoreManager;
+import io.github.divinerealms.core.utilities.ActionBarBroadcaster;
 import io.github.divinerealms.core.utilities.Logger;
+import io.github.divinerealms.core.utilities.Match;
+import io.github.divinerealms.core.utilities.Match.Half;
+import io.github.divinerealms.core.utilities.MatchClock;
+import io.github.divinerealms.core.utilities.MatchEvent;
+import io.github.divinerealms.core.utilities.MatchRenderer;
 import io.github.divinerealms.core.utilities.RosterInfo;
-import io.github.divinerealms.core.utilities.Timer;
 import lombok.Getter;
 import lombok.Setter;
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
 import java.awt.*;
-import java.util.Map;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.logging.Level;
 
 import static io.github.divinerealms.core.configs.Lang.*;
 
+/**
+ * Runs any number of matches side by side, each registered under its own id with its own clock.
+ * <p>
+ * Chat announcements still go to the whole server, but the live action bar of a match only reaches its
+ * audience: subscribers of the two roster channels and players standing near the match warp.
+ * <p>
+ * Every change to a match is appended to {@code matches.journal}, with a clock checkpoint every few
+ * seconds while a half is running. On startup the journal is replayed: finished matches are fed to the
+ * {@link StatsManager} and matches that were still in progress come back where they left off. Once the
+ * journal grows past {@code result.journal.compact_kilobytes} it is rewritten with only what a replay
+ * needs: the TEAMS, GOAL, GOAL_REMOVED and END records of finished matches, which rebuild the stats, and
+ * every record of the live matches except superseded clock checkpoints.
+ */
 public class ResultManager {
+  public static final String DEFAULT_MATCH = "main";
+
+  private final CoreManager coreManager;
   private final RostersManager rostersManager;
+  private final ChannelManager channelManager;
+  private final StatsManager statsManager;
+  private final DiscordRelay discordRelay;
   private final Logger logger;
   private final Plugin plugin;
+  private final Map<String, Match> matches = new LinkedHashMap<>();
+  private final MatchJournal journal;
+  private final List<MatchEvent> finishedEvents = new ArrayList<>();
+  private final Map<String, List<MatchEvent>> liveEvents = new LinkedHashMap<>();
+  private final long compactBytes;
+  private long compactedSize;
   @Getter
   private final Map<String, Map<String, String>> cachedTeamMedia = new ConcurrentHashMap<>();
   @Getter
@@ -33,140 +74,175 @@ public class ResultManager {
   @Getter
   @Setter
   private int defaultMatchDuration = defaultHalfDuration * 2;
-  @Getter
-  private int extraTime = 0;
-  @Getter
-  private String prefix = RESULT_PREFIX_HOST.toString();
-  @Getter
-  private String home, away;
-  @Getter
-  private String warp;
-  @Getter
-  private int homeScore;
-  @Getter
-  private int awayScore;
-  @Getter
-  private Half currentHalf = Half.NOT_STARTED;
-
-  private Timer matchTimer;
-  private int currentHalfExtraTime = 0;
-  private boolean paused = false;
-  private boolean shouldSendToDiscord = false;
-  @Getter
-  private boolean matchRunning = false;
 
   public ResultManager(CoreManager coreManager) {
+    this.coreManager = coreManager;
     this.rostersManager = coreManager.getRostersManager();
+    this.channelManager = coreManager.getChannelManager();
+    this.statsManager = coreManager.getStatsManager();
+    this.discordRelay = coreManager.getDiscordRelay();
     this.logger = coreManager.getLogger();
     this.plugin = coreManager.getPlugin();
+
+    this.compactBytes = Math.max(64L, Config.RESULT_JOURNAL_COMPACT.getValue(Number.class).longValue()) * 1024L;
+    this.journal = openJournal();
+    long flush = Math.max(1L, Config.RESULT_JOURNAL_FLUSH.getValue(Number.class).longValue());
+    long checkpoint = Math.max(20L, Config.RESULT_JOURNAL_CHECKPOINT.getValue(Number.class).longValue());
+    plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::flushJournal, flush, flush);
+    plugin.getServer().getScheduler().runTaskTimer(plugin, this::checkpoint, checkpoint, checkpoint);
+  }
+
+  public Match getMatch(String id) {
+    return matches.get(id.toLowerCase());
+  }
+
+  public Match getOrCreateMatch(String id) {
+    return matches.computeIfAbsent(id.toLowerCase(), key -> {
+      Match match = new Match(key, new MatchClock(plugin), RESULT_PREFIX_HOST.toString(), defaultHalfDuration);
+      int refresh = Config.RESULT_RENDERERS_ACTION_BAR_REFRESH.getValue(Integer.class);
+      match.getClock().addRenderer(new MatchRenderer(refresh, 40, () -> renderHalfMessage(match),
+          message -> logger.sendActionBar(getAudience(match), message)));
+      return match;
+    });
+  }
+
+  public Collection<Match> getMatches() {
+    return Collections.unmodifiableCollection(matches.values());
+  }
+
+  /**
+   * Players who follow the match: subscribers of either roster channel and anyone within
+   * {@code result.audience.radius} blocks of where the warp was set. Everyone online when the match has
+   * neither roster channels nor a warp location.
+   */
+  public Predicate<Player> getAudience(Match match) {
+    Set<UUID> subscribers = new HashSet<>();
+    if (match.getHomeChannel() != null) {
+      subscribers.addAll(channelManager.getSubscribers(match.getHomeChannel()));
+    }
+
+    if (match.getAwayChannel() != null) {
+      subscribers.addAll(channelManager.getSubscribers(match.getAwayChannel()));
+    }
+
+    Location center = match.getWarpLocation();
+    if (center == null) {
+      return subscribers.isEmpty()
+             ? player -> true
+             : ActionBarBroadcaster.subscribedTo(subscribers);
+    }
+
+    Predicate<Player> near = ActionBarBroadcaster.near(center, coreManager.getSettings().getResultAudienceRadius());
+    return subscribers.isEmpty()
+           ? near
+           : ActionBarBroadcaster.subscribedTo(subscribers).or(near);
   }
 
-  public void startMatch(CommandSender sender) {
-    if (home == null || away == null) {
+  public void startMatch(CommandSender sender, Match match) {
+    if (match.getHome() == null || match.getAway() == null) {
       logger.send(sender, RESULT_TEAMS_UNKNOWN);
       return;
     }
 
-    if (matchTimer != null && matchTimer.isRunning()) {
+    if (match.getClock().isRunning()) {
       logger.send(sender, RESULT_MATCH_RUNNING);
       return;
     }
 
-    if (currentHalf == Half.NOT_STARTED) {
-      currentHalf = Half.FIRST;
-      startHalf(Half.FIRST);
+    if (match.getCurrentHalf() == Half.NOT_STARTED) {
+      match.setCurrentHalf(Half.FIRST);
+      startHalf(match, Half.FIRST);
     } else {
-      if (currentHalf == Half.FIRST && paused) {
-        currentHalf = Half.SECOND;
-        paused = false;
-        startHalf(Half.SECOND);
+      if (match.getCurrentHalf() == Half.FIRST && match.isPaused()) {
+        match.setCurrentHalf(Half.SECOND);
+        match.setPaused(false);
+        startHalf(match, Half.SECOND);
       } else {
         logger.send(sender, RESULT_MATCH_FINISHED);
       }
     }
   }
 
-  private void startHalf(Half half) {
-    matchTimer = new Timer(plugin, () -> {
-      String msgMC = half == Half.FIRST
-                     ? Config.RESULT_FORMATS_MINECRAFT_START.getString(new String[]{prefix, home, away, warp})
-                     : Config.RESULT_FORMATS_MINECRAFT_SECOND_HALF.getString(new String[]{prefix, home, away, warp});
-
-      String msgDC = half == Half.FIRST
-                     ? Config.RESULT_FORMATS_DISCORD_START.getString(
-          new String[]{formatTime(matchTimer.getSecondsElapsed()), prefix, home, away})
-                     : Config.RESULT_FORMATS_DISCORD_SECOND_HALF.getString(new String[]{
-                         formatTime(matchTimer.getSecondsElapsed()), home, String.valueOf(homeScore),
-                         String.valueOf(awayScore), away
-                     });
-
-      broadcastBoth(msgMC, msgDC);
-    }, timer -> updateHalfMessage());
-
-    if (half == Half.SECOND) {
-      matchTimer.setSecondsElapsed(defaultHalfDuration);
-    }
-
-    matchTimer.start();
-    paused = false;
-    matchRunning = true;
+  private void startHalf(Match match, Half half) {
+    MatchClock clock = match.getClock();
+    clock.setSecondsElapsed(half == Half.SECOND
+                            ? match.getHalfDuration()
+                            : 0);
+
+    String prefix = match.getPrefix(), home = match.getHome(), away = match.getAway(), warp = match.getWarp();
+    String msgMC = half == Half.FIRST
+                   ? Config.RESULT_FORMATS_MINECRAFT_START.getString(new String[]{prefix, home, away, warp})
+                   : Config.RESULT_FORMATS_MINECRAFT_SECOND_HALF.getString(new String[]{prefix, home, away, warp});
+
+    String msgDC = half == Half.FIRST
+                   ? Config.RESULT_FORMATS_DISCORD_START.getString(
+        new String[]{formatTime(clock.getSecondsElapsed()), prefix, home, away})
+                   : Config.RESULT_FORMATS_DISCORD_SECOND_HALF.getString(new String[]{
+                       formatTime(clock.getSecondsElapsed()), home, String.valueOf(match.getHomeScore()),
+                       String.valueOf(match.getAwayScore()), away
+                   });
+
+    broadcastBoth(match, msgMC, msgDC);
+    clock.start();
+    match.setPaused(false);
+    match.setRunning(true);
+    record(MatchEvent.Type.HALF_START, match, clock.getSecondsElapsed(), half.name());
   }
 
-  private void endHalf() {
-    if (currentHalf == Half.FIRST) {
-      String msgMC = Config.RESULT_FORMATS_MINECRAFT_HALFTIME.getString(
-          new String[]{prefix, home, String.valueOf(homeScore), String.valueOf(awayScore), away, warp});
+  private void endHalf(Match match) {
+    if (match.getCurrentHalf() == Half.FIRST) {
+      String homeScore = String.valueOf(match.getHomeScore()), awayScore = String.valueOf(match.getAwayScore());
+      String msgMC = Config.RESULT_FORMATS_MINECRAFT_HALFTIME.getString(new String[]{
+          match.getPrefix(), match.getHome(), homeScore, awayScore, match.getAway(), match.getWarp()
+      });
       String msgDC = Config.RESULT_FORMATS_DISCORD_HALFTIME.getString(new String[]{
-          formatTime(matchTimer.getSecondsElapsed()), home, String.valueOf(homeScore), String.valueOf(awayScore), away,
-          warp
+          formatTime(match.getClock().getSecondsElapsed()), match.getHome(), homeScore, awayScore, match.getAway(),
+          match.getWarp()
       });
 
-      broadcastBoth(msgMC, msgDC);
-      paused = true;
-      currentHalfExtraTime = 0;
+      broadcastBoth(match, msgMC, msgDC);
+      match.setPaused(true);
+      match.setCurrentHalfExtraTime(0);
+      record(MatchEvent.Type.HALF_END, match, match.getClock().getSecondsElapsed());
     } else {
-      if (currentHalf == Half.SECOND) {
-        endMatch();
+      if (match.getCurrentHalf() == Half.SECOND) {
+        endMatch(match);
       }
     }
 
-    if (matchTimer != null) {
-      matchTimer.cancel();
-      matchTimer = null;
-    }
-
-    matchRunning = false;
+    match.getClock().stop();
+    match.setRunning(false);
   }
 
-  public void stopHalf(CommandSender sender) {
-    if (matchTimer != null) {
-      matchTimer.cancel();
+  public void stopHalf(CommandSender sender, Match match) {
+    if (match.getClock().isRunning()) {
+      match.getClock().stop();
       logger.send(sender, RESULT_HALF_STOPPED);
-      endHalf();
-      matchRunning = false;
-      currentHalfExtraTime = 0;
+      endHalf(match);
+      match.setRunning(false);
+      match.setCurrentHalfExtraTime(0);
     } else {
       logger.send(sender, RESULT_HALF_NONE);
     }
   }
 
-  public void stopMatch() {
-    if (matchTimer != null) {
-      matchTimer.cancel();
-    }
-
-    endMatch();
+  public void stopMatch(Match match) {
+    match.getClock().stop();
+    endMatch(match);
   }
 
-  private void endMatch() {
-    String msgMC = Config.RESULT_FORMATS_MINECRAFT_END.getString(
-        new String[]{prefix, home, String.valueOf(homeScore), String.valueOf(awayScore), away, warp});
+  private void endMatch(Match match) {
+    String home = match.getHome(), away = match.getAway();
+    int homeScore = match.getHomeScore(), awayScore = match.getAwayScore();
+    String msgMC = Config.RESULT_FORMATS_MINECRAFT_END.getString(new String[]{
+        match.getPrefix(), home, String.valueOf(homeScore), String.valueOf(awayScore), away, match.getWarp()
+    });
     String msgDC = Config.RESULT_FORMATS_DISCORD_END.getString(new String[]{
-        formatTime(matchTimer.getSecondsElapsed()), home, String.valueOf(homeScore), String.valueOf(awayScore), away,
-        warp
+        formatTime(match.getClock().getSecondsElapsed()), home, String.valueOf(homeScore), String.valueOf(awayScore),
+        away, match.getWarp()
     });
 
-    broadcastBoth(msgMC, msgDC);
+    broadcastBoth(match, msgMC, msgDC);
     String winner = (homeScore == awayScore)
                     ? null
                     : (homeScore > awayScore
@@ -179,44 +255,96 @@ public class ResultManager {
       sendWinVideoToDiscord(winner.trim().toUpperCase());
     }
 
-    resetMatch();
+    record(MatchEvent.Type.END, match, match.getClock().getSecondsElapsed());
+    statsManager.recordMatch(match);
+    resetMatch(match);
+  }
+
+  public void setTeams(CommandSender sender, Match match, String home, String away) {
+    RosterInfo homeRoster = rostersManager.getRoster(home.toLowerCase());
+    RosterInfo awayRoster = rostersManager.getRoster(away.toLowerCase());
+    match.setHome(resolveRosterName(match, home));
+    match.setAway(resolveRosterName(match, away));
+    match.setHomeChannel(homeRoster != null
+                         ? homeRoster.getName().toLowerCase()
+                         : null);
+    match.setAwayChannel(awayRoster != null
+                         ? awayRoster.getName().toLowerCase()
+                         : null);
+    match.setLeague(homeRoster != null && awayRoster != null &&
+                    homeRoster.getLeague().equalsIgnoreCase(awayRoster.getLeague())
+                    ? homeRoster.getLeague().toLowerCase()
+                    : null);
+    if (match.getWarp() == null) {
+      match.setWarp(home.toUpperCase());
+    }
+
+    record(MatchEvent.Type.TEAMS, match, 0, match.getHome(), match.getAway(), match.getHomeChannel(),
+        match.getAwayChannel(), String.valueOf(match.isShouldSendToDiscord()), match.getLeague());
+    logger.send(sender, RESULT_TEAMS_SET.replace(match.getHome(), match.getAway()));
   }
 
-  public void setTeams(CommandSender sender, String home, String away) {
-    this.home = resolveRosterName(home);
-    this.away = resolveRosterName(away);
-    if (this.warp == null) {
-      this.warp = home.toUpperCase();
+  public void setPrefix(CommandSender sender, Match match, String prefix) {
+    match.setPrefix(logger.color(prefix));
+    record(MatchEvent.Type.PREFIX, match, 0, match.getPrefix());
+    logger.send(sender, RESULT_MATCH_PREFIX.replace(match.getPrefix()));
+  }
+
+  /**
+   * The host prefix shown to a player: that of the match one of their roster channels plays in, else that
+   * of the {@value #DEFAULT_MATCH} match, else the configured default.
+   */
+  public String getHostPrefix(Player player) {
+    if (player != null) {
+      UUID uuid = player.getUniqueId();
+      for (Match match : matches.values()) {
+        if (isSubscribed(match.getHomeChannel(), uuid) || isSubscribed(match.getAwayChannel(), uuid)) {
+          return match.getPrefix();
+        }
+      }
     }
 
-    logger.send(sender, RESULT_TEAMS_SET.replace(this.home, this.away));
+    Match main = matches.get(DEFAULT_MATCH);
+    return main != null
+           ? main.getPrefix()
+           : RESULT_PREFIX_HOST.toString();
   }
 
-  public void setPrefix(CommandSender sender, String prefix) {
-    this.prefix = logger.color(prefix);
-    logger.send(sender, RESULT_MATCH_PREFIX.replace(this.prefix));
+  private boolean isSubscribed(String channel, UUID uuid) {
+    return channel != null && channelManager.getSubscribers(channel).contains(uuid);
   }
 
-  public void setWarp(CommandSender sender, String warp) {
-    this.warp = warp;
+  public void setWarp(CommandSender sender, Match match, String warp) {
+    match.setWarp(warp);
+    if (sender instanceof Player) {
+      match.setWarpLocation(((Player) sender).getLocation());
+    }
+
+    Location location = match.getWarpLocation();
+    if (location != null) {
+      record(MatchEvent.Type.WARP, match, 0, warp, location.getWorld().getName(), String.valueOf(location.getX()),
+          String.valueOf(location.getY()), String.valueOf(location.getZ()));
+    } else {
+      record(MatchEvent.Type.WARP, match, 0, warp);
+    }
+
     logger.send(sender, RESULT_WARP_SET.replace(warp.toUpperCase()));
   }
 
-  public void setTime(CommandSender sender, int totalSeconds) {
-    if (totalSeconds == defaultHalfDuration) {
+  public void setTime(CommandSender sender, Match match, int totalSeconds) {
+    if (totalSeconds == match.getHalfDuration()) {
       logger.send(sender, RESULT_MATCH_TIME_ALREADY);
       return;
     }
 
-    defaultHalfDuration = totalSeconds;
-    if (matchTimer != null && matchTimer.isRunning()) {
-      updateHalfMessage();
-    }
+    match.setHalfDuration(totalSeconds);
+    record(MatchEvent.Type.TIME, match, totalSeconds);
+    updateHalfMessage(match);
 
     logger.send(sender, RESULT_MATCH_TIME.replace(formatTime(totalSeconds)));
   }
 
-  public void addExtraTime(CommandSender sender, String value) {
+  public void addExtraTime(CommandSender sender, Match match, String value) {
     boolean subtract = false;
     String input = value;
 
@@ -231,35 +359,44 @@ public class ResultManager {
         seconds = -seconds;
       }
 
-      currentHalfExtraTime += seconds;
+      match.setCurrentHalfExtraTime(match.getCurrentHalfExtraTime() + seconds);
+      record(MatchEvent.Type.EXTRA_TIME, match, seconds);
       logger.send(sender, RESULT_MATCH_EXTRA.replace((subtract
                                                       ? "&c-"
                                                       : "&a+") + Math.abs(seconds)));
-      updateHalfMessage();
+      updateHalfMessage(match);
     } catch (NumberFormatException exception) {
       logger.send(sender, RESULT_MATCH_INVALID_TIME);
     }
   }
 
-  public void addScore(CommandSender sender, String team, String scorer, String assist) {
+  public void addScore(CommandSender sender, Match match, String team, String scorer, String assist) {
     if ("home".equalsIgnoreCase(team)) {
-      homeScore++;
+      match.setHomeScore(match.getHomeScore() + 1);
     } else {
       if ("away".equalsIgnoreCase(team)) {
-        awayScore++;
+        match.setAwayScore(match.getAwayScore() + 1);
       } else {
         logger.send(sender, RESULT_TEAMS_INVALID);
         return;
       }
     }
 
+    String home = match.getHome(), away = match.getAway();
+    String homeScore = String.valueOf(match.getHomeScore()), awayScore = String.valueOf(match.getAwayScore());
     String teamName = "home".equalsIgnoreCase(team)
                       ? home
                       : away;
-    String time = formatTime(matchTimer.getSecondsElapsed());
-    int goalMinute = matchTimer != null
-                     ? matchTimer.getSecondsElapsed() / 60 + 1
-                     : 0;
+    String time = formatTime(match.getClock().getSecondsElapsed());
+    boolean isHome = "home".equalsIgnoreCase(team);
+    String assister = assist != null && !assist.isEmpty()
+                      ? assist
+                      : null;
+    match.getGoals().add(new Match.Goal(isHome, scorer, assister));
+    record(MatchEvent.Type.GOAL, match, match.getClock().getSecondsElapsed(), isHome
+                                                                               ? "home"
+                                                                               : "away", scorer, assister);
+    int goalMinute = match.getClock().getSecondsElapsed() / 60 + 1;
 
     String msgMC;
     if (assist != null && !assist.isEmpty()) {
@@ -270,18 +407,19 @@ public class ResultManager {
           new String[]{scorer, teamName, String.valueOf(goalMinute)});
     }
 
-    broadcastMinecraft(msgMC);
-    updateHalfMessage();
+    broadcastMinecraft(match, msgMC);
+    updateHalfMessage(match);
 
-    if (!Config.RESULT_ENABLED.getValue(Boolean.class) || DiscordSRV.getPlugin() == null) {
+    Settings settings = coreManager.getSettings();
+    if (!settings.isResultEnabled() || DiscordSRV.getPlugin() == null) {
       return;
     }
 
-    if (!shouldSendToDiscord) {
+    if (!match.isShouldSendToDiscord()) {
       return;
     }
 
-    String discordID = Config.RESULT_DISCORD_ID.getString(null);
+    String discordID = settings.getResultDiscordId();
     if (discordID.isEmpty()) {
       return;
     }
@@ -295,9 +433,9 @@ public class ResultManager {
     if (type.equalsIgnoreCase("embed")) {
       String description = assist != null && !assist.isEmpty()
                            ? Config.RESULT_FORMATS_DISCORD_GOAL_ASSIST_EMBED_DESCRIPTION.getString(
-          new String[]{scorer, assist, home, String.valueOf(homeScore), String.valueOf(awayScore), away, time})
+          new String[]{scorer, assist, home, homeScore, awayScore, away, time})
                            : Config.RESULT_FORMATS_DISCORD_GOAL_ADD_EMBED_DESCRIPTION.getString(new String[]{
-                               scorer, home, String.valueOf(homeScore), String.valueOf(awayScore), away, time
+                               scorer, home, homeScore, awayScore, away, time
                            });
 
       EmbedBuilder embedBuilder = new EmbedBuilder()
@@ -323,38 +461,40 @@ public class ResultManager {
     } else {
       String message = assist != null && !assist.isEmpty()
                        ? Config.RESULT_FORMATS_DISCORD_GOAL_ASSIST_REGULAR.getString(new String[]{
-          time, scorer, teamName, assist, home, String.valueOf(homeScore), String.valueOf(awayScore), away
+          time, scorer, teamName, assist, home, homeScore, awayScore, away
       })
                        : Config.RESULT_FORMATS_DISCORD_GOAL_ADD_REGULAR.getString(new String[]{
-                           time, scorer, teamName, home, String.valueOf(homeScore), String.valueOf(awayScore), away
+                           time, scorer, teamName, home, homeScore, awayScore, away
                        });
 
       channel.sendMessage(ChatColor.stripColor(logger.color(message))).queue();
     }
   }
 
-  public void removeScore(CommandSender sender, String team) {
+  public void removeScore(CommandSender sender, Match match, String team) {
     String teamName;
 
     switch (team.toLowerCase()) {
       case "home":
-        if (homeScore <= 0) {
+        if (match.getHomeScore() <= 0) {
           logger.send(sender, RESULT_SCORE_INVALID);
           return;
         }
 
-        homeScore--;
-        teamName = home;
+        match.setHomeScore(match.getHomeScore() - 1);
+        match.removeLastGoal(true);
+        teamName = match.getHome();
         break;
 
       case "away":
-        if (awayScore <= 0) {
+        if (match.getAwayScore() <= 0) {
           logger.send(sender, RESULT_SCORE_INVALID);
           return;
         }
 
-        awayScore--;
-        teamName = away;
+        match.setAwayScore(match.getAwayScore() - 1);
+        match.removeLastGoal(false);
+        teamName = match.getAway();
         break;
 
       default:
@@ -362,96 +502,300 @@ public class ResultManager {
         return;
     }
 
-    String msgMC = Config.RESULT_FORMATS_MINECRAFT_GOAL_REMOVE.getString(new String[]{prefix, teamName, warp});
+    record(MatchEvent.Type.GOAL_REMOVED, match, match.getClock().getSecondsElapsed(), team.toLowerCase());
+    String msgMC = Config.RESULT_FORMATS_MINECRAFT_GOAL_REMOVE.getString(
+        new String[]{match.getPrefix(), teamName, match.getWarp()});
     String msgDC = Config.RESULT_FORMATS_DISCORD_GOAL_REMOVE.getString(
-        new String[]{formatTime(matchTimer.getSecondsElapsed()), teamName, warp});
+        new String[]{formatTime(match.getClock().getSecondsElapsed()), teamName, match.getWarp()});
 
-    broadcastBoth(msgMC, msgDC);
-    updateHalfMessage();
+    broadcastBoth(match, msgMC, msgDC);
+    updateHalfMessage(match);
     logger.send(sender, RESULT_SCORE_UPDATED.replace(team));
   }
 
-  public void updateHalfMessage() {
-    if (matchTimer == null) {
-      return;
-    }
+  /**
+   * Redraws every renderer of the match now instead of waiting for its next refresh.
+   */
+  public void updateHalfMessage(Match match) {
+    match.getClock().publish();
+  }
 
-    int displayTime = matchTimer.getSecondsElapsed();
-    String msgMC = Config.RESULT_FORMATS_MINECRAFT_UPDATE.getString(
+  private String renderHalfMessage(Match match) {
+    int displayTime = match.getClock().getSecondsElapsed();
+    return Config.RESULT_FORMATS_MINECRAFT_UPDATE.getString(
         new String[]{
-            prefix, home, String.valueOf(homeScore), String.valueOf(awayScore), away,
-            formatColoredTime(displayTime),
-            currentHalf == Half.FIRST
+            match.getPrefix(), match.getHome(), String.valueOf(match.getHomeScore()),
+            String.valueOf(match.getAwayScore()), match.getAway(),
+            formatColoredTime(match, displayTime),
+            match.getCurrentHalf() == Half.FIRST
             ? " 1HT"
             : " 2HT",
-            currentHalfExtraTime > 0
-            ? "&c (ET: " + formatTime(currentHalfExtraTime) + ")"
-            : "", warp
+            match.getCurrentHalfExtraTime() > 0
+            ? "&c (ET: " + formatTime(match.getCurrentHalfExtraTime()) + ")"
+            : "", match.getWarp()
         });
-
-    logger.broadcastBar(msgMC);
   }
 
-  public void broadcastMinecraft(String message) {
+  public void broadcastMinecraft(Match match, String message) {
     logger.broadcast(message);
-    logger.broadcastBar(message);
+    logger.sendActionBar(getAudience(match), message);
   }
 
-  public void broadcastDiscord(String message) {
-    if (shouldSendToDiscord) {
+  public void broadcastDiscord(Match match, String message) {
+    if (match.isShouldSendToDiscord()) {
       sendToDiscord(message);
     }
   }
 
-  public void broadcastBoth(String minecraftMsg, String discordMsg) {
-    broadcastMinecraft(minecraftMsg);
-    broadcastDiscord(discordMsg);
+  public void broadcastBoth(Match match, String minecraftMsg, String discordMsg) {
+    broadcastMinecraft(match, minecraftMsg);
+    broadcastDiscord(match, discordMsg);
   }
 
-  public String getMatchStatus() {
-    if (currentHalf == Half.NOT_STARTED) {
+  public String getMatchStatus(Match match) {
+    if (match == null || match.getCurrentHalf() == Half.NOT_STARTED) {
       return RESULT_STATUS_NONE.toString();
     }
 
     return RESULT_STATUS.replace(
-        prefix, home, String.valueOf(homeScore), String.valueOf(awayScore), away,
-        formatColoredTime(matchTimer.getSecondsElapsed()),
-        currentHalf == Half.FIRST
+        match.getPrefix(), match.getHome(), String.valueOf(match.getHomeScore()),
+        String.valueOf(match.getAwayScore()), match.getAway(),
+        formatColoredTime(match, match.getClock().getSecondsElapsed()),
+        match.getCurrentHalf() == Half.FIRST
         ? " 1HT"
         : " 2HT",
-        paused
+        match.isPaused()
         ? "&c Pauziran"
         : "",
-        currentHalfExtraTime > 0
-        ? "&c (ET: " + formatTime(currentHalfExtraTime) + ")"
-        : "", warp);
+        match.getCurrentHalfExtraTime() > 0
+        ? "&c (ET: " + formatTime(match.getCurrentHalfExtraTime()) + ")"
+        : "", match.getWarp());
   }
 
-  private String resolveRosterName(String input) {
+  private String resolveRosterName(Match match, String input) {
     RosterInfo roster = rostersManager.getRoster(input.toLowerCase());
     if (roster != null) {
-      shouldSendToDiscord = true;
+      match.setShouldSendToDiscord(true);
       return roster.getTag() != null
              ? roster.getTag()
              : roster.getName().toUpperCase();
     }
 
-    shouldSendToDiscord = false;
+    match.setShouldSendToDiscord(false);
     return input;
   }
 
-  public void resetMatch() {
-    home = null;
-    away = null;
-    homeScore = 0;
-    awayScore = 0;
-    matchTimer = null;
-    currentHalf = Half.NOT_STARTED;
-    paused = false;
-    prefix = "&bEvent";
-    currentHalfExtraTime = 0;
-    matchRunning = false;
-    warp = null;
+  public void resetMatch(Match match) {
+    match.getClock().reset();
+    matches.remove(match.getId());
+  }
+
+  /**
+   * Writes a clock checkpoint for every running match and closes the journal.
+   */
+  public void shutdown() {
+    checkpoint();
+    if (journal == null) {
+      return;
+    }
+
+    try {
+      journal.close();
+    } catch (IOException exception) {
+      plugin.getLogger().log(Level.WARNING, "Failed to close matches.journal", exception);
+    }
+  }
+
+  private MatchJournal openJournal() {
+    try {
+      MatchJournal opened = new MatchJournal(new File(plugin.getDataFolder(), "matches.journal"), this::replay);
+      for (Match match : matches.values()) {
+        if (match.isRunning()) {
+          match.getClock().start();
+        }
+
+        logger.info("&a✔ &9Recovered match &e" + match.getId() + "&9 from the journal.");
+      }
+      return opened;
+    } catch (IOException exception) {
+      matches.clear();
+      plugin.getLogger().log(Level.SEVERE, "Failed to open matches.journal, matches will not be recorded",
+          exception);
+      return null;
+    }
+  }
+
+  private void replay(MatchEvent event) {
+    track(event);
+    Match match = getOrCreateMatch(event.getMatchId());
+    switch (event.getType()) {
+      case TEAMS:
+        match.setHome(event.getArg(0));
+        match.setAway(event.getArg(1));
+        match.setHomeChannel(event.getArg(2));
+        match.setAwayChannel(event.getArg(3));
+        match.setShouldSendToDiscord(Boolean.parseBoolean(event.getArg(4)));
+        match.setLeague(event.getArg(5));
+        break;
+
+      case PREFIX:
+        match.setPrefix(event.getArg(0));
+        break;
+
+      case WARP:
+        match.setWarp(event.getArg(0));
+        World world = event.getArg(1) != null
+                      ? Bukkit.getWorld(event.getArg(1))
+                      : null;
+        match.setWarpLocation(world != null
+                              ? new Location(world, Double.parseDouble(event.getArg(2)),
+            Double.parseDouble(event.getArg(3)), Double.parseDouble(event.getArg(4)))
+                              : null);
+        break;
+
+      case TIME:
+        match.setHalfDuration(event.getSeconds());
+        break;
+
+      case HALF_START:
+        match.setCurrentHalf(Half.valueOf(event.getArg(0)));
+        match.setPaused(false);
+        match.setRunning(true);
+        match.getClock().setSecondsElapsed(event.getSeconds());
+        break;
+
+      case HALF_END:
+        match.setPaused(true);
+        match.setRunning(false);
+        match.setCurrentHalfExtraTime(0);
+        match.getClock().setSecondsElapsed(event.getSeconds());
+        break;
+
+      case CHECKPOINT:
+        match.getClock().setSecondsElapsed(event.getSeconds());
+        break;
+
+      case GOAL:
+        boolean home = "home".equals(event.getArg(0));
+        if (home) {
+          match.setHomeScore(match.getHomeScore() + 1);
+        } else {
+          match.setAwayScore(match.getAwayScore() + 1);
+        }
+        match.getGoals().add(new Match.Goal(home, event.getArg(1), event.getArg(2)));
+        break;
+
+      case GOAL_REMOVED:
+        if ("home".equals(event.getArg(0))) {
+          match.setHomeScore(Math.max(0, match.getHomeScore() - 1));
+          match.removeLastGoal(true);
+        } else {
+          match.setAwayScore(Math.max(0, match.getAwayScore() - 1));
+          match.removeLastGoal(false);
+        }
+        break;
+
+      case EXTRA_TIME:
+        match.setCurrentHalfExtraTime(match.getCurrentHalfExtraTime() + event.getSeconds());
+        break;
+
+      case END:
+        statsManager.recordMatch(match);
+        resetMatch(match);
+        break;
+    }
+  }
+
+  private void record(MatchEvent.Type type, Match match, int seconds, String... args) {
+    if (journal == null) {
+      return;
+    }
+
+    MatchEvent event = new MatchEvent(type, System.currentTimeMillis(), match.getId(), seconds, args);
+    track(event);
+    try {
+      journal.append(event);
+    } catch (IOException exception) {
+      plugin.getLogger().log(Level.WARNING, "Failed to write " + type + " to matches.journal", exception);
+    }
+  }
+
+  /**
+   * Keeps the records a compacted journal needs: all of a live match, and only what the stats are built
+   * from once it has ended. Only the latest checkpoint of a match is kept.
+   */
+  private void track(MatchEvent event) {
+    String id = event.getMatchId().toLowerCase();
+    if (event.getType() == MatchEvent.Type.END) {
+      List<MatchEvent> events = liveEvents.remove(id);
+      if (events != null) {
+        for (MatchEvent previous : events) {
+          switch (previous.getType()) {
+            case TEAMS:
+            case GOAL:
+            case GOAL_REMOVED:
+              finishedEvents.add(previous);
+              break;
+            default:
+              break;
+          }
+        }
+      }
+      finishedEvents.add(event);
+      return;
+    }
+
+    List<MatchEvent> events = liveEvents.computeIfAbsent(id, key -> new ArrayList<>());
+    int last = events.size() - 1;
+    if (event.getType() == MatchEvent.Type.CHECKPOINT && last >= 0 &&
+        events.get(last).getType() == MatchEvent.Type.CHECKPOINT) {
+      events.set(last, event);
+    } else {
+      events.add(event);
+    }
+  }
+
+  private void checkpoint() {
+    for (Match match : matches.values()) {
+      if (match.isRunning()) {
+        record(MatchEvent.Type.CHECKPOINT, match, match.getClock().getSecondsElapsed());
+      }
+    }
+
+    if (journal != null && journal.size() > Math.max(compactBytes, compactedSize * 2)) {
+      compactJournal();
+    }
+  }
+
+  /**
+   * Runs on the main thread like every append, so no record can be written between taking the list and
+   * swapping the file.
+   */
+  private void compactJournal() {
+    List<MatchEvent> events = new ArrayList<>(finishedEvents);
+    liveEvents.values().forEach(events::addAll);
+
+    long before = journal.size();
+    try {
+      journal.rewrite(events);
+      compactedSize = journal.size();
+      logger.info("&a✔ &9Compacted matches.journal from &e" + before / 1024 + " KB &9to &e" +
+                  compactedSize / 1024 + " KB&9.");
+    } catch (IOException exception) {
+      plugin.getLogger().log(Level.WARNING, "Failed to compact matches.journal", exception);
+    }
+  }
+
+  private void flushJournal() {
+    if (journal == null) {
+      return;
+    }
+
+    try {
+      journal.flush();
+    } catch (IOException exception) {
+      plugin.getLogger().log(Level.WARNING, "Failed to flush matches.journal", exception);
+    }
   }
 
   public int parseTime(String input) throws NumberFormatException {
@@ -509,12 +853,12 @@ public class ResultManager {
     return String.format("%02d:%02d", minutes, seconds);
   }
 
-  public String formatColoredTime(int secondsElapsed) {
-    int totalTime = defaultHalfDuration + currentHalfExtraTime;
+  public String formatColoredTime(Match match, int secondsElapsed) {
+    int totalTime = match.getHalfDuration() + match.getCurrentHalfExtraTime();
     int warningThreshold = (int) (totalTime * 0.8);
 
     int adjustedSeconds = secondsElapsed;
-    if (currentHalf == Half.SECOND) {
+    if (match.getCurrentHalf() == Half.SECOND) {
       adjustedSeconds -= totalTime;
       if (adjustedSeconds < 0) {
         adjustedSeconds = 0;
@@ -534,21 +878,17 @@ public class ResultManager {
   }
 
   public void sendToDiscord(String message) {
-    if (!Config.RESULT_ENABLED.getValue(Boolean.class) || DiscordSRV.getPlugin() == null) {
+    Settings settings = coreManager.getSettings();
+    if (!settings.isResultEnabled() || DiscordSRV.getPlugin() == null) {
       return;
     }
 
-    String discordID = Config.RESULT_DISCORD_ID.getString(null);
+    String discordID = settings.getResultDiscordId();
     if (discordID.isEmpty()) {
       return;
     }
 
-    TextChannel channel = DiscordSRV.getPlugin().getJda().getTextChannelById(discordID);
-    if (channel == null) {
-      return;
-    }
-
-    channel.sendMessage(ChatColor.stripColor(logger.color(message))).queue();
+    discordRelay.enqueue(discordID, logger.color(message), false);
   }
 
   public void preloadTeamMedia() {
@@ -592,7 +932,8 @@ public class ResultManager {
   }
 
   private void sendWinVideoToDiscord(String teamName) {
-    if (!Config.RESULT_ENABLED.getValue(Boolean.class) || DiscordSRV.getPlugin() == null) {
+    Settings settings = coreManager.getSettings();
+    if (!settings.isResultEnabled() || DiscordSRV.getPlugin() == null) {
       return;
     }
 
@@ -607,7 +948,7 @@ public class ResultManager {
       return;
     }
 
-    String discordID = Config.RESULT_DISCORD_ID.getString(null);
+    String discordID = settings.getResultDiscordId();
     if (discordID.isBlank()) {
       return;
     }
@@ -619,6 +960,4 @@ public class ResultManager {
 
     channel.sendMessage(url).queue();
   }
-
-  public enum Half {NOT_STARTED, FIRST, SECOND}
 }
\ No newline at end of file
@@ -1,39 +1,76 @@
 package io.github.divinerealms.core.managers;
 
+import io.github.divinerealms.core.configs.Config;
 import io.github.divinerealms.core.main.CoreManager;
 import io.github.divinerealms.core.utilities.Logger;
 import io.github.divinerealms.core.utilities.RosterInfo;
+import io.github.divinerealms.core.utilities.RosterView;
 import lombok.Getter;
-import lombok.Setter;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
-
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 import java.util.stream.Collectors;
 
 import static io.github.divinerealms.core.configs.Lang.*;
 
+/**
+ * Holds all rosters and leagues.
+ * <p>
+ * Changes only mark the rosters dirty. {@code rosters.yml} is written from an immutable snapshot on an
+ * async task once no change has happened for {@code rosters.save.delay_ticks}, or at the latest
+ * {@code rosters.save.max_delay_ticks} after the first change, through a temporary file and an atomic
+ * rename. {@link #saveRosters()} writes immediately and is used by {@code /rosters flush} and on disable.
+ */
 public class RostersManager {
+  private final Plugin plugin;
   private final ConfigManager configManager;
   private final ChannelManager channelManager;
+  private final ChatFormatCache chatFormatCache;
   private final Logger logger;
 
   @Getter
   private final Map<String, RosterInfo> rosters = new ConcurrentHashMap<>();
-  private final Map<String, String> playerToRoster = new ConcurrentHashMap<>();
+  private volatile Map<String, Map<String, RosterInfo>> membership = Collections.emptyMap();
+  private final Map<String, RosterView> views = new ConcurrentHashMap<>();
+  /** Bumped before views are dropped, so a view built from older membership is never kept. */
+  private final AtomicLong viewGeneration = new AtomicLong();
+  @Getter
+  private volatile String activeLeague = "main";
+  /** Replaced as a whole on every change, like {@link #membership}, since views read it off the main thread. */
   @Getter
-  private String activeLeague = "main";
+  private volatile List<String> availableLeagues = Collections.emptyList();
+
+  private final File rostersFile;
+  private final Object writeLock = new Object();
+  private BukkitTask saveTask;
+  private long dirtySince;
+  private long version, writtenVersion;
   @Getter
-  @Setter
-  private List<String> availableLeagues;
+  private boolean modified = false;
 
   public RostersManager(CoreManager coreManager) {
+    this.plugin = coreManager.getPlugin();
+    this.rostersFile = new File(plugin.getDataFolder(), "rosters.yml");
     this.configManager = coreManager.getConfigManager();
     this.channelManager = coreManager.getChannelManager();
+    this.chatFormatCache = coreManager.getChatFormatCache();
     this.logger = coreManager.getLogger();
 
     configManager.createNewFile("rosters.yml", "Core Rosters Configuration");
@@ -41,17 +78,19 @@ public class RostersManager {
   }
 
   public void loadRosters() {
+    modified = false;
     rosters.clear();
-    playerToRoster.clear();
+    invalidateViews();
+    rebuildMembership();
 
     FileConfiguration config = configManager.getConfig("config.yml");
     FileConfiguration rtConfig = configManager.getConfig("rosters.yml");
 
     activeLeague = config.getString("rosters.active_league", "main");
     List<String> loadedLeagues = config.getStringList("rosters.available_leagues");
-    availableLeagues = loadedLeagues.isEmpty()
-                       ? new ArrayList<>(List.of("main", "juniors", "nationals"))
-                       : loadedLeagues;
+    availableLeagues = Collections.unmodifiableList(loadedLeagues.isEmpty()
+                                                    ? new ArrayList<>(List.of("main", "juniors", "nationals"))
+                                                    : new ArrayList<>(loadedLeagues));
 
     ConfigurationSection rostersSection = rtConfig.getConfigurationSection("rosters");
     if (rostersSection == null) {
@@ -79,8 +118,6 @@ public class RostersManager {
       List<String> members = rtConfig.getStringList(path + ".members");
       for (String playerName : members) {
         roster.addMember(playerName);
-        String lookupKey = playerName + ":" + league.toLowerCase();
-        playerToRoster.put(lookupKey, rosterName.toUpperCase());
       }
 
       rosters.put(rosterName.toUpperCase(), roster);
@@ -89,38 +126,107 @@ public class RostersManager {
       }
     }
 
+    rebuildMembership();
+    chatFormatCache.invalidateAll();
+    invalidateViews();
+    int memberCount = 0;
+    for (Map<String, RosterInfo> playerRosters : membership.values()) {
+      memberCount += playerRosters.size();
+    }
     logger.info(
-        "&a✔ &9Loaded &e" + rosters.size() + " &9rosters with &e" + playerToRoster.size() + " &9total members.");
+        "&a✔ &9Loaded &e" + rosters.size() + " &9rosters with &e" + memberCount + " &9total members.");
   }
 
+  /**
+   * Writes the rosters now, cancelling any pending debounced save.
+   */
   public void saveRosters() {
+    if (saveTask != null) {
+      saveTask.cancel();
+      saveTask = null;
+    }
+
+    write(snapshot());
+  }
+
+  public void reloadRosters() {
+    if (modified) {
+      saveRosters();
+    }
+
+    configManager.reloadConfig("rosters.yml");
+    loadRosters();
+  }
+
+  private void markDirty() {
+    modified = true;
     FileConfiguration config = configManager.getConfig("config.yml");
-    FileConfiguration rtConfig = configManager.getConfig("rosters.yml");
     config.set("rosters.active_league", activeLeague);
     config.set("rosters.available_leagues", availableLeagues);
-    rtConfig.set("rosters", null);
 
-    for (Map.Entry<String, RosterInfo> entry : rosters.entrySet()) {
-      String rosterName = entry.getKey();
-      RosterInfo roster = entry.getValue();
-      String path = "rosters." + rosterName;
-
-      rtConfig.set(path + ".longName", roster.getLongName());
-      rtConfig.set(path + ".tag", roster.getTag());
-      rtConfig.set(path + ".league", roster.getLeague());
-      rtConfig.set(path + ".manager", roster.getManager());
-      rtConfig.set(path + ".discordChannelId", roster.getDiscordChannelId());
+    long now = System.currentTimeMillis();
+    long maxDelayMillis = Config.ROSTERS_SAVE_MAX_DELAY.getValue(Number.class).longValue() * 50;
+    if (saveTask == null) {
+      dirtySince = now;
+    } else {
+      if (now - dirtySince >= maxDelayMillis) {
+        return;
+      }
 
-      List<String> members = new ArrayList<>(roster.getMembers());
-      rtConfig.set(path + ".members", members);
+      saveTask.cancel();
     }
 
-    configManager.saveConfig("rosters.yml");
+    long delay = Math.max(1, Config.ROSTERS_SAVE_DELAY.getValue(Number.class).longValue());
+    saveTask = plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+      saveTask = null;
+      Snapshot snapshot = snapshot();
+      plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> write(snapshot));
+    }, delay);
   }
 
-  public void reloadRosters() {
-    configManager.reloadConfig("rosters.yml");
-    loadRosters();
+  private Snapshot snapshot() {
+    List<RosterRecord> records = new ArrayList<>(rosters.size());
+    for (Map.Entry<String, RosterInfo> entry : rosters.entrySet()) {
+      RosterInfo roster = entry.getValue();
+      records.add(new RosterRecord(entry.getKey(), roster.getLongName(), roster.getTag(), roster.getLeague(),
+          roster.getManager(), roster.getDiscordChannelId(), new ArrayList<>(roster.getMembers())));
+    }
+    return new Snapshot(++version, records);
+  }
+
+  private void write(Snapshot snapshot) {
+    synchronized (writeLock) {
+      if (snapshot.version <= writtenVersion) {
+        return;
+      }
+
+      YamlConfiguration rtConfig = new YamlConfiguration();
+      rtConfig.options().header("Core Rosters Configuration");
+      for (RosterRecord roster : snapshot.rosters) {
+        String path = "rosters." + roster.name;
+
+        rtConfig.set(path + ".longName", roster.longName);
+        rtConfig.set(path + ".tag", roster.tag);
+        rtConfig.set(path + ".league", roster.league);
+        rtConfig.set(path + ".manager", roster.manager);
+        rtConfig.set(path + ".discordChannelId", roster.discordChannelId);
+        rtConfig.set(path + ".members", roster.members);
+      }
+
+      Path target = rostersFile.toPath();
+      Path temp = new File(rostersFile.getParentFile(), rostersFile.getName() + ".tmp").toPath();
+      try {
+        Files.write(temp, rtConfig.saveToString().getBytes(StandardCharsets.UTF_8));
+        try {
+          Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException exception) {
+          Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        writtenVersion = snapshot.version;
+      } catch (IOException exception) {
+        plugin.getLogger().log(Level.SEVERE, "Could not save rosters to " + rostersFile, exception);
+      }
+    }
   }
 
   public boolean createRoster(String name, String tag, String league) {
@@ -131,11 +237,12 @@ public class RostersManager {
 
     RosterInfo roster = new RosterInfo(name, tag, league);
     rosters.put(upperName, roster);
+    rebuildMembership();
     if (channelManager != null) {
       channelManager.createRosterChannel(name, roster.getDiscordChannelId());
     }
 
-    saveRosters();
+    markDirty();
 
     return true;
   }
@@ -147,13 +254,13 @@ public class RostersManager {
       return false;
     }
 
-    String league = roster.getLeague();
+    rebuildMembership();
     for (String playerName : roster.getMembers()) {
-      String lookupKey = playerName + ":" + league.toLowerCase();
-      playerToRoster.remove(lookupKey);
+      chatFormatCache.invalidate(playerName);
     }
 
-    saveRosters();
+    invalidateViews();
+    markDirty();
     return true;
   }
 
@@ -162,34 +269,72 @@ public class RostersManager {
   }
 
   public RosterInfo getPlayerRoster(String playerName, String league) {
-    String lookupKey = playerName + ":" + league.toLowerCase();
-    String rosterName = playerToRoster.get(lookupKey);
-    return rosterName != null
-           ? rosters.get(rosterName)
-           : null;
+    return getPlayerRosters(playerName).get(league.toLowerCase());
   }
 
+  /**
+   * Returns the player's roster in the active league, or any of their rosters if they have none there.
+   */
   public RosterInfo getPlayerRoster(Player player) {
-    for (RosterInfo roster : rosters.values()) {
-      if (roster.getMembers().contains(player.getName())) {
-        return roster;
-      }
+    Map<String, RosterInfo> playerRosters = getPlayerRosters(player.getName());
+    RosterInfo roster = playerRosters.get(activeLeague);
+    if (roster != null || playerRosters.isEmpty()) {
+      return roster;
+    }
+
+    return playerRosters.values().iterator().next();
+  }
 
-      if (player.getName().equalsIgnoreCase(roster.getManager())) {
-        return roster;
+  /**
+   * Returns the cached placeholder view of a player's rosters, building it on first use.
+   */
+  public RosterView getRosterView(String playerName) {
+    RosterView view = views.get(playerName);
+    if (view == null) {
+      long generation = viewGeneration.get();
+      String league = activeLeague;
+      view = new RosterView(playerName, league, getPlayerRoster(playerName, league),
+          getPlayerRosters(playerName), availableLeagues, configManager.getConfig("config.yml"));
+      views.put(playerName, view);
+      if (viewGeneration.get() != generation) {
+        views.remove(playerName, view);
       }
     }
-    return null;
+    return view;
+  }
+
+  public void invalidateView(String playerName) {
+    viewGeneration.incrementAndGet();
+    views.remove(playerName);
+  }
+
+  private void invalidateViews() {
+    viewGeneration.incrementAndGet();
+    views.clear();
   }
 
+  /**
+   * @return the player's rosters keyed by league, read-only
+   */
   public Map<String, RosterInfo> getPlayerRosters(String playerName) {
-    Map<String, RosterInfo> playerRosters = new HashMap<>();
+    return membership.getOrDefault(playerName.toLowerCase(), Collections.emptyMap());
+  }
+
+  /**
+   * Rebuilds the player to league to roster index from the rosters and swaps it in, so readers on other
+   * threads always see a complete index.
+   */
+  private synchronized void rebuildMembership() {
+    Map<String, Map<String, RosterInfo>> index = new HashMap<>();
     for (RosterInfo roster : rosters.values()) {
-      if (roster.hasMember(playerName)) {
-        playerRosters.put(roster.getLeague(), roster);
+      for (String member : roster.getMembers()) {
+        index.computeIfAbsent(member.toLowerCase(), key -> new HashMap<>()).put(roster.getLeague(), roster);
       }
     }
-    return playerRosters;
+
+    index.replaceAll((player, playerRosters) -> Collections.unmodifiableMap(playerRosters));
+    membership = Collections.unmodifiableMap(index);
+    invalidateViews();
   }
 
   @SuppressWarnings("deprecation")
@@ -204,9 +349,10 @@ public class RostersManager {
     removePlayerFromRoster(playerName, league);
 
     roster.addMember(playerName);
-    String lookupKey = playerName + ":" + league.toLowerCase();
-    playerToRoster.put(lookupKey, rosterName.toUpperCase());
-    saveRosters();
+    rebuildMembership();
+    chatFormatCache.invalidate(playerName);
+    invalidateViews();
+    markDirty();
 
     OfflinePlayer target = Bukkit.getOfflinePlayer(playerName);
     if (target != null && target.isOnline()) {
@@ -220,20 +366,19 @@ public class RostersManager {
 
   @SuppressWarnings("deprecation")
   public boolean removePlayerFromRoster(String playerName, String league) {
-    String lookupKey = playerName + ":" + league.toLowerCase();
-    String currentRoster = playerToRoster.remove(lookupKey);
-    if (currentRoster == null) {
+    RosterInfo roster = getPlayerRoster(playerName, league);
+    if (roster == null) {
       return false;
     }
 
-    RosterInfo roster = rosters.get(currentRoster);
-    if (roster != null) {
-      roster.removeMember(playerName);
-      saveRosters();
-    }
+    roster.removeMember(playerName);
+    rebuildMembership();
+    chatFormatCache.invalidate(playerName);
+    invalidateViews();
+    markDirty();
 
     OfflinePlayer target = Bukkit.getOfflinePlayer(playerName);
-    if (target != null && target.isOnline() && roster != null) {
+    if (target != null && target.isOnline()) {
       String channelName = roster.getName().toLowerCase();
       channelManager.unsubscribe(target.getUniqueId(), channelName);
       logger.send(target.getPlayer(), CHANNEL_TOGGLE, channelName, OFF.toString());
@@ -243,16 +388,12 @@ public class RostersManager {
   }
 
   public boolean setManager(String playerName, String league) {
-    String lookupKey = playerName + ":" + league.toLowerCase();
-    String rosterName = playerToRoster.get(lookupKey);
-    if (rosterName == null) {
-      return false;
-    }
-
-    RosterInfo roster = rosters.get(rosterName);
+    RosterInfo roster = getPlayerRoster(playerName, league);
     if (roster != null) {
       roster.setManager(playerName);
-      saveRosters();
+      chatFormatCache.invalidate(playerName);
+      invalidateViews();
+      markDirty();
       return true;
     }
 
@@ -310,7 +451,9 @@ public class RostersManager {
     }
 
     roster.setTag(newTag);
-    saveRosters();
+    chatFormatCache.invalidateAll();
+    invalidateViews();
+    markDirty();
     return true;
   }
 
@@ -324,7 +467,7 @@ public class RostersManager {
     }
 
     roster.setLongName(newLongName.trim());
-    saveRosters();
+    markDirty();
     return true;
   }
 
@@ -334,38 +477,40 @@ public class RostersManager {
       return false;
     }
 
-    String oldLeague = roster.getLeague();
     roster.setLeague(newLeague.toLowerCase());
+    rebuildMembership();
 
-    for (String playerName : roster.getMembers()) {
-      String oldKey = playerName + ":" + oldLeague;
-      String newKey = playerName + ":" + newLeague.toLowerCase();
-
-      playerToRoster.remove(oldKey);
-      playerToRoster.put(newKey, rosterName.toUpperCase());
-    }
-
-    saveRosters();
+    chatFormatCache.invalidateAll();
+    invalidateViews();
+    markDirty();
     return true;
   }
 
   public void setActiveLeague(String league) {
     this.activeLeague = league.toLowerCase();
-    saveRosters();
+    chatFormatCache.invalidateAll();
+    invalidateViews();
+    markDirty();
   }
 
   public void addAvailableLeague(String league) {
     String lowerLeague = league.toLowerCase();
     if (!this.availableLeagues.contains(lowerLeague)) {
-      this.availableLeagues.add(lowerLeague);
-      saveRosters();
+      List<String> leagues = new ArrayList<>(availableLeagues);
+      leagues.add(lowerLeague);
+      this.availableLeagues = Collections.unmodifiableList(leagues);
+      invalidateViews();
+      markDirty();
     }
   }
 
   public void removeAvailableLeague(String league) {
     String lowerLeague = league.toLowerCase();
-    if (this.availableLeagues.remove(lowerLeague)) {
-      saveRosters();
+    List<String> leagues = new ArrayList<>(availableLeagues);
+    if (leagues.remove(lowerLeague)) {
+      this.availableLeagues = Collections.unmodifiableList(leagues);
+      invalidateViews();
+      markDirty();
     }
   }
 
@@ -383,25 +528,53 @@ public class RostersManager {
     for (RosterInfo roster : rosters.values()) {
       if (roster.getLeague().equalsIgnoreCase(lowerOld)) {
         roster.setLeague(lowerNew);
-
-        for (String playerName : roster.getMembers()) {
-          String oldKey = playerName + ":" + lowerOld, newKey = playerName + ":" + lowerNew;
-          String rosterName = playerToRoster.remove(oldKey);
-          if (rosterName != null) {
-            playerToRoster.put(newKey, rosterName);
-          }
-        }
       }
     }
+    rebuildMembership();
 
-    availableLeagues.remove(lowerOld);
-    availableLeagues.add(lowerNew);
+    List<String> leagues = new ArrayList<>(availableLeagues);
+    leagues.remove(lowerOld);
+    leagues.add(lowerNew);
+    availableLeagues = Collections.unmodifiableList(leagues);
 
     if (activeLeague.equalsIgnoreCase(lowerOld)) {
       activeLeague = lowerNew;
     }
 
-    saveRosters();
+    chatFormatCache.invalidateAll();
+    invalidateViews();
+    markDirty();
     return true;
   }
+
+  private static final class Snapshot {
+    private final long version;
+    private final List<RosterRecord> rosters;
+
+    private Snapshot(long version, List<RosterRecord> rosters) {
+      this.version = version;
+      this.rosters = rosters;
+    }
+  }
+
+  private static final class RosterRecord {
+    private final String name;
+    private final String longName;
+    private final String tag;
+    private final String league;
+    private final String manager;
+    private final String discordChannelId;
+    private final List<String> members;
+
+    private RosterRecord(String name, String longName, String tag, String league, String manager,
+                         String discordChannelId, List<String> members) {
+      this.name = name;
+      this.longName = longName;
+      this.tag = tag;
+      this.league = league;
+      this.manager = manager;
+      this.discordChannelId = discordChannelId;
+      this.members = members;
+    }
+  }
 }
@@ -0,0 +1,97 @@
+package io.github.divinerealms.core.managers;
+
+import io.github.divinerealms.core.utilities.Leaderboard;
+import io.github.divinerealms.core.utilities.LeagueTable;
+import io.github.divinerealms.core.utilities.Match;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Season statistics: league tables, goals and assists per player and per roster, and scorer and
+ * assist leaderboards.
+ * <p>
+ * Nothing is stored separately: {@code ResultManager} replays the match journal on startup and hands
+ * every finished match to {@link #recordMatch(Match)}, then keeps doing so as matches end. Each result
+ * only touches the entries it changes, so nothing is ever recomputed from scratch.
+ */
+public class StatsManager {
+  private final Map<String, Integer> rosterGoals = new ConcurrentHashMap<>();
+  private final Map<String, Integer> rosterAssists = new ConcurrentHashMap<>();
+  private final Map<String, String> names = new ConcurrentHashMap<>();
+  private final Map<String, LeagueTable> tables = new ConcurrentHashMap<>();
+  @Getter
+  private final Leaderboard<String> scorers = new Leaderboard<>();
+  @Getter
+  private final Leaderboard<String> assisters = new Leaderboard<>();
+
+  public void recordMatch(Match match) {
+    for (Match.Goal goal : match.getGoals()) {
+      String roster = goal.isHome()
+                      ? match.getHomeChannel()
+                      : match.getAwayChannel();
+
+      increment(scorers, goal.getScorer());
+      increment(rosterGoals, roster);
+      if (goal.getAssist() != null) {
+        increment(assisters, goal.getAssist());
+        increment(rosterAssists, roster);
+      }
+    }
+
+    if (match.getLeague() != null && match.getHomeChannel() != null && match.getAwayChannel() != null) {
+      tables.computeIfAbsent(match.getLeague(), league -> new LeagueTable())
+          .record(match.getHomeChannel(), match.getAwayChannel(), match.getHomeScore(), match.getAwayScore());
+    }
+  }
+
+  public int getGoals(String playerName) {
+    return (int) scorers.getScore(playerName.toLowerCase());
+  }
+
+  public int getAssists(String playerName) {
+    return (int) assisters.getScore(playerName.toLowerCase());
+  }
+
+  public int getRosterGoals(String rosterName) {
+    return rosterGoals.getOrDefault(rosterName.toLowerCase(), 0);
+  }
+
+  public int getRosterAssists(String rosterName) {
+    return rosterAssists.getOrDefault(rosterName.toLowerCase(), 0);
+  }
+
+  /**
+   * @return the league's table, or {@code null} if no match of that league has finished yet
+   */
+  public LeagueTable getTable(String league) {
+    return tables.get(league.toLowerCase());
+  }
+
+  /**
+   * @param key a lowercase player name from one of the leaderboards
+   * @return the name as it was last typed in {@code /result add}
+   */
+  public String getName(String key) {
+    return names.getOrDefault(key, key);
+  }
+
+  private void increment(Leaderboard<String> leaderboard, String playerName) {
+    if (playerName == null) {
+      return;
+    }
+
+    String key = playerName.toLowerCase();
+    names.put(key, playerName);
+    synchronized (leaderboard) {
+      leaderboard.update(key, leaderboard.getScore(key) + 1);
+    }
+  }
+
+  private static void increment(Map<String, Integer> totals, String key) {
+    if (key != null) {
+      totals.merge(key.toLowerCase(), 1, Integer::sum);
+    }
+  }
+}
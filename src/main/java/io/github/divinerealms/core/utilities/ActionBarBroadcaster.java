@@ -0,0 +1,105 @@
+package io.github.divinerealms.core.utilities;
+
+import net.minecraft.server.v1_8_R3.ChatComponentText;
+import net.minecraft.server.v1_8_R3.PacketPlayOutChat;
+import org.bukkit.Location;
+import org.bukkit.craftbukkit.v1_8_R3.entity.CraftPlayer;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Sends action bars, building each packet once and reusing it for every recipient.
+ * <p>
+ * Remembers the last bar each player received, so a player who already sees the same text is skipped
+ * until it is about to fade. Recent packets are kept by text, so several matches pushing their own
+ * bars in the same tick each build their packet once. Audiences are plain predicates; {@link #near} and
+ * {@link #subscribedTo} cover the usual match audiences.
+ */
+public class ActionBarBroadcaster {
+  private static final long DISPLAY_NANOS = TimeUnit.MILLISECONDS.toNanos(2000);
+  private static final int PACKET_CACHE_SIZE = 16;
+
+  private final Map<UUID, Shown> shown = new ConcurrentHashMap<>();
+  private final Map<String, PacketPlayOutChat> packets = new LinkedHashMap<String, PacketPlayOutChat>(16, 0.75f,
+      true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, PacketPlayOutChat> eldest) {
+      return size() > PACKET_CACHE_SIZE;
+    }
+  };
+
+  public static Predicate<Player> near(Location center, double radius) {
+    double radiusSquared = radius * radius;
+    return player -> {
+      Location location = player.getLocation();
+      return location.getWorld() == center.getWorld() && location.distanceSquared(center) <= radiusSquared;
+    };
+  }
+
+  public static Predicate<Player> subscribedTo(Set<UUID> subscribers) {
+    return player -> subscribers.contains(player.getUniqueId());
+  }
+
+  /**
+   * @return how many players the bar was actually sent to
+   */
+  public int broadcast(Collection<? extends Player> players, Predicate<? super Player> audience, String message) {
+    PacketPlayOutChat packet = null;
+    long now = System.nanoTime();
+    int sent = 0;
+    for (Player player : players) {
+      if (!audience.test(player) || isShowing(player, message, now)) {
+        continue;
+      }
+
+      if (packet == null) {
+        packet = packet(message);
+      }
+
+      send(player, packet, message, now);
+      sent++;
+    }
+    return sent;
+  }
+
+  public void send(Player player, String message) {
+    long now = System.nanoTime();
+    if (!isShowing(player, message, now)) {
+      send(player, packet(message), message, now);
+    }
+  }
+
+  public void forget(UUID uuid) {
+    shown.remove(uuid);
+  }
+
+  private boolean isShowing(Player player, String message, long now) {
+    Shown last = shown.get(player.getUniqueId());
+    return last != null && last.message.equals(message) && now - last.sentAt < DISPLAY_NANOS;
+  }
+
+  private void send(Player player, PacketPlayOutChat packet, String message, long now) {
+    ((CraftPlayer) player).getHandle().playerConnection.sendPacket(packet);
+    shown.put(player.getUniqueId(), new Shown(message, now));
+  }
+
+  private PacketPlayOutChat packet(String message) {
+    synchronized (packets) {
+      return packets.computeIfAbsent(message, text -> new PacketPlayOutChat(new ChatComponentText(text), (byte) 2));
+    }
+  }
+
+  private static final class Shown {
+    private final String message;
+    private final long sentAt;
+
+    private Shown(String message, long sentAt) {
+      this.message = message;
+      this.sentAt = sentAt;
+    }
+  }
+}
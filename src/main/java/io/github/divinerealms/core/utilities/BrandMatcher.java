@@ -0,0 +1,67 @@
+package io.github.divinerealms.core.utilities;
+
+import java.util.Collection;
+import java.util.regex.Pattern;
+
+/**
+ * Matches client brands against a list of patterns, compiled once into a single case-insensitive regex.
+ * <p>
+ * A pattern matches anywhere in the brand, so a plain entry such as {@code optifine} behaves like a
+ * {@code contains} check. {@code *} stands for any run of characters and {@code ?} for exactly one;
+ * everything else is taken literally.
+ */
+public final class BrandMatcher {
+  private static final BrandMatcher NONE = new BrandMatcher(null);
+
+  private final Pattern pattern;
+
+  private BrandMatcher(Pattern pattern) {
+    this.pattern = pattern;
+  }
+
+  public static BrandMatcher compile(Collection<String> globs) {
+    StringBuilder regex = new StringBuilder();
+    for (String glob : globs) {
+      if (glob == null || glob.trim().isEmpty()) {
+        continue;
+      }
+
+      if (regex.length() > 0) {
+        regex.append('|');
+      }
+      appendGlob(regex, glob.trim());
+    }
+
+    return regex.length() == 0
+           ? NONE
+           : new BrandMatcher(Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE));
+  }
+
+  public boolean matches(String brand) {
+    return pattern != null && brand != null && pattern.matcher(brand).find();
+  }
+
+  private static void appendGlob(StringBuilder regex, String glob) {
+    regex.append("(?:");
+    int literalStart = 0;
+    for (int i = 0; i < glob.length(); i++) {
+      char c = glob.charAt(i);
+      if (c != '*' && c != '?') {
+        continue;
+      }
+
+      if (i > literalStart) {
+        regex.append(Pattern.quote(glob.substring(literalStart, i)));
+      }
+      regex.append(c == '*'
+                   ? ".*"
+                   : ".");
+      literalStart = i + 1;
+    }
+
+    if (literalStart < glob.length()) {
+      regex.append(Pattern.quote(glob.substring(literalStart)));
+    }
+    regex.append(')');
+  }
+}
@@ -5,9 +5,17 @@ public class ChannelFormats {
   public final String discordToMinecraft;
   public final String minecraftToDiscord;
 
+  public final ChatTemplate minecraftChatTemplate;
+  public final ChatTemplate discordToMinecraftTemplate;
+  public final ChatTemplate minecraftToDiscordTemplate;
+
   public ChannelFormats(String minecraftChat, String discordToMinecraft, String minecraftToDiscord) {
     this.minecraftChat = minecraftChat;
     this.discordToMinecraft = discordToMinecraft;
     this.minecraftToDiscord = minecraftToDiscord;
+
+    this.minecraftChatTemplate = ChatTemplate.compile(minecraftChat);
+    this.discordToMinecraftTemplate = ChatTemplate.compile(discordToMinecraft);
+    this.minecraftToDiscordTemplate = ChatTemplate.compile(minecraftToDiscord);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,201 @@
+package io.github.divinerealms.core.utilities;
+
+import lombok.Getter;
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A chat format compiled once into segments, so rendering a line is a single {@link StringBuilder} pass.
+ * <p>
+ * Formats are split into literal runs (with {@code &} colour codes already translated), per-player
+ * {@code %placeholder%} slots, {@code {variable}} slots and the {@code %message%} slot.
+ */
+public class ChatTemplate {
+  private static final byte TEXT = 0;
+  private static final byte PLACEHOLDER = 1;
+  private static final byte VARIABLE = 2;
+  private static final byte MESSAGE = 3;
+
+  @Getter
+  private final String source;
+  private final byte[] kinds;
+  private final String[] values;
+  private final int literalLength;
+  @Getter
+  private final boolean dynamic;
+
+  private ChatTemplate(String source, byte[] kinds, String[] values) {
+    this.source = source;
+    this.kinds = kinds;
+    this.values = values;
+
+    int length = 0;
+    boolean hasSlots = false;
+    for (int i = 0; i < kinds.length; i++) {
+      if (kinds[i] == TEXT) {
+        length += values[i].length();
+      } else {
+        if (kinds[i] != MESSAGE) {
+          hasSlots = true;
+        }
+      }
+    }
+
+    this.literalLength = length;
+    this.dynamic = hasSlots;
+  }
+
+  /**
+   * Compiles a raw format string into a template.
+   *
+   * @param format the raw format, may be {@code null}
+   * @return the compiled template (an empty one if the format is {@code null})
+   */
+  public static ChatTemplate compile(String format) {
+    String source = format == null
+                    ? ""
+                    : format;
+
+    List<Byte> kinds = new ArrayList<>();
+    List<String> values = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+
+    int length = source.length();
+    int i = 0;
+    while (i < length) {
+      char c = source.charAt(i);
+
+      if (c == '%') {
+        int end = source.indexOf('%', i + 1);
+        if (end > i + 1) {
+          String token = source.substring(i, end + 1);
+          flushLiteral(literal, kinds, values);
+          kinds.add(token.equals("%message%")
+                    ? MESSAGE
+                    : PLACEHOLDER);
+          values.add(token);
+          i = end + 1;
+          continue;
+        }
+      } else {
+        if (c == '{') {
+          int end = source.indexOf('}', i + 1);
+          if (end > i + 1 && isVariableName(source, i + 1, end)) {
+            flushLiteral(literal, kinds, values);
+            kinds.add(VARIABLE);
+            values.add(source.substring(i, end + 1));
+            i = end + 1;
+            continue;
+          }
+        }
+      }
+
+      literal.append(c);
+      i++;
+    }
+
+    flushLiteral(literal, kinds, values);
+
+    byte[] kindArray = new byte[kinds.size()];
+    for (int k = 0; k < kindArray.length; k++) {
+      kindArray[k] = kinds.get(k);
+    }
+
+    return new ChatTemplate(source, kindArray, values.toArray(new String[0]));
+  }
+
+  private static boolean isVariableName(String source, int from, int to) {
+    for (int i = from; i < to; i++) {
+      char c = source.charAt(i);
+      if (!Character.isLetterOrDigit(c) && c != '-' && c != '_') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void flushLiteral(StringBuilder literal, List<Byte> kinds, List<String> values) {
+    if (literal.length() == 0) {
+      return;
+    }
+
+    kinds.add(TEXT);
+    values.add(ChatColor.translateAlternateColorCodes('&', literal.toString()));
+    literal.setLength(0);
+  }
+
+  public boolean isEmpty() {
+    return source.isEmpty();
+  }
+
+  /**
+   * @return the raw {@code %placeholder%} and {@code {variable}} tokens, in order and without duplicates
+   */
+  public Set<String> getSlots() {
+    Set<String> slots = new LinkedHashSet<>();
+    for (int i = 0; i < kinds.length; i++) {
+      if (kinds[i] == PLACEHOLDER || kinds[i] == VARIABLE) {
+        slots.add(values[i]);
+      }
+    }
+    return slots;
+  }
+
+  /**
+   * Renders the template.
+   * <p>
+   * The resolver receives the raw token ({@code %name%} or {@code {name}}) and returns its replacement;
+   * returning {@code null} keeps the token as-is. Resolved values are colour-translated, the message is
+   * inserted verbatim.
+   *
+   * @param resolver resolves placeholder and variable slots, may be {@code null}
+   * @param message  the value of the {@code %message%} slot
+   * @return the rendered line
+   */
+  public String render(Function<String, String> resolver, String message) {
+    StringBuilder builder = new StringBuilder(literalLength + (message != null
+                                                               ? message.length()
+                                                               : 0) + 16 * kinds.length);
+
+    for (int i = 0; i < kinds.length; i++) {
+      switch (kinds[i]) {
+        case TEXT:
+          builder.append(values[i]);
+          break;
+
+        case MESSAGE:
+          if (message != null) {
+            builder.append(message);
+          }
+          break;
+
+        default:
+          String resolved = resolver != null
+                            ? resolver.apply(values[i])
+                            : null;
+          if (resolved == null) {
+            builder.append(values[i]);
+          } else {
+            if (!resolved.isEmpty()) {
+              builder.append(resolved.indexOf('&') >= 0
+                             ? ChatColor.translateAlternateColorCodes('&', resolved)
+                             : resolved);
+            }
+          }
+          break;
+      }
+    }
+
+    return builder.toString();
+  }
+
+  @Override
+  public String toString() {
+    return source;
+  }
+}
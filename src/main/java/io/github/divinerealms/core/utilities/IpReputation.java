@@ -0,0 +1,82 @@
+package io.github.divinerealms.core.utilities;
+
+import lombok.Getter;
+import org.json.simple.JSONObject;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * What proxycheck.io reported for one IP address, and when it was checked.
+ */
+@Getter
+public final class IpReputation {
+  private final String ip;
+  private final String status;
+  private final boolean proxy;
+  private final String asn;
+  private final String range;
+  private final String provider;
+  private final String country;
+  private final String region;
+  private final String regionCode;
+  private final String city;
+  private final String type;
+  private final long checkedAt;
+
+  private IpReputation(String ip, String status, boolean proxy, String asn, String range, String provider,
+                       String country, String region, String regionCode, String city, String type, long checkedAt) {
+    this.ip = ip;
+    this.status = status;
+    this.proxy = proxy;
+    this.asn = asn;
+    this.range = range;
+    this.provider = provider;
+    this.country = country;
+    this.region = region;
+    this.regionCode = regionCode;
+    this.city = city;
+    this.type = type;
+    this.checkedAt = checkedAt;
+  }
+
+  /**
+   * @param status the {@code status} of the whole response
+   * @param data   the object the response keeps under the IP
+   */
+  public static IpReputation fromJson(String ip, String status, JSONObject data, long checkedAt) {
+    return new IpReputation(ip, status, "yes".equalsIgnoreCase(get(data, "proxy", "no")),
+        get(data, "asn", "N/A"), get(data, "range", "N/A"), get(data, "provider", "N/A"),
+        get(data, "country", "N/A"), get(data, "region", "N/A"), get(data, "region_code", "N/A"),
+        get(data, "city", "N/A"), get(data, "type", "N/A"), checkedAt);
+  }
+
+  public static IpReputation read(DataInput input) throws IOException {
+    return new IpReputation(input.readUTF(), input.readUTF(), input.readBoolean(), input.readUTF(), input.readUTF(),
+        input.readUTF(), input.readUTF(), input.readUTF(), input.readUTF(), input.readUTF(), input.readUTF(),
+        input.readLong());
+  }
+
+  public void write(DataOutput output) throws IOException {
+    output.writeUTF(ip);
+    output.writeUTF(status);
+    output.writeBoolean(proxy);
+    output.writeUTF(asn);
+    output.writeUTF(range);
+    output.writeUTF(provider);
+    output.writeUTF(country);
+    output.writeUTF(region);
+    output.writeUTF(regionCode);
+    output.writeUTF(city);
+    output.writeUTF(type);
+    output.writeLong(checkedAt);
+  }
+
+  private static String get(JSONObject obj, String key, String def) {
+    Object value = obj.get(key);
+    return value != null
+           ? value.toString()
+           : def;
+  }
+}
@@ -0,0 +1,222 @@
+package io.github.divinerealms.core.utilities;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Entries ordered by score, highest first, kept sorted as scores change.
+ * <p>
+ * Backed by a treap whose nodes carry their subtree size, so updates, rank lookups and fetching a page
+ * all take {@code O(log n)} instead of sorting every entry. Equal scores are ordered by key so ranks
+ * are stable.
+ *
+ * @param <K> the key, such as a player's UUID or a lowercase name
+ */
+public class Leaderboard<K extends Comparable<K>> {
+  private final Map<K, Long> scores = new HashMap<>();
+  private Node<K> root;
+
+  public synchronized void update(K key, long score) {
+    Long previous = scores.put(key, score);
+    if (previous != null) {
+      if (previous == score) {
+        return;
+      }
+
+      root = erase(root, previous, key);
+    }
+
+    root = insert(root, new Node<>(key, score));
+  }
+
+  public synchronized void remove(K key) {
+    Long previous = scores.remove(key);
+    if (previous != null) {
+      root = erase(root, previous, key);
+    }
+  }
+
+  public synchronized void clear() {
+    scores.clear();
+    root = null;
+  }
+
+  public synchronized int size() {
+    return size(root);
+  }
+
+  public synchronized long getScore(K key) {
+    return scores.getOrDefault(key, 0L);
+  }
+
+  /**
+   * @return the 1-based rank of the player, or {@code 0} if they are not on the leaderboard
+   */
+  public synchronized int rank(K key) {
+    Long score = scores.get(key);
+    if (score == null) {
+      return 0;
+    }
+
+    int before = 0;
+    Node<K> node = root;
+    while (node != null) {
+      int compare = compare(score, key, node);
+      if (compare == 0) {
+        return before + size(node.left) + 1;
+      }
+
+      if (compare < 0) {
+        node = node.left;
+      } else {
+        before += size(node.left) + 1;
+        node = node.right;
+      }
+    }
+
+    return 0;
+  }
+
+  /**
+   * @param offset the 0-based index of the first entry
+   * @param limit  the maximum number of entries
+   * @return the entries in rank order
+   */
+  public synchronized List<Map.Entry<K, Long>> page(int offset, int limit) {
+    List<Map.Entry<K, Long>> page = new ArrayList<>(Math.max(0, Math.min(limit, size(root) - offset)));
+    collect(root, Math.max(0, offset), offset + limit, page);
+    return page;
+  }
+
+  private void collect(Node<K> node, int from, int to, List<Map.Entry<K, Long>> out) {
+    if (node == null || from >= to) {
+      return;
+    }
+
+    int leftSize = size(node.left);
+    if (from < leftSize) {
+      collect(node.left, from, Math.min(to, leftSize), out);
+    }
+
+    if (from <= leftSize && leftSize < to) {
+      out.add(new AbstractMap.SimpleImmutableEntry<>(node.key, node.score));
+    }
+
+    if (to > leftSize + 1) {
+      collect(node.right, Math.max(0, from - leftSize - 1), to - leftSize - 1, out);
+    }
+  }
+
+  private Node<K> insert(Node<K> node, Node<K> inserted) {
+    if (node == null) {
+      return inserted;
+    }
+
+    if (inserted.priority > node.priority) {
+      Node<K>[] parts = split(node, inserted.score, inserted.key);
+      inserted.left = parts[0];
+      inserted.right = parts[1];
+      return inserted.update();
+    }
+
+    if (compare(inserted.score, inserted.key, node) < 0) {
+      node.left = insert(node.left, inserted);
+    } else {
+      node.right = insert(node.right, inserted);
+    }
+    return node.update();
+  }
+
+  private Node<K> erase(Node<K> node, long score, K key) {
+    if (node == null) {
+      return null;
+    }
+
+    int compare = compare(score, key, node);
+    if (compare == 0) {
+      return merge(node.left, node.right);
+    }
+
+    if (compare < 0) {
+      node.left = erase(node.left, score, key);
+    } else {
+      node.right = erase(node.right, score, key);
+    }
+    return node.update();
+  }
+
+  /**
+   * Splits a subtree into the nodes ranked before {@code (score, key)} and the rest.
+   */
+  private Node<K>[] split(Node<K> node, long score, K key) {
+    if (node == null) {
+      return newPair();
+    }
+
+    if (compare(score, key, node) > 0) {
+      Node<K>[] parts = split(node.right, score, key);
+      node.right = parts[0];
+      parts[0] = node.update();
+      return parts;
+    }
+
+    Node<K>[] parts = split(node.left, score, key);
+    node.left = parts[1];
+    parts[1] = node.update();
+    return parts;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Node<K>[] newPair() {
+    return (Node<K>[]) new Node<?>[2];
+  }
+
+  private Node<K> merge(Node<K> left, Node<K> right) {
+    if (left == null) {
+      return right;
+    }
+
+    if (right == null) {
+      return left;
+    }
+
+    if (left.priority > right.priority) {
+      left.right = merge(left.right, right);
+      return left.update();
+    }
+
+    right.left = merge(left, right.left);
+    return right.update();
+  }
+
+  private int compare(long score, K key, Node<K> node) {
+    int compare = Long.compare(node.score, score);
+    return compare != 0
+           ? compare
+           : key.compareTo(node.key);
+  }
+
+  private static int size(Node<?> node) {
+    return node != null
+           ? node.size
+           : 0;
+  }
+
+  private static final class Node<K> {
+    private final K key;
+    private final long score;
+    private final int priority = ThreadLocalRandom.current().nextInt();
+    private int size = 1;
+    private Node<K> left, right;
+
+    private Node(K key, long score) {
+      this.key = key;
+      this.score = score;
+    }
+
+    private Node<K> update() {
+      size = 1 + size(left) + size(right);
+      return this;
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package io.github.divinerealms.core.utilities;
+
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * Standings of one league, kept sorted as results come in.
+ * <p>
+ * A result only replaces the two teams involved: their old records are taken out of the sorted set and
+ * the updated ones put back. Readers get an immutable snapshot that is swapped in after each result, so
+ * scoreboards and placeholders never sort or lock.
+ */
+public class LeagueTable {
+  public static final int WIN_POINTS = 3;
+  public static final int DRAW_POINTS = 1;
+  public static final int FORM_LENGTH = 5;
+
+  private static final Comparator<TeamRecord> ORDER = Comparator
+      .comparingInt(TeamRecord::getPoints).reversed()
+      .thenComparing(Comparator.comparingInt(TeamRecord::getGoalDifference).reversed())
+      .thenComparing(Comparator.comparingInt(TeamRecord::getGoalsFor).reversed())
+      .thenComparing(TeamRecord::getRoster);
+
+  private final Map<String, TeamRecord> records = new HashMap<>();
+  private final TreeSet<TeamRecord> sorted = new TreeSet<>(ORDER);
+  private volatile List<TeamRecord> standings = Collections.emptyList();
+
+  public synchronized void record(String home, String away, int homeGoals, int awayGoals) {
+    update(home, homeGoals, awayGoals);
+    update(away, awayGoals, homeGoals);
+    standings = Collections.unmodifiableList(new ArrayList<>(sorted));
+  }
+
+  /**
+   * @return every team that has played, best first
+   */
+  public List<TeamRecord> getStandings() {
+    return standings;
+  }
+
+  /**
+   * @return the 1-based position of the roster, or {@code 0} if it has not played
+   */
+  public int getPosition(String roster) {
+    List<TeamRecord> current = standings;
+    for (int i = 0; i < current.size(); i++) {
+      if (current.get(i).getRoster().equals(roster)) {
+        return i + 1;
+      }
+    }
+    return 0;
+  }
+
+  public TeamRecord get(String roster) {
+    for (TeamRecord record : standings) {
+      if (record.getRoster().equals(roster)) {
+        return record;
+      }
+    }
+    return null;
+  }
+
+  private void update(String roster, int scored, int conceded) {
+    TeamRecord previous = records.get(roster);
+    if (previous != null) {
+      sorted.remove(previous);
+    }
+
+    TeamRecord next = (previous != null
+                       ? previous
+                       : new TeamRecord(roster, 0, 0, 0, 0, 0, 0, "")).plus(scored, conceded);
+    records.put(roster, next);
+    sorted.add(next);
+  }
+
+  @Getter
+  public static final class TeamRecord {
+    private final String roster;
+    private final int played;
+    private final int wins;
+    private final int draws;
+    private final int losses;
+    private final int goalsFor;
+    private final int goalsAgainst;
+    /** The last {@value #FORM_LENGTH} results as {@code W}, {@code D} and {@code L}, most recent last. */
+    private final String form;
+
+    private TeamRecord(String roster, int played, int wins, int draws, int losses, int goalsFor, int goalsAgainst,
+                       String form) {
+      this.roster = roster;
+      this.played = played;
+      this.wins = wins;
+      this.draws = draws;
+      this.losses = losses;
+      this.goalsFor = goalsFor;
+      this.goalsAgainst = goalsAgainst;
+      this.form = form;
+    }
+
+    public int getPoints() {
+      return wins * WIN_POINTS + draws * DRAW_POINTS;
+    }
+
+    public int getGoalDifference() {
+      return goalsFor - goalsAgainst;
+    }
+
+    private TeamRecord plus(int scored, int conceded) {
+      char result = scored > conceded
+                    ? 'W'
+                    : (scored == conceded
+                       ? 'D'
+                       : 'L');
+      String nextForm = form + result;
+      if (nextForm.length() > FORM_LENGTH) {
+        nextForm = nextForm.substring(nextForm.length() - FORM_LENGTH);
+      }
+
+      return new TeamRecord(roster, played + 1,
+          wins + (result == 'W'
+                  ? 1
+                  : 0),
+          draws + (result == 'D'
+                   ? 1
+                   : 0),
+          losses + (result == 'L'
+                    ? 1
+                    : 0),
+          goalsFor + scored, goalsAgainst + conceded, nextForm);
+    }
+  }
+}
@@ -5,7 +5,6 @@ import io.github.divinerealms.core.main.CoreManager;
 import lombok.Getter;
 import net.minecraft.server.v1_8_R3.IChatBaseComponent;
 import net.minecraft.server.v1_8_R3.IChatBaseComponent.ChatSerializer;
-import net.minecraft.server.v1_8_R3.PacketPlayOutChat;
 import net.minecraft.server.v1_8_R3.PacketPlayOutTitle;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
@@ -15,6 +14,8 @@ import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.craftbukkit.v1_8_R3.entity.CraftPlayer;
 import org.bukkit.entity.Player;
 
+import java.util.function.Predicate;
+
 import static io.github.divinerealms.core.configs.Lang.PREFIX;
 
 /**
@@ -28,6 +29,8 @@ public class Logger {
   private final ConsoleCommandSender consoleSender;
   @Getter
   private final String consolePrefix;
+  @Getter
+  private final ActionBarBroadcaster actionBars = new ActionBarBroadcaster();
 
   public Logger(CoreManager coreManager) {
     this.coreManager = coreManager;
@@ -163,10 +166,7 @@ public class Logger {
    * @param args       optional arguments for placeholder replacement (only used with Lang entries)
    */
   public void sendActionBar(Player player, Object messageObj, String... args) {
-    String message = formatMessage(messageObj, args);
-    IChatBaseComponent iChatBaseComponent = ChatSerializer.a("{\"text\":\"" + message + "\"}");
-    PacketPlayOutChat packet = new PacketPlayOutChat(iChatBaseComponent, (byte) 2);
-    ((CraftPlayer) player).getHandle().playerConnection.sendPacket(packet);
+    actionBars.send(player, formatMessage(messageObj, args));
   }
 
   /**
@@ -177,13 +177,19 @@ public class Logger {
    * @param args       optional arguments for placeholder replacement (only used with Lang entries)
    */
   public void broadcastBar(Object messageObj, String... args) {
-    String message = formatMessage(messageObj, args);
-    IChatBaseComponent iChatBaseComponent = ChatSerializer.a("{\"text\":\"" + message + "\"}");
-    PacketPlayOutChat packet = new PacketPlayOutChat(iChatBaseComponent, (byte) 2);
+    actionBars.broadcast(coreManager.getCachedPlayers(), player -> true, formatMessage(messageObj, args));
+  }
 
-    for (Player player : coreManager.getCachedPlayers()) {
-      ((CraftPlayer) player).getHandle().playerConnection.sendPacket(packet);
-    }
+  /**
+   * Sends an action bar message to the cached players matching the audience, such as the players near a
+   * match warp. Accepts either a {@link Lang} entry or a raw string.
+   *
+   * @param audience   decides which players see the message
+   * @param messageObj the message to send (Lang or String)
+   * @param args       optional arguments for placeholder replacement (only used with Lang entries)
+   */
+  public void sendActionBar(Predicate<? super Player> audience, Object messageObj, String... args) {
+    actionBars.broadcast(coreManager.getCachedPlayers(), audience, formatMessage(messageObj, args));
   }
 
   /**
@@ -222,7 +228,7 @@ public class Logger {
    * @param args       optional arguments for placeholder replacement (only used with Lang entries)
    * @return the formatted and colored message string
    */
-  private String formatMessage(Object messageObj, String... args) {
+  public String formatMessage(Object messageObj, String... args) {
     if (messageObj instanceof Lang) {
       return ((Lang) messageObj).replace(args);
     } else {
@@ -0,0 +1,73 @@
+package io.github.divinerealms.core.utilities;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The state of one match tracked by {@code ResultManager}: teams, score, half and its own
+ * {@link MatchClock}, so several stadiums can run matches at the same time.
+ * <p>
+ * {@link #homeChannel} and {@link #awayChannel} hold the roster channels of the two teams, and
+ * {@link #warpLocation} the spot where the warp was set; together they decide who sees the match's
+ * action bar. {@link #goals} lists who scored and assisted, so the season stats can be updated when the
+ * match ends, and {@link #league} is set when both teams are rosters of the same league.
+ */
+@Getter
+@Setter
+public class Match {
+  private final String id;
+  private final MatchClock clock;
+  private String prefix;
+  private String home, away;
+  private String homeChannel, awayChannel;
+  private String league;
+  private String warp;
+  private Location warpLocation;
+  private int homeScore;
+  private int awayScore;
+  private Half currentHalf = Half.NOT_STARTED;
+  private int halfDuration;
+  private int currentHalfExtraTime = 0;
+  private boolean paused = false;
+  private boolean shouldSendToDiscord = false;
+  private boolean running = false;
+  private final List<Goal> goals = new ArrayList<>();
+
+  public Match(String id, MatchClock clock, String prefix, int halfDuration) {
+    this.id = id;
+    this.clock = clock;
+    this.prefix = prefix;
+    this.halfDuration = halfDuration;
+  }
+
+  /**
+   * Forgets the most recent goal of one side, for when a goal is taken back.
+   */
+  public void removeLastGoal(boolean home) {
+    for (int i = goals.size() - 1; i >= 0; i--) {
+      if (goals.get(i).isHome() == home) {
+        goals.remove(i);
+        return;
+      }
+    }
+  }
+
+  public enum Half {NOT_STARTED, FIRST, SECOND}
+
+  @Getter
+  public static class Goal {
+    private final boolean home;
+    private final String scorer;
+    private final String assist;
+
+    public Goal(boolean home, String scorer, String assist) {
+      this.home = home;
+      this.scorer = scorer;
+      this.assist = assist;
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package io.github.divinerealms.core.utilities;
+
+import lombok.Getter;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Match time measured with {@link System#nanoTime()} rather than by counting ticks, so a lagging server
+ * never stretches a half.
+ * <p>
+ * While running, a task ticks every registered {@link MatchRenderer}, each of which decides on its own
+ * refresh rate whether to redraw. {@link #publish()} forces every renderer to redraw straight away after
+ * a state change such as a goal.
+ */
+public class MatchClock {
+  private final Plugin plugin;
+  private final List<MatchRenderer> renderers = new CopyOnWriteArrayList<>();
+
+  private long elapsedNanos;
+  private long startedAt;
+  @Getter
+  private boolean running = false;
+  private BukkitTask task;
+  private long tick;
+
+  public MatchClock(Plugin plugin) {
+    this.plugin = plugin;
+  }
+
+  public void addRenderer(MatchRenderer renderer) {
+    renderers.add(renderer);
+  }
+
+  public void removeRenderer(MatchRenderer renderer) {
+    renderers.remove(renderer);
+  }
+
+  public void start() {
+    if (running) {
+      return;
+    }
+
+    running = true;
+    startedAt = System.nanoTime();
+    renderers.forEach(MatchRenderer::reset);
+    task = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
+      tick++;
+      for (MatchRenderer renderer : renderers) {
+        renderer.update(tick, false);
+      }
+    }, 1L, 1L);
+  }
+
+  public void stop() {
+    if (!running) {
+      return;
+    }
+
+    elapsedNanos += System.nanoTime() - startedAt;
+    running = false;
+    if (task != null) {
+      task.cancel();
+      task = null;
+    }
+  }
+
+  public void reset() {
+    stop();
+    elapsedNanos = 0;
+  }
+
+  public void publish() {
+    if (!running) {
+      return;
+    }
+
+    for (MatchRenderer renderer : renderers) {
+      renderer.update(tick, true);
+    }
+  }
+
+  public int getSecondsElapsed() {
+    long nanos = running
+                 ? elapsedNanos + System.nanoTime() - startedAt
+                 : elapsedNanos;
+    return (int) TimeUnit.NANOSECONDS.toSeconds(nanos);
+  }
+
+  public void setSecondsElapsed(int seconds) {
+    elapsedNanos = TimeUnit.SECONDS.toNanos(seconds);
+    if (running) {
+      startedAt = System.nanoTime();
+    }
+  }
+}
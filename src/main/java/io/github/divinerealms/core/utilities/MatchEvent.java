@@ -0,0 +1,59 @@
+package io.github.divinerealms.core.utilities;
+
+import lombok.Getter;
+
+/**
+ * One entry of the match journal. {@link #seconds} is the match clock when the event happened (or the
+ * value being set, for {@link Type#TIME} and {@link Type#EXTRA_TIME}); {@link #args} hold the
+ * type-specific text such as team names or the scorer.
+ */
+@Getter
+public class MatchEvent {
+  private final Type type;
+  private final long time;
+  private final String matchId;
+  private final int seconds;
+  private final String[] args;
+
+  public MatchEvent(Type type, long time, String matchId, int seconds, String... args) {
+    this.type = type;
+    this.time = time;
+    this.matchId = matchId;
+    this.seconds = seconds;
+    this.args = args;
+  }
+
+  /**
+   * @return the argument, or {@code null} if it is missing or was recorded empty
+   */
+  public String getArg(int index) {
+    return index < args.length && args[index] != null && !args[index].isEmpty()
+           ? args[index]
+           : null;
+  }
+
+  /**
+   * Stored by ordinal, so new types must only ever be added at the end.
+   */
+  public enum Type {
+    /** home, away, home roster, away roster, send to Discord, league */
+    TEAMS,
+    /** prefix */
+    PREFIX,
+    /** warp, world, x, y, z */
+    WARP,
+    /** half duration in {@code seconds} */
+    TIME,
+    /** FIRST or SECOND */
+    HALF_START,
+    HALF_END,
+    CHECKPOINT,
+    /** home or away, scorer, assister */
+    GOAL,
+    /** home or away */
+    GOAL_REMOVED,
+    /** extra time added in {@code seconds} */
+    EXTRA_TIME,
+    END
+  }
+}
@@ -0,0 +1,56 @@
+package io.github.divinerealms.core.utilities;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Draws the match state somewhere (action bar, scoreboard, Discord, ...) at its own refresh rate.
+ * <p>
+ * The text is rebuilt at most every {@code refreshTicks} and only pushed when it differs from what was
+ * last pushed. {@code keepAliveTicks} re-sends unchanged text for outputs that fade, such as the action
+ * bar; {@code 0} disables it.
+ */
+public class MatchRenderer {
+  private final int refreshTicks;
+  private final int keepAliveTicks;
+  private final Supplier<String> source;
+  private final Consumer<String> sink;
+
+  private String lastRendered;
+  private long lastRenderTick;
+  private long lastPushTick;
+
+  public MatchRenderer(int refreshTicks, int keepAliveTicks, Supplier<String> source, Consumer<String> sink) {
+    this.refreshTicks = Math.max(1, refreshTicks);
+    this.keepAliveTicks = Math.max(0, keepAliveTicks);
+    this.source = source;
+    this.sink = sink;
+  }
+
+  void update(long tick, boolean force) {
+    if (!force && tick - lastRenderTick < refreshTicks) {
+      return;
+    }
+    lastRenderTick = tick;
+
+    String text = source.get();
+    if (text == null) {
+      return;
+    }
+
+    boolean keepAlive = keepAliveTicks > 0 && tick - lastPushTick >= keepAliveTicks;
+    if (text.equals(lastRendered) && !keepAlive) {
+      return;
+    }
+
+    lastRendered = text;
+    lastPushTick = tick;
+    sink.accept(text);
+  }
+
+  void reset() {
+    lastRendered = null;
+    lastRenderTick = 0;
+    lastPushTick = 0;
+  }
+}
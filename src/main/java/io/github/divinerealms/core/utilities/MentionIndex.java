@@ -0,0 +1,348 @@
+package io.github.divinerealms.core.utilities;
+
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Aho-Corasick automaton over the names of online players, used to find chat mentions in a single pass.
+ * <p>
+ * A mention is either {@code @name} anywhere in the message, or the bare name at the very start of the
+ * message followed by a non-alphanumeric character.
+ * <p>
+ * Joins and quits only insert into or prune a plain trie of names. The failure links are worked out from
+ * that trie lazily, on the first lookup after a change, into an immutable automaton that is then reused
+ * until the next change, so a wave of logins costs one rebuild instead of one per player and lookups on an
+ * unchanged index never lock.
+ */
+public class MentionIndex {
+  private final Map<String, Player> players = new HashMap<>();
+  private final Trie root = new Trie();
+  private volatile Automaton automaton = Automaton.EMPTY;
+
+  public synchronized void add(Player player) {
+    String name = player.getName();
+    players.put(name, player);
+
+    Trie node = root;
+    for (int i = 0; i < name.length(); i++) {
+      node = node.children.computeIfAbsent(name.charAt(i), c -> new Trie());
+    }
+    node.name = name;
+    node.player = player;
+    automaton = null;
+  }
+
+  public synchronized void remove(Player player) {
+    String name = player.getName();
+    if (players.remove(name) == null) {
+      return;
+    }
+
+    Trie[] path = new Trie[name.length() + 1];
+    path[0] = root;
+    for (int i = 0; i < name.length(); i++) {
+      path[i + 1] = path[i].children.get(name.charAt(i));
+    }
+
+    Trie node = path[name.length()];
+    node.name = null;
+    node.player = null;
+    for (int i = name.length(); i > 0 && path[i].name == null && path[i].children.isEmpty(); i--) {
+      path[i - 1].children.remove(name.charAt(i - 1));
+    }
+    automaton = null;
+  }
+
+  public synchronized void reset(Collection<? extends Player> onlinePlayers) {
+    players.clear();
+    root.children.clear();
+    automaton = null;
+    onlinePlayers.forEach(this::add);
+  }
+
+  public synchronized int size() {
+    return players.size();
+  }
+
+  /**
+   * Finds all mentions in a message.
+   * <p>
+   * Overlapping {@code @} mentions resolve to the longest name. A leading bare name is only reported
+   * when the same player is not also mentioned with {@code @}.
+   *
+   * @param message the raw chat message
+   * @return non-overlapping matches ordered by position
+   */
+  public List<Match> find(String message) {
+    Automaton current = automaton;
+    if (current == null) {
+      current = compile();
+    }
+
+    if (current.names.length == 0 || message.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    List<Match> candidates = null;
+    int state = 0;
+    for (int i = 0; i < message.length(); i++) {
+      state = current.step(state, message.charAt(i));
+
+      int node = current.output[state] >= 0
+                 ? state
+                 : current.dictLink[state];
+      while (node > 0) {
+        int pattern = current.output[node];
+        int start = i + 1 - current.names[pattern].length();
+        int end = i + 1;
+
+        Match match = null;
+        if (start > 0 && message.charAt(start - 1) == '@') {
+          match = new Match(start - 1, end, true, current.names[pattern], current.players[pattern]);
+        } else {
+          if (start == 0 && (end == message.length() || !Character.isLetterOrDigit(message.charAt(end)))) {
+            match = new Match(0, end, false, current.names[pattern], current.players[pattern]);
+          }
+        }
+
+        if (match != null) {
+          if (candidates == null) {
+            candidates = new ArrayList<>();
+          }
+          candidates.add(match);
+        }
+
+        node = current.dictLink[node];
+      }
+    }
+
+    if (candidates == null) {
+      return Collections.emptyList();
+    }
+
+    return select(candidates);
+  }
+
+  /**
+   * Replaces every match in one pass.
+   *
+   * @param message     the raw chat message
+   * @param matches     matches returned by {@link #find(String)}, possibly filtered
+   * @param replacement produces the text that replaces a match
+   * @return the message with all matches replaced
+   */
+  public static String splice(String message, List<Match> matches, Function<Match, String> replacement) {
+    if (matches.isEmpty()) {
+      return message;
+    }
+
+    StringBuilder builder = new StringBuilder(message.length() + matches.size() * 16);
+    int last = 0;
+    for (Match match : matches) {
+      builder.append(message, last, match.start).append(replacement.apply(match));
+      last = match.end;
+    }
+
+    return builder.append(message, last, message.length()).toString();
+  }
+
+  private synchronized Automaton compile() {
+    if (automaton == null) {
+      automaton = Automaton.build(root);
+    }
+    return automaton;
+  }
+
+  private static List<Match> select(List<Match> candidates) {
+    Set<String> atMentioned = new HashSet<>();
+    for (Match candidate : candidates) {
+      if (candidate.at) {
+        atMentioned.add(candidate.name);
+      }
+    }
+
+    candidates.sort((first, second) -> first.start != second.start
+                                       ? Integer.compare(first.start, second.start)
+                                       : Integer.compare(second.end, first.end));
+
+    List<Match> selected = new ArrayList<>(candidates.size());
+    int covered = 0;
+    for (Match candidate : candidates) {
+      if (candidate.start < covered) {
+        continue;
+      }
+
+      if (!candidate.at && atMentioned.contains(candidate.name)) {
+        continue;
+      }
+
+      selected.add(candidate);
+      covered = candidate.end;
+    }
+
+    return selected;
+  }
+
+  public static final class Match {
+    public final int start;
+    public final int end;
+    public final boolean at;
+    public final String name;
+    public final Player player;
+
+    private Match(int start, int end, boolean at, String name, Player player) {
+      this.start = start;
+      this.end = end;
+      this.at = at;
+      this.name = name;
+      this.player = player;
+    }
+  }
+
+  private static final class Automaton {
+    private static final Automaton EMPTY = build(new Trie());
+
+    private final int[] asciiIndex;
+    private final Map<Character, Integer> extendedIndex;
+    private final int[][] next;
+    private final int[] output;
+    private final int[] dictLink;
+    private final String[] names;
+    private final Player[] players;
+
+    private Automaton(int[] asciiIndex, Map<Character, Integer> extendedIndex, int[][] next, int[] output,
+                      int[] dictLink, String[] names, Player[] players) {
+      this.asciiIndex = asciiIndex;
+      this.extendedIndex = extendedIndex;
+      this.next = next;
+      this.output = output;
+      this.dictLink = dictLink;
+      this.names = names;
+      this.players = players;
+    }
+
+    private int step(int state, char c) {
+      int symbol;
+      if (c < 128) {
+        symbol = asciiIndex[c];
+      } else {
+        Integer index = extendedIndex.get(c);
+        symbol = index != null
+                 ? index
+                 : -1;
+      }
+
+      return symbol < 0
+             ? 0
+             : next[state][symbol];
+    }
+
+    /**
+     * Numbers the trie breadth first and fills in the transition table and failure links.
+     */
+    private static Automaton build(Trie root) {
+      List<Trie> order = new ArrayList<>();
+      order.add(root);
+      int[] asciiIndex = new int[128];
+      Arrays.fill(asciiIndex, -1);
+      Map<Character, Integer> extendedIndex = new HashMap<>();
+      int symbols = 0;
+      List<String> names = new ArrayList<>();
+      List<Player> players = new ArrayList<>();
+      for (int head = 0; head < order.size(); head++) {
+        Trie trie = order.get(head);
+        if (trie.name != null) {
+          names.add(trie.name);
+          players.add(trie.player);
+        }
+
+        for (Map.Entry<Character, Trie> child : trie.children.entrySet()) {
+          char c = child.getKey();
+          if (c < 128) {
+            if (asciiIndex[c] < 0) {
+              asciiIndex[c] = symbols++;
+            }
+          } else {
+            if (!extendedIndex.containsKey(c)) {
+              extendedIndex.put(c, symbols++);
+            }
+          }
+          order.add(child.getValue());
+        }
+      }
+
+      int nodes = order.size();
+      Map<Trie, Integer> ids = new IdentityHashMap<>(nodes);
+      for (int id = 0; id < nodes; id++) {
+        ids.put(order.get(id), id);
+      }
+
+      int[][] next = new int[nodes][symbols];
+      int[] output = new int[nodes];
+      Arrays.fill(output, -1);
+      int pattern = 0;
+      for (int id = 0; id < nodes; id++) {
+        Trie trie = order.get(id);
+        Arrays.fill(next[id], -1);
+        if (trie.name != null) {
+          output[id] = pattern++;
+        }
+
+        for (Map.Entry<Character, Trie> child : trie.children.entrySet()) {
+          char c = child.getKey();
+          int symbol = c < 128
+                       ? asciiIndex[c]
+                       : extendedIndex.get(c);
+          next[id][symbol] = ids.get(child.getValue());
+        }
+      }
+
+      int[] fail = new int[nodes];
+      int[] dictLink = new int[nodes];
+      dictLink[0] = -1;
+      int[] queue = new int[nodes];
+      int head = 0;
+      int tail = 0;
+
+      for (int symbol = 0; symbol < symbols; symbol++) {
+        int child = next[0][symbol];
+        if (child < 0) {
+          next[0][symbol] = 0;
+        } else {
+          fail[child] = 0;
+          dictLink[child] = -1;
+          queue[tail++] = child;
+        }
+      }
+
+      while (head < tail) {
+        int node = queue[head++];
+        for (int symbol = 0; symbol < symbols; symbol++) {
+          int child = next[node][symbol];
+          if (child < 0) {
+            next[node][symbol] = next[fail[node]][symbol];
+            continue;
+          }
+
+          int link = next[fail[node]][symbol];
+          fail[child] = link;
+          dictLink[child] = output[link] >= 0
+                            ? link
+                            : dictLink[link];
+          queue[tail++] = child;
+        }
+      }
+
+      return new Automaton(asciiIndex, extendedIndex, next, output, dictLink, names.toArray(new String[0]),
+          players.toArray(new Player[0]));
+    }
+  }
+
+  private static final class Trie {
+    private final Map<Character, Trie> children = new HashMap<>();
+    private String name;
+    private Player player;
+  }
+}
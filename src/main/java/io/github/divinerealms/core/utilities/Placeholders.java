@@ -2,28 +2,55 @@ package io.github.divinerealms.core.utilities;
 
 import io.github.divinerealms.core.main.CoreManager;
 import io.github.divinerealms.core.managers.ChannelManager;
-import io.github.divinerealms.core.managers.ConfigManager;
 import io.github.divinerealms.core.managers.RostersManager;
+import io.github.divinerealms.core.managers.StatsManager;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.OfflinePlayer;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-
+import java.util.function.Function;
+
+/**
+ * Serves {@code %core_...%} placeholders through a table keyed by param name. Roster placeholders
+ * read from the player's cached {@link RosterView}, so they do no roster or config lookups per request.
+ * Season stats ({@code stats_goals}, {@code stats_roster_goals}, {@code stats_roster_goals_<roster>} and
+ * the matching assist placeholders) are map lookups in {@link StatsManager}. Standings come from the
+ * league table snapshot: {@code stats_roster_position|points|played|gd|form} for the player's active
+ * roster, {@code stats_table_<league>_<position>_name|tag|points|played|gd|form}, and the leaderboards
+ * through {@code stats_top_goals|assists_<rank>_name|value}.
+ */
 public class Placeholders extends PlaceholderExpansion {
   private final RostersManager rostersManager;
-  private final ConfigManager configManager;
   private final ChannelManager channelManager;
+  private final StatsManager statsManager;
   private final Plugin plugin;
+  private final Map<String, Function<RosterView, String>> rosterPlaceholders = new HashMap<>();
 
   public Placeholders(CoreManager coreManager) {
     this.rostersManager = coreManager.getRostersManager();
-    this.configManager = coreManager.getConfigManager();
     this.channelManager = coreManager.getChannelManager();
+    this.statsManager = coreManager.getStatsManager();
     this.plugin = coreManager.getPlugin();
+
+    rosterPlaceholders.put("roster_name", RosterView::getRosterName);
+    rosterPlaceholders.put("roster_tag", RosterView::getRosterTag);
+    rosterPlaceholders.put("roster_tag_formatted", RosterView::getRosterTagFormatted);
+    rosterPlaceholders.put("roster_league", RosterView::getRosterLeague);
+    rosterPlaceholders.put("roster_members", RosterView::getRosterMembers);
+    rosterPlaceholders.put("roster_manager", RosterView::getRosterManager);
+    rosterPlaceholders.put("is_manager", RosterView::getIsManager);
+    rosterPlaceholders.put("has_roster", RosterView::getHasRoster);
+    rosterPlaceholders.put("all_tags", RosterView::getAllTags);
+    rosterPlaceholders.put("manager_suffix", RosterView::getManagerSuffix);
+    rosterPlaceholders.put("rosters_display", RosterView::getRostersDisplay);
+    rosterPlaceholders.put("rosters_display_naked", RosterView::getRostersDisplayNaked);
+    rosterPlaceholders.put("roster_sort", RosterView::getRosterSort);
+    rosterPlaceholders.put("manager_sort", RosterView::getManagerSort);
   }
 
   @Override
@@ -52,14 +79,18 @@ public class Placeholders extends PlaceholderExpansion {
       return "";
     }
 
-    Player onlinePlayer = player.getPlayer();
+    String key = params.toLowerCase();
+    Function<RosterView, String> placeholder = rosterPlaceholders.get(key);
+    if (placeholder != null) {
+      return placeholder.apply(rostersManager.getRosterView(playerName));
+    }
 
-    String activeLeague = rostersManager.getActiveLeague();
-    RosterInfo activeRoster = rostersManager.getPlayerRoster(playerName, activeLeague);
-    Map<String, RosterInfo> playerRosters = rostersManager.getPlayerRosters(playerName);
-    FileConfiguration config = configManager.getConfig("config.yml");
+    if (key.equals("active_league")) {
+      return rostersManager.getActiveLeague();
+    }
 
-    if (params.equalsIgnoreCase("channel_name")) {
+    if (key.equals("channel_name")) {
+      Player onlinePlayer = player.getPlayer();
       if (onlinePlayer != null) {
         String lastChannelName = channelManager.getLastChannelUsed(onlinePlayer);
         if (lastChannelName != null) {
@@ -69,244 +100,153 @@ public class Placeholders extends PlaceholderExpansion {
       return "";
     }
 
-    if (params.toLowerCase().endsWith("_roster_name") || params.toLowerCase().endsWith("_roster_tag") ||
-        params.toLowerCase().endsWith("_roster_tag_formatted")) {
-      String leaguePart = params.substring(0, params.indexOf('_'));
-      String infoType = params.substring(params.indexOf('_') + 1);
-
-      RosterInfo specificRoster = playerRosters.get(leaguePart.toLowerCase());
-      if (specificRoster == null) {
-        return "";
-      }
-
-      if (infoType.equalsIgnoreCase("roster_name")) {
-        return specificRoster.getName();
-      }
-
-      if (infoType.equalsIgnoreCase("roster_tag")) {
-        return specificRoster.getTag();
-      }
-
-      if (infoType.equalsIgnoreCase("roster_tag_formatted")) {
-        return specificRoster.getFormattedTag();
-      }
+    if (key.startsWith("stats_")) {
+      return getStat(playerName, key.substring(6));
     }
 
-    if (params.equalsIgnoreCase("roster_name")) {
-      return activeRoster != null
-             ? activeRoster.getName()
-             : "";
+    String leagueValue = rostersManager.getRosterView(playerName).getLeagueValue(key);
+    if (leagueValue != null) {
+      return leagueValue;
     }
 
-    if (params.equalsIgnoreCase("roster_tag")) {
-      return activeRoster != null
-             ? activeRoster.getTag()
-             : "";
-    }
+    return key.startsWith("has_") && key.endsWith("_roster")
+           ? "false"
+           : "";
+  }
 
-    if (params.equalsIgnoreCase("roster_tag_formatted")) {
-      return activeRoster != null
-             ? activeRoster.getFormattedTag()
-             : "";
-    }
+  private String getStat(String playerName, String stat) {
+    switch (stat) {
+      case "goals":
+        return String.valueOf(statsManager.getGoals(playerName));
 
-    if (params.equalsIgnoreCase("roster_league")) {
-      return activeRoster != null
-             ? activeRoster.getLeague().toUpperCase()
-             : "";
-    }
+      case "assists":
+        return String.valueOf(statsManager.getAssists(playerName));
 
-    if (params.equalsIgnoreCase("active_league")) {
-      return activeLeague;
-    }
+      case "roster_goals":
+      case "roster_assists":
+        RosterInfo roster = rostersManager.getRosterView(playerName).getActiveRoster();
+        if (roster == null) {
+          return "0";
+        }
 
-    if (params.equalsIgnoreCase("all_tags")) {
-      StringBuilder tags = new StringBuilder();
-      for (String league : rostersManager.getAvailableLeagues()) {
-        RosterInfo roster = playerRosters.get(league);
-        if (roster != null) {
-          tags.append(roster.getFormattedTag()).append(" ");
+        return String.valueOf(stat.equals("roster_goals")
+                              ? statsManager.getRosterGoals(roster.getName())
+                              : statsManager.getRosterAssists(roster.getName()));
+
+      case "roster_position":
+      case "roster_points":
+      case "roster_played":
+      case "roster_gd":
+      case "roster_form":
+        RosterInfo activeRoster = rostersManager.getRosterView(playerName).getActiveRoster();
+        if (activeRoster == null) {
+          return "";
         }
-      }
-      return tags.toString().trim();
-    }
 
-    if (params.equalsIgnoreCase("roster_members")) {
-      return activeRoster != null
-             ? String.valueOf(activeRoster.getMemberCount())
-             : "0";
-    }
+        LeagueTable table = statsManager.getTable(activeRoster.getLeague());
+        String rosterKey = activeRoster.getName().toLowerCase();
+        if (stat.equals("roster_position")) {
+          return String.valueOf(table != null
+                                ? table.getPosition(rosterKey)
+                                : 0);
+        }
 
-    if (params.equalsIgnoreCase("roster_manager")) {
-      return activeRoster != null && activeRoster.getManager() != null
-             ? activeRoster.getManager()
-             : "";
+        return getTableValue(table != null
+                             ? table.get(rosterKey)
+                             : null, stat.substring(7));
     }
 
-    if (params.equalsIgnoreCase("is_manager")) {
-      if (activeRoster == null) {
-        return "false";
+    if (stat.startsWith("table_")) {
+      int fieldIndex = stat.lastIndexOf('_');
+      int positionIndex = stat.lastIndexOf('_', fieldIndex - 1);
+      if (positionIndex <= 6) {
+        return "";
       }
-      return String.valueOf(activeRoster.isManager(playerName));
-    }
-
-    if (params.equalsIgnoreCase("manager_suffix")) {
-      String activeLeaguePath = "rosters.league_settings." + activeLeague + ".is_exclusive_display";
-      boolean isActiveExclusive = config.getBoolean(activeLeaguePath, false);
 
-      if (isActiveExclusive) {
-        RosterInfo activeLeagueRoster = playerRosters.get(activeLeague);
-        if (activeLeagueRoster != null && activeLeagueRoster.isManager(playerName)) {
-          String path = "rosters.league_settings." + activeLeague + ".manager_suffix";
-          String defaultPath = "rosters.league_settings.default.manager_suffix";
-          return config.getString(path, config.getString(defaultPath, "&a [M]"));
-        }
-      } else {
-        for (String league : rostersManager.getAvailableLeagues()) {
-          String exclusionPath = "rosters.league_settings." + league + ".is_excluded_from_display";
-          boolean isExcluded = config.getBoolean(exclusionPath, false);
-
-          if (isExcluded) {
-            continue;
-          }
-
-          RosterInfo roster = playerRosters.get(league);
-          if (roster != null && roster.isManager(playerName)) {
-            String path = "rosters.league_settings." + league + ".manager_suffix";
-            String defaultPath = "rosters.league_settings.default.manager_suffix";
-            return config.getString(path, config.getString(defaultPath, "&a [M]"));
-          }
-        }
+      LeagueTable table = statsManager.getTable(stat.substring(6, positionIndex));
+      int position = parsePosition(stat.substring(positionIndex + 1, fieldIndex));
+      if (table == null || position < 1 || position > table.getStandings().size()) {
+        return "";
       }
 
-      return "";
-    }
-
-    if (params.equalsIgnoreCase("has_roster")) {
-      return String.valueOf(activeRoster != null);
+      return getTableValue(table.getStandings().get(position - 1), stat.substring(fieldIndex + 1));
     }
 
-    if (params.toLowerCase().startsWith("has_") && params.toLowerCase().endsWith("_roster")) {
-      String leagueName = params.substring(4, params.lastIndexOf('_')).toLowerCase();
-      return String.valueOf(playerRosters.containsKey(leagueName));
-    }
-
-    if (params.equalsIgnoreCase("rosters_display")) {
-      StringBuilder display = new StringBuilder();
-
-      String activeLeaguePath = "rosters.league_settings." + activeLeague + ".is_exclusive_display";
-      boolean isActiveExclusive = config.getBoolean(activeLeaguePath, false);
+    if (stat.startsWith("top_goals_") || stat.startsWith("top_assists_")) {
+      boolean goals = stat.startsWith("top_goals_");
+      String rest = stat.substring(goals
+                                   ? 10
+                                   : 12);
+      int fieldIndex = rest.indexOf('_');
+      int rank = fieldIndex > 0
+                 ? parsePosition(rest.substring(0, fieldIndex))
+                 : 0;
+      if (rank < 1) {
+        return "";
+      }
 
-      if (isActiveExclusive) {
-        RosterInfo activeLeagueRoster = playerRosters.get(activeLeague);
-        if (activeLeagueRoster != null) {
-          display.append(activeLeagueRoster.getFormattedTag());
-        }
-      } else {
-        for (String league : rostersManager.getAvailableLeagues()) {
-          String exclusionPath = "rosters.league_settings." + league + ".is_excluded_from_display";
-          boolean isExcluded = config.getBoolean(exclusionPath, false);
-
-          if (isExcluded) {
-            continue;
-          }
-
-          RosterInfo roster = playerRosters.get(league);
-          if (roster != null) {
-            display.append(roster.getFormattedTag());
-          }
-        }
+      List<Map.Entry<String, Long>> entry = (goals
+                                             ? statsManager.getScorers()
+                                             : statsManager.getAssisters()).page(rank - 1, 1);
+      if (entry.isEmpty()) {
+        return "";
       }
 
-      return display.toString().trim();
+      return rest.endsWith("_name")
+             ? statsManager.getName(entry.get(0).getKey())
+             : String.valueOf(entry.get(0).getValue());
     }
 
-    if (params.equalsIgnoreCase("rosters_display_naked")) {
-      String activeLeaguePath = "rosters.league_settings." + activeLeague + ".is_exclusive_display";
-      boolean isActiveExclusive = config.getBoolean(activeLeaguePath, false);
-
-      if (isActiveExclusive) {
-        RosterInfo activeLeagueRoster = playerRosters.get(activeLeague);
-        if (activeLeagueRoster != null) {
-          return activeLeagueRoster.getTag() + " ";
-        }
-      } else {
-        for (String league : rostersManager.getAvailableLeagues()) {
-          String exclusionPath = "rosters.league_settings." + league + ".is_excluded_from_display";
-          boolean isExcluded = config.getBoolean(exclusionPath, false);
-
-          if (isExcluded) {
-            continue;
-          }
-
-          RosterInfo roster = playerRosters.get(league);
-          if (roster != null) {
-            return roster.getTag() + " ";
-          }
-        }
-      }
-
-      return "";
+    if (stat.startsWith("roster_goals_")) {
+      return String.valueOf(statsManager.getRosterGoals(stat.substring(13)));
     }
 
-    if (params.equalsIgnoreCase("roster_sort")) {
-      String activeLeaguePath = "rosters.league_settings." + activeLeague + ".is_exclusive_display";
-      boolean isActiveExclusive = config.getBoolean(activeLeaguePath, false);
+    if (stat.startsWith("roster_assists_")) {
+      return String.valueOf(statsManager.getRosterAssists(stat.substring(15)));
+    }
 
-      if (isActiveExclusive) {
-        RosterInfo activeLeagueRoster = playerRosters.get(activeLeague);
-        if (activeLeagueRoster != null) {
-          return "1_" + activeLeagueRoster.getName().toLowerCase();
-        }
-      } else {
-        int sortPriority = 1;
-        for (String league : rostersManager.getAvailableLeagues()) {
-          String exclusionPath = "rosters.league_settings." + league + ".is_excluded_from_display";
-          boolean isExcluded = config.getBoolean(exclusionPath, false);
-
-          if (isExcluded) {
-            continue;
-          }
-
-          RosterInfo roster = playerRosters.get(league);
-          if (roster != null) {
-            return sortPriority + "_" + roster.getName().toLowerCase();
-          }
-          sortPriority++;
-        }
-      }
+    return "";
+  }
 
-      return "9_free_agent";
+  private String getTableValue(LeagueTable.TeamRecord record, String field) {
+    if (record == null) {
+      return field.equals("form") || field.equals("name") || field.equals("tag")
+             ? ""
+             : "0";
     }
 
-    if (params.equalsIgnoreCase("manager_sort")) {
-      String activeLeaguePath = "rosters.league_settings." + activeLeague + ".is_exclusive_display";
-      boolean isActiveExclusive = config.getBoolean(activeLeaguePath, false);
+    switch (field) {
+      case "name":
+        return record.getRoster().toUpperCase();
 
-      for (String league : rostersManager.getAvailableLeagues()) {
-        String exclusionPath = "rosters.league_settings." + league + ".is_excluded_from_display";
-        boolean isExcluded = config.getBoolean(exclusionPath, false);
+      case "tag":
+        RosterInfo roster = rostersManager.getRoster(record.getRoster());
+        return roster != null
+               ? roster.getTag()
+               : record.getRoster().toUpperCase();
 
-        if (isExcluded) {
-          continue;
-        }
+      case "points":
+        return String.valueOf(record.getPoints());
 
-        RosterInfo roster = playerRosters.get(league);
-        if (roster != null && roster.isManager(playerName)) {
-          return "0";
-        }
-      }
+      case "played":
+        return String.valueOf(record.getPlayed());
 
-      if (isActiveExclusive) {
-        RosterInfo activeLeagueRoster = playerRosters.get(activeLeague);
-        if (activeLeagueRoster != null && activeLeagueRoster.isManager(playerName)) {
-          return "0";
-        }
-      }
+      case "gd":
+        return String.valueOf(record.getGoalDifference());
+
+      case "form":
+        return record.getForm();
 
-      return "1";
+      default:
+        return "";
     }
+  }
 
-    return "";
+  private static int parsePosition(String value) {
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException exception) {
+      return 0;
+    }
   }
 }
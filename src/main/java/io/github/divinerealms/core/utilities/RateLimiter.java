@@ -0,0 +1,187 @@
+package io.github.divinerealms.core.utilities;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Per-player rate limiter allowing {@code permits} actions per {@code window}.
+ * <p>
+ * {@link Mode#TOKEN_BUCKET} refills permits continuously and allows bursts up to the limit, tracked as a
+ * single theoretical-arrival timestamp. {@link Mode#SLIDING_WINDOW} remembers the last {@code permits}
+ * timestamps and allows an action only when the oldest one has left the window. Both keep one state
+ * object per player and update it with compare-and-set, so they are safe to call from the async chat thread.
+ */
+public class RateLimiter {
+  public enum Mode {
+    TOKEN_BUCKET,
+    SLIDING_WINDOW;
+
+    public static Mode parse(String raw, Mode fallback) {
+      if (raw == null || raw.isEmpty()) {
+        return fallback;
+      }
+
+      try {
+        return valueOf(raw.trim().toUpperCase().replace('-', '_'));
+      } catch (IllegalArgumentException exception) {
+        return fallback;
+      }
+    }
+  }
+
+  private final Map<UUID, State> states = new ConcurrentHashMap<>();
+  @Getter
+  private final Mode mode;
+  @Getter
+  private final int permits;
+  @Getter
+  private final long windowMillis;
+  private final long windowNanos;
+  private final long intervalNanos;
+
+  public RateLimiter(Mode mode, int permits, long windowMillis) {
+    this.mode = mode;
+    this.permits = Math.max(0, permits);
+    this.windowMillis = Math.max(0, windowMillis);
+    this.windowNanos = TimeUnit.MILLISECONDS.toNanos(this.windowMillis);
+    this.intervalNanos = this.permits > 0
+                         ? windowNanos / this.permits
+                         : 0;
+  }
+
+  public boolean isEnabled() {
+    return permits > 0 && windowNanos > 0;
+  }
+
+  /**
+   * Tries to take a permit for the given player.
+   *
+   * @param uuid the player
+   * @return {@code 0} if the action is allowed, otherwise the milliseconds until a permit frees up
+   */
+  public long tryAcquire(UUID uuid) {
+    if (!isEnabled()) {
+      return 0;
+    }
+
+    long now = System.nanoTime();
+    State state = states.computeIfAbsent(uuid, key -> mode == Mode.TOKEN_BUCKET
+                                                      ? new TokenBucket(now - windowNanos)
+                                                      : new SlidingWindow(permits, now - windowNanos));
+    long waitNanos = state.tryAcquire(now);
+    return waitNanos <= 0
+           ? 0
+           : Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+  }
+
+  public boolean matches(Mode mode, int permits, long windowMillis) {
+    return this.mode == mode && this.permits == Math.max(0, permits) && this.windowMillis == Math.max(0, windowMillis);
+  }
+
+  public void evict(UUID uuid) {
+    states.remove(uuid);
+  }
+
+  public void evictIfIdle(UUID uuid) {
+    long now = System.nanoTime();
+    states.computeIfPresent(uuid, (key, state) -> state.isIdle(now)
+                                                  ? null
+                                                  : state);
+  }
+
+  public void purgeIdle() {
+    long now = System.nanoTime();
+    states.values().removeIf(state -> state.isIdle(now));
+  }
+
+  public void clear() {
+    states.clear();
+  }
+
+  public int size() {
+    return states.size();
+  }
+
+  private interface State {
+    long tryAcquire(long now);
+
+    boolean isIdle(long now);
+  }
+
+  private final class TokenBucket implements State {
+    private final AtomicLong theoreticalArrival;
+
+    private TokenBucket(long start) {
+      this.theoreticalArrival = new AtomicLong(start);
+    }
+
+    @Override
+    public long tryAcquire(long now) {
+      while (true) {
+        long current = theoreticalArrival.get();
+        long base = current - now > 0
+                    ? current
+                    : now;
+        long next = base + intervalNanos;
+        long excess = next - now - windowNanos;
+        if (excess > 0) {
+          return excess;
+        }
+
+        if (theoreticalArrival.compareAndSet(current, next)) {
+          return 0;
+        }
+      }
+    }
+
+    @Override
+    public boolean isIdle(long now) {
+      return theoreticalArrival.get() - now <= 0;
+    }
+  }
+
+  /**
+   * Keeps the timestamps as one immutable array, oldest first, so taking a permit and recording its time
+   * are a single compare-and-set.
+   */
+  private final class SlidingWindow implements State {
+    private final AtomicReference<long[]> timestamps;
+
+    private SlidingWindow(int permits, long start) {
+      long[] initial = new long[permits];
+      Arrays.fill(initial, start);
+      this.timestamps = new AtomicReference<>(initial);
+    }
+
+    @Override
+    public long tryAcquire(long now) {
+      while (true) {
+        long[] current = timestamps.get();
+        long wait = current[0] + windowNanos - now;
+        if (wait > 0) {
+          return wait;
+        }
+
+        long[] next = new long[current.length];
+        System.arraycopy(current, 1, next, 0, current.length - 1);
+        next[next.length - 1] = now;
+        if (timestamps.compareAndSet(current, next)) {
+          return 0;
+        }
+      }
+    }
+
+    @Override
+    public boolean isIdle(long now) {
+      long[] current = timestamps.get();
+      return now - current[current.length - 1] >= windowNanos;
+    }
+  }
+}
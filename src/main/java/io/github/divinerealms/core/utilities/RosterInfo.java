@@ -1,11 +1,21 @@
 package io.github.divinerealms.core.utilities;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+/**
+ * One roster and its members.
+ * <p>
+ * Members are changed by commands on the main thread but read by roster views built asynchronously, so
+ * they are kept in an immutable, insertion-ordered copy that every change replaces as a whole. A reader
+ * always sees one complete membership, never a map in the middle of a change.
+ */
 @Getter
 @Setter
 public class RosterInfo {
@@ -14,7 +24,8 @@ public class RosterInfo {
   private String tag;
   private String league;
   private String manager;
-  private Set<String> members;
+  @Setter(AccessLevel.NONE)
+  private volatile Map<String, String> members = Collections.emptyMap();
   private String discordChannelId;
 
   public RosterInfo(String name, String tag, String league) {
@@ -22,7 +33,6 @@ public class RosterInfo {
     this.longName = name;
     this.tag = tag;
     this.league = league.toLowerCase();
-    this.members = new HashSet<>();
     this.discordChannelId = "";
   }
 
@@ -30,29 +40,39 @@ public class RosterInfo {
     return "%luckperms_prefix%[" + tag + "%luckperms_prefix%] &r";
   }
 
+  public Collection<String> getMembers() {
+    return members.values();
+  }
+
   public boolean hasMember(String playerName) {
-    return members.stream().anyMatch(member -> member.equalsIgnoreCase(playerName));
+    return members.containsKey(playerName.toLowerCase());
   }
 
   public boolean isManager(String playerName) {
     return manager != null && manager.equalsIgnoreCase(playerName);
   }
 
-  public void addMember(String playerName) {
-    members.add(playerName);
+  public synchronized void addMember(String playerName) {
+    Map<String, String> copy = new LinkedHashMap<>(members);
+    copy.put(playerName.toLowerCase(), playerName);
+    members = Collections.unmodifiableMap(copy);
   }
 
-  public void removeMember(String playerName) {
+  public synchronized void removeMember(String playerName) {
     if (isManager(playerName)) {
       manager = null;
     }
 
-    members.remove(playerName);
+    if (members.containsKey(playerName.toLowerCase())) {
+      Map<String, String> copy = new LinkedHashMap<>(members);
+      copy.remove(playerName.toLowerCase());
+      members = Collections.unmodifiableMap(copy);
+    }
   }
 
   public void setManager(String playerName) {
     if (playerName != null && !hasMember(playerName)) {
-      members.add(playerName);
+      addMember(playerName);
     }
 
     this.manager = playerName;
@@ -0,0 +1,147 @@
+package io.github.divinerealms.core.utilities;
+
+import lombok.Getter;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the placeholders show about one player's rosters, computed once when the view is built.
+ * <p>
+ * Views are cached by {@code RostersManager} and dropped whenever a roster, league or league setting
+ * changes, so reading a value is a field access.
+ */
+@Getter
+public class RosterView {
+  private static final String SETTINGS = "rosters.league_settings.";
+
+  private final RosterInfo activeRoster;
+  private final String rosterName;
+  private final String rosterTag;
+  private final String rosterTagFormatted;
+  private final String rosterLeague;
+  private final String rosterMembers;
+  private final String rosterManager;
+  private final String isManager;
+  private final String hasRoster;
+  private final String allTags;
+  private final String managerSuffix;
+  private final String rostersDisplay;
+  private final String rostersDisplayNaked;
+  private final String rosterSort;
+  private final String managerSort;
+  private final Map<String, String> leagueValues = new HashMap<>();
+
+  public RosterView(String playerName, String activeLeague, RosterInfo activeRoster,
+                    Map<String, RosterInfo> playerRosters, List<String> leagues, FileConfiguration config) {
+    this.activeRoster = activeRoster;
+    this.rosterName = activeRoster != null
+                      ? activeRoster.getName()
+                      : "";
+    this.rosterTag = activeRoster != null
+                     ? activeRoster.getTag()
+                     : "";
+    this.rosterTagFormatted = activeRoster != null
+                              ? activeRoster.getFormattedTag()
+                              : "";
+    this.rosterLeague = activeRoster != null
+                        ? activeRoster.getLeague().toUpperCase()
+                        : "";
+    this.rosterMembers = activeRoster != null
+                         ? String.valueOf(activeRoster.getMemberCount())
+                         : "0";
+    this.rosterManager = activeRoster != null && activeRoster.getManager() != null
+                         ? activeRoster.getManager()
+                         : "";
+    this.isManager = String.valueOf(activeRoster != null && activeRoster.isManager(playerName));
+    this.hasRoster = String.valueOf(activeRoster != null);
+
+    for (Map.Entry<String, RosterInfo> entry : playerRosters.entrySet()) {
+      String league = entry.getKey().toLowerCase();
+      RosterInfo roster = entry.getValue();
+      leagueValues.put(league + "_roster_name", roster.getName());
+      leagueValues.put(league + "_roster_tag", roster.getTag());
+      leagueValues.put(league + "_roster_tag_formatted", roster.getFormattedTag());
+      leagueValues.put("has_" + league + "_roster", "true");
+    }
+
+    StringBuilder tags = new StringBuilder();
+    for (String league : leagues) {
+      RosterInfo roster = playerRosters.get(league);
+      if (roster != null) {
+        tags.append(roster.getFormattedTag()).append(" ");
+      }
+    }
+    this.allTags = tags.toString().trim();
+
+    boolean isActiveExclusive = config.getBoolean(SETTINGS + activeLeague + ".is_exclusive_display", false);
+    String defaultSuffix = config.getString(SETTINGS + "default.manager_suffix", "&a [M]");
+
+    String suffix = "", display = "", naked = "", sort = "9_free_agent", managed = "1";
+    if (isActiveExclusive) {
+      RosterInfo activeLeagueRoster = playerRosters.get(activeLeague);
+      if (activeLeagueRoster != null) {
+        display = activeLeagueRoster.getFormattedTag().trim();
+        naked = activeLeagueRoster.getTag() + " ";
+        sort = "1_" + activeLeagueRoster.getName().toLowerCase();
+        if (activeLeagueRoster.isManager(playerName)) {
+          suffix = config.getString(SETTINGS + activeLeague + ".manager_suffix", defaultSuffix);
+          managed = "0";
+        }
+      }
+    }
+
+    StringBuilder displayed = new StringBuilder();
+    int sortPriority = 1;
+    boolean sorted = false;
+    for (String league : leagues) {
+      if (config.getBoolean(SETTINGS + league + ".is_excluded_from_display", false)) {
+        continue;
+      }
+
+      RosterInfo roster = playerRosters.get(league);
+      if (roster != null) {
+        displayed.append(roster.getFormattedTag());
+        if (naked.isEmpty() && !isActiveExclusive) {
+          naked = roster.getTag() + " ";
+        }
+
+        if (!sorted && !isActiveExclusive) {
+          sort = sortPriority + "_" + roster.getName().toLowerCase();
+          sorted = true;
+        }
+
+        if (roster.isManager(playerName)) {
+          if (suffix.isEmpty() && !isActiveExclusive) {
+            suffix = config.getString(SETTINGS + league + ".manager_suffix", defaultSuffix);
+          }
+          managed = "0";
+        }
+      }
+
+      if (!sorted) {
+        sortPriority++;
+      }
+    }
+
+    if (!isActiveExclusive) {
+      display = displayed.toString().trim();
+    }
+
+    this.managerSuffix = suffix;
+    this.rostersDisplay = display;
+    this.rostersDisplayNaked = naked;
+    this.rosterSort = sort;
+    this.managerSort = managed;
+  }
+
+  /**
+   * @param param a league placeholder such as {@code main_roster_tag} or {@code has_main_roster}
+   * @return the value, or {@code null} if the player has no roster in that league
+   */
+  public String getLeagueValue(String param) {
+    return leagueValues.get(param);
+  }
+}
@@ -0,0 +1,184 @@
+package io.github.divinerealms.core.managers;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.divinerealms.core.utilities.IpReputation;
+import org.json.simple.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IpReputationServiceTest {
+  private static final long TIMEOUT_SECONDS = 5L;
+
+  @TempDir
+  File folder;
+
+  private final List<List<String>> requests = new CopyOnWriteArrayList<>();
+  private final AtomicLong ttlMillis = new AtomicLong(TimeUnit.HOURS.toMillis(1));
+  private volatile CountDownLatch release = new CountDownLatch(0);
+  private HttpServer server;
+  private ExecutorService serverThreads;
+  private IpReputationService service;
+
+  @BeforeEach
+  void startStub() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/", this::respond);
+    serverThreads = Executors.newCachedThreadPool();
+    server.setExecutor(serverThreads);
+    server.start();
+    service = newService();
+  }
+
+  @AfterEach
+  void stopStub() {
+    release.countDown();
+    service.shutdown();
+    server.stop(0);
+    serverThreads.shutdownNow();
+  }
+
+  @Test
+  void splitsBatchesAtBatchSize() throws Exception {
+    List<String> ips = addresses(IpReputationService.BATCH_SIZE * 2 + 50);
+
+    service.prefetch(ips).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+    assertEquals(3, requests.size());
+    List<Integer> sizes = new ArrayList<>();
+    for (List<String> request : requests) {
+      sizes.add(request.size());
+    }
+    sizes.sort(null);
+    assertEquals(Arrays.asList(50, IpReputationService.BATCH_SIZE, IpReputationService.BATCH_SIZE), sizes);
+    for (String ip : ips) {
+      assertNotNull(service.getCached(ip), ip);
+    }
+  }
+
+  @Test
+  void concurrentLookupsShareOneRequest() throws Exception {
+    release = new CountDownLatch(1);
+    int callers = 8;
+    ExecutorService threads = Executors.newFixedThreadPool(callers);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<CompletableFuture<IpReputation>>> lookups = new ArrayList<>();
+    try {
+      for (int i = 0; i < callers; i++) {
+        lookups.add(threads.submit(() -> {
+          start.await();
+          return service.lookup("10.0.0.1");
+        }));
+      }
+      start.countDown();
+
+      CompletableFuture<IpReputation> first = lookups.get(0).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      for (Future<CompletableFuture<IpReputation>> lookup : lookups) {
+        assertSame(first, lookup.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+      }
+
+      release.countDown();
+      assertEquals("10.0.0.1", first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getIp());
+    } finally {
+      threads.shutdownNow();
+    }
+
+    assertEquals(1, requests.size());
+    assertEquals(Arrays.asList("10.0.0.1"), requests.get(0));
+  }
+
+  @Test
+  void expiresAnswersAfterTtl() throws Exception {
+    service.lookup("10.0.0.2").get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    assertNotNull(service.getCached("10.0.0.2"));
+
+    service.lookup("10.0.0.2").get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    assertEquals(1, requests.size());
+
+    ttlMillis.set(0L);
+    assertNull(service.getCached("10.0.0.2"));
+
+    service.lookup("10.0.0.2").get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    assertEquals(2, requests.size());
+  }
+
+  @Test
+  void savedAnswersSurviveRestart() throws Exception {
+    IpReputation saved = service.lookup("10.0.0.3").get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    service.save();
+    service.shutdown();
+
+    service = newService();
+    IpReputation loaded = service.getCached("10.0.0.3");
+
+    assertNotNull(loaded);
+    assertTrue(loaded.isProxy());
+    assertEquals(saved.getType(), loaded.getType());
+    assertEquals(saved.getProvider(), loaded.getProvider());
+    assertEquals(saved.getCheckedAt(), loaded.getCheckedAt());
+    assertEquals(1, service.size());
+    assertEquals(1, requests.size());
+  }
+
+  private IpReputationService newService() {
+    String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/v2/";
+    return new IpReputationService(new File(folder, "ip-reputation.cache"),
+        () -> new IpReputationService.Options(baseUrl, "", ttlMillis.get(), 2000), Logger.getAnonymousLogger());
+  }
+
+  @SuppressWarnings("unchecked")
+  private void respond(HttpExchange exchange) throws IOException {
+    String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+    List<String> ips = Arrays.asList(URLDecoder.decode(body.substring("ips=".length()), "UTF-8").split(","));
+    requests.add(ips);
+
+    try {
+      release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+
+    JSONObject root = new JSONObject();
+    root.put("status", "ok");
+    for (String ip : ips) {
+      JSONObject data = new JSONObject();
+      data.put("proxy", "yes");
+      data.put("type", "VPN");
+      data.put("provider", "Stub");
+      root.put(ip, data);
+    }
+
+    byte[] response = root.toJSONString().getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, response.length);
+    try (OutputStream output = exchange.getResponseBody()) {
+      output.write(response);
+    }
+  }
+
+  private static List<String> addresses(int count) {
+    List<String> ips = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      ips.add("10.1." + (i / 256) + "." + (i % 256));
+    }
+    return ips;
+  }
+}